@@ -15,6 +15,9 @@
  */
 package org.netbeans.validation.api;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -23,23 +26,101 @@ import java.util.List;
  */
 final class AndValidator<T> extends AbstractValidator<T> {
     private final List<Validator<T>> validators;
+    private final Severity stopAt;
+    private final boolean cheapestFirst;
     AndValidator(Class<T> type, List<Validator<T>> initial) {
+        this (type, initial, null);
+    }
+
+    /**
+     * @param stopAt If non-null, stop running validators as soon as one
+     * of them adds a problem of at least this severity
+     */
+    AndValidator(Class<T> type, List<Validator<T>> initial, Severity stopAt) {
+        this (type, initial, stopAt, false);
+    }
+
+    /**
+     * @param stopAt If non-null, stop running validators as soon as one
+     * of them adds a problem of at least this severity
+     * @param cheapestFirst If true, run the validators in ascending order
+     * of {@link Validator#cost()} rather than the order passed
+     */
+    AndValidator(Class<T> type, List<Validator<T>> initial, Severity stopAt, boolean cheapestFirst) {
         super (type);
-        validators = initial;
-        assert validatorTypesMatch (initial) : "Validator type mismatch: " //NOI18N
+        this.stopAt = stopAt;
+        this.cheapestFirst = cheapestFirst;
+        validators = flatten(initial, stopAt, cheapestFirst);
+        if (cheapestFirst) {
+            // Stable, so validators of equal cost keep their relative order
+            Collections.sort(validators, BY_COST);
+        }
+        assert validatorTypesMatch (validators) : "Validator type mismatch: " //NOI18N
                 + validators;
     }
 
+    /**
+     * Unpack any nested AndValidators which would behave identically if
+     * their contents were run inline, so that chains built up by repeated
+     * calls to merge() do not become a deep tree of delegating calls.
+     * Nested chains with a different stop severity are kept intact, since
+     * inlining them would change which of their validators get run;  so are
+     * chains which run in the order passed nested in one which is sorted by
+     * cost, since sorting would reorder their contents.
+     */
+    private static <T> List<Validator<T>> flatten(List<Validator<T>> initial, Severity stopAt, boolean cheapestFirst) {
+        List<Validator<T>> result = new ArrayList<Validator<T>>(initial.size() + 4);
+        for (Validator<T> v : initial) {
+            AndValidator<?> nested = v instanceof AndValidator<?> ? (AndValidator<?>) v : null;
+            if (nested != null && nested.stopAt == stopAt && (nested.cheapestFirst || !cheapestFirst)) {
+                // Already flat, since it was flattened when it was created
+                result.addAll(((AndValidator<T>) v).validators);
+            } else {
+                result.add(v);
+            }
+        }
+        return result;
+    }
+
+    private static final Comparator<Validator<?>> BY_COST = new Comparator<Validator<?>>() {
+        @Override
+        public int compare(Validator<?> a, Validator<?> b) {
+            return Integer.compare(a.cost(), b.cost());
+        }
+    };
+
+    @Override
+    public int cost() {
+        long result = 0;
+        for (Validator<T> v : validators) {
+            result += v.cost();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, result);
+    }
+
     @Override
     public void validate(Problems problems, String compName, T model) {
+        if (stopAt == null) {
+            for (Validator<T> v : validators) {
+                v.validate(problems, compName, model);
+            }
+            return;
+        }
+        // Only problems added by this chain count - the passed Problems
+        // may already contain some
+        int start = problems.size();
         for (Validator<T> v : validators) {
             v.validate(problems, compName, model);
+            if (problems.hasProblemSince(start, stopAt)) {
+                break;
+            }
         }
     }
 
     @Override
     public String toString() {
-        return "AndValidator for " + validators;
+        return stopAt == null ? "AndValidator for " + validators
+                : "AndValidator stopping at " + stopAt + " for " + validators;
     }
 
     private boolean validatorTypesMatch(List<? extends Validator<?>> validators) {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A validator which is too slow to run on the event thread - one which
+ * touches the file system or the network, or queries a database - and so
+ * produces its problems asynchronously.
+ * <p/>
+ * When a Swing component is validated, the problems passed down the chain
+ * of validators and converters {@linkplain Problems#acceptsDeferred accept
+ * deferred results}, so {@link #validate(Problems, String, Object)} only
+ * starts the work and defers the returned stage.  The component shows what
+ * the synchronous validators found at once, and the asynchronous problems
+ * when they arrive, on the event thread;  if the component changes in the
+ * meantime the stale run is cancelled and its result is never shown.
+ * Elsewhere - in a {@link Problems} which does not accept deferred
+ * results - <code>validate()</code> waits for the result.
+ * <p/>
+ * When the result is deferred, a model which is a <code>CharSequence</code>
+ * but not a <code>String</code> - such as the view of a document's text
+ * which the text component converters pass, and which may only be read
+ * while the document is locked - is copied to a <code>String</code> before
+ * <code>validateAsync()</code> is called.  Any other model is passed as it
+ * is, so it must either be immutable or be copied by whatever hands it to
+ * an asynchronous validator;  the converters in this library do that for
+ * the models they create.
+ * <p/>
+ * Use {@link ValidatorUtils#async(Validator, java.util.concurrent.Executor)}
+ * to run an ordinary validator in the background.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public interface AsyncValidator<T> extends Validator<T> {
+
+    /**
+     * Start validating a model.  This method is called on the thread which
+     * requested validation, and must return promptly.
+     *
+     * @param compName The name of the component being validated
+     * @param model The model, which the validator may use from any thread,
+     * and which callers of this method must therefore not change or
+     * invalidate afterwards
+     * @return A stage which will complete with the problems found, and which
+     * may be cancelled if the result is no longer wanted
+     */
+    CompletionStage<Problems> validateAsync(String compName, T model);
+
+    /**
+     * Defers the result of {@link #validateAsync(String, Object)} if the
+     * passed problems accept that, and otherwise waits for it.
+     */
+    @Override
+    default void validate(Problems problems, String compName, T model) {
+        if (problems.acceptsDeferred()) {
+            problems.defer(validateAsync(compName, BackgroundValidator.snapshot(modelType(), model)));
+            return;
+        }
+        CompletionStage<Problems> result = validateAsync(compName, model);
+        try {
+            problems.addAll(result.toCompletableFuture().join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
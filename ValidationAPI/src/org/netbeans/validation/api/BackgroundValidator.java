@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs an ordinary validator on an executor.  If the executor is an
+ * ExecutorService, cancelling the returned stage interrupts the validator
+ * if it is running;  either way, a run which is cancelled before it starts
+ * does nothing.
+ *
+ * @author Tim Boudreau
+ */
+final class BackgroundValidator<T> extends AbstractValidator<T> implements AsyncValidator<T> {
+    private final Validator<T> delegate;
+    private final Executor executor;
+
+    BackgroundValidator(Validator<T> delegate, Executor executor) {
+        super(delegate.modelType());
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletionStage<Problems> validateAsync(final String compName, final T model) {
+        final CompletableFuture<Problems> result = new CompletableFuture<Problems>();
+        Runnable run = new Runnable() {
+            @Override
+            public void run() {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    Problems problems = new Problems();
+                    delegate.validate(problems, compName, model);
+                    result.complete(problems);
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            }
+        };
+        if (executor instanceof ExecutorService) {
+            final Future<?> future = ((ExecutorService) executor).submit(run);
+            result.whenComplete(new BiConsumer<Problems, Throwable>() {
+                @Override
+                public void accept(Problems problems, Throwable thrown) {
+                    if (result.isCancelled()) {
+                        future.cancel(true);
+                    }
+                }
+            });
+        } else {
+            executor.execute(run);
+        }
+        return result;
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, T model) {
+        if (problems.acceptsDeferred()) {
+            problems.defer(validateAsync(compName, snapshot(modelType(), model)));
+        } else {
+            // Nothing to gain from a thread hop if the caller will wait
+            delegate.validate(problems, compName, model);
+        }
+    }
+
+    /**
+     * Copies a character sequence which is not a String, since it may be a
+     * view which is only valid while its caller holds a lock, before it is
+     * handed to another thread.
+     */
+    static <T> T snapshot(Class<T> type, T model) {
+        if (model instanceof CharSequence && !(model instanceof String)
+                && type.isAssignableFrom(String.class)) {
+            return type.cast(model.toString());
+        }
+        return model;
+    }
+
+    @Override
+    public int cost() {
+        return delegate.cost();
+    }
+
+    @Override
+    public String toString() {
+        return "async(" + delegate + ")"; //NOI18N
+    }
+}
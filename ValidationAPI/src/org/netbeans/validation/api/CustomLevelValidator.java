@@ -45,10 +45,15 @@ final class CustomLevelValidator<T> extends AbstractValidator<T> {
         List<? extends Problem> l = nue.allProblems();
         for (Problem p : l) {
             if (p.severity().compareTo(customSeverity) > 0) {
-                p = new Problem (p.getMessage(), customSeverity);
+                p = p.withSeverity(customSeverity);
             }
             problems.append(p);
         }
     }
 
+    @Override
+    public int cost() {
+        return other.cost();
+    }
+
 }
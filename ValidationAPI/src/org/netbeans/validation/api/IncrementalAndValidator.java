@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api;
+
+import java.util.Arrays;
+
+/**
+ * Incremental counterpart of {@link AndValidator}:  runs all of a set of
+ * incremental validators, and tracks a text with all of their trackers.
+ *
+ * @author Tim Boudreau
+ */
+final class IncrementalAndValidator extends AbstractValidator<CharSequence> implements IncrementalTextValidator {
+
+    private final IncrementalTextValidator[] validators;
+
+    IncrementalAndValidator(IncrementalTextValidator[] validators) {
+        super (CharSequence.class);
+        this.validators = validators.clone();
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, CharSequence model) {
+        for (IncrementalTextValidator v : validators) {
+            v.validate(problems, compName, model);
+        }
+    }
+
+    @Override
+    public Tracker track(CharSequence text) {
+        Tracker[] trackers = new Tracker[validators.length];
+        for (int i = 0; i < trackers.length; i++) {
+            trackers[i] = validators[i].track(text);
+        }
+        return new AndTracker(trackers);
+    }
+
+    @Override
+    public int cost() {
+        long result = 0;
+        for (IncrementalTextValidator v : validators) {
+            result += v.cost();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, result);
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalAndValidator" + Arrays.toString(validators); //NOI18N
+    }
+
+    private static final class AndTracker implements Tracker {
+
+        private final Tracker[] trackers;
+
+        AndTracker(Tracker[] trackers) {
+            this.trackers = trackers;
+        }
+
+        @Override
+        public void inserted(CharSequence text, int offset, int length) {
+            for (Tracker t : trackers) {
+                t.inserted(text, offset, length);
+            }
+        }
+
+        @Override
+        public void removed(CharSequence text, int offset, int length) {
+            for (Tracker t : trackers) {
+                t.removed(text, offset, length);
+            }
+        }
+
+        @Override
+        public void validate(Problems problems, String compName, CharSequence text) {
+            for (Tracker t : trackers) {
+                t.validate(problems, compName, text);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api;
+
+/**
+ * A validator of text which can keep running state about a particular
+ * text, and bring it up to date from the region each edit touched, so that
+ * revalidating after an edit costs time in proportion to the edit rather
+ * than to the whole text.  The Swing library uses this to validate large
+ * text components as they are typed into.
+ * <p/>
+ * Validating a text through its {@link Tracker} must add exactly the
+ * problems {@link #validate(Problems, String, Object)} would add for the
+ * same text.  Validators which cannot do better than rechecking the whole
+ * text may simply do that when the tracker is asked to validate.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public interface IncrementalTextValidator extends Validator<CharSequence> {
+
+    /**
+     * Start tracking a text.
+     *
+     * @param text The current, complete text
+     * @return A tracker, which is only to be used for that text
+     */
+    Tracker track(CharSequence text);
+
+    /**
+     * Running state about one text, which must be told about every edit
+     * to it, in order.  Trackers are not thread-safe;  the caller must
+     * ensure that the text does not change while a tracker is being
+     * called.
+     */
+    interface Tracker {
+
+        /**
+         * Called after text has been inserted.
+         * @param text The complete text, after the insertion
+         * @param offset Where the text was inserted
+         * @param length How many characters were inserted
+         */
+        void inserted(CharSequence text, int offset, int length);
+
+        /**
+         * Called after text has been removed.
+         * @param text The complete text, after the removal
+         * @param offset Where the text was removed from
+         * @param length How many characters were removed
+         */
+        void removed(CharSequence text, int offset, int length);
+
+        /**
+         * Add any problems with the tracked text, as the validator's
+         * <code>validate()</code> method would.
+         * @param problems The problems to add to
+         * @param compName The name of the component, if any
+         * @param text The complete, current text
+         */
+        void validate(Problems problems, String compName, CharSequence text);
+    }
+}
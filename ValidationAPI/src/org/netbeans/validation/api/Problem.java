@@ -15,15 +15,31 @@
  */
 package org.netbeans.validation.api;
 
+import java.util.Arrays;
+import java.util.MissingResourceException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.netbeans.validation.localization.LocalizationSupport;
+
 /**
  * Represents a problem produced by a validator.
+ * <p/>
+ * A problem may be created either with a ready-made message, or with a
+ * resource bundle key (plus the class whose bundle it lives in, and any
+ * arguments); in the latter case the message is only looked up and
+ * formatted the first time {@link #getMessage()} is called, so code which
+ * only checks for the presence or severity of problems never pays for
+ * localization.
  *
  * @author Tim Boudreau
  */
 public final class Problem implements Comparable<Problem> {
 
-    private final String message;
+    private volatile String message;
     private final Severity severity;
+    private final Class<?> localizerClass;
+    private final String bundleKey;
+    private final Object[] args;
     /**
      * Create a new problem with the given message and severity
      * @param message A localized, human readable message
@@ -38,6 +54,72 @@ public final class Problem implements Comparable<Problem> {
         } 
         this.message = message;
         this.severity = severity;
+        this.localizerClass = null;
+        this.bundleKey = null;
+        this.args = null;
+    }
+
+    /**
+     * Create a new problem whose message is looked up, according to the
+     * lookup semantics of {@link LocalizationSupport}, and formatted with
+     * the passed arguments the first time it is needed.
+     * <p/>
+     * Two problems created this way are equal if they have the same severity,
+     * class, key and arguments; such a problem is never equal to one created
+     * with a literal message.
+     * <p/>
+     * Arguments other than numbers, booleans and characters are converted to
+     * strings here, so that the problem neither holds on to, nor later
+     * renders the changed state of, the objects passed.  If the key turns out
+     * to be missing from the bundle, the message is the key itself.
+     *
+     * @param localizerClass A class which (or whose package) has an associated
+     * resource bundle
+     * @param bundleKey The key in that bundle
+     * @param severity The severity
+     * @param args Arguments to the message format, if any
+     * @since 1.15
+     */
+    public Problem(Class<?> localizerClass, String bundleKey, Severity severity, Object... args) {
+        if (localizerClass == null) {
+            throw new NullPointerException ("Null class"); //NOI18N
+        }
+        if (bundleKey == null) {
+            throw new NullPointerException ("Null key"); //NOI18N
+        }
+        if (severity == null) {
+            throw new NullPointerException ("Null severity"); //NOI18N
+        }
+        this.localizerClass = localizerClass;
+        this.bundleKey = bundleKey;
+        this.severity = severity;
+        this.args = args == null ? new Object[0] : snapshot(args);
+    }
+
+    private static Object[] snapshot(Object[] args) {
+        Object[] result = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            result[i] = arg == null || arg instanceof Number || arg instanceof Boolean
+                    || arg instanceof Character ? arg : arg.toString();
+        }
+        return result;
+    }
+
+    private Problem(Problem other, Severity severity) {
+        this.message = other.message;
+        this.localizerClass = other.localizerClass;
+        this.bundleKey = other.bundleKey;
+        this.args = other.args;
+        this.severity = severity;
+    }
+
+    /**
+     * Get a copy of this problem with a different severity, without
+     * rendering its message.
+     */
+    Problem withSeverity(Severity severity) {
+        return severity == this.severity ? this : new Problem(this, severity);
     }
 
     /**
@@ -80,7 +162,21 @@ public final class Problem implements Comparable<Problem> {
      * @return The message
      */
     public String getMessage() {
-        return message;
+        String result = message;
+        if (result == null) {
+            // A race here only means the message is formatted twice
+            try {
+                result = LocalizationSupport.getMessage(localizerClass, bundleKey, args);
+            } catch (MissingResourceException e) {
+                // Found late, possibly while painting - show the key rather
+                // than failing there
+                Logger.getLogger(Problem.class.getName()).log(Level.INFO,
+                        "Missing bundle key " + bundleKey + " for " + localizerClass.getName(), e); //NOI18N
+                result = bundleKey;
+            }
+            message = result;
+        }
+        return result;
     }
 
     /**
@@ -101,7 +197,15 @@ public final class Problem implements Comparable<Problem> {
         if (o == this) return true;
         if (o == null || o.getClass() != Problem.class ) { return false; }
         Problem p = (Problem) o;
-        return p.severity == severity && p.getMessage().equals(getMessage());
+        if (p.severity != severity) {
+            return false;
+        }
+        if (bundleKey != null || p.bundleKey != null) {
+            return bundleKey != null && p.bundleKey != null
+                    && localizerClass == p.localizerClass && bundleKey.equals(p.bundleKey)
+                    && Arrays.equals(args, p.args);
+        }
+        return p.getMessage().equals(getMessage());
     }
 
     @Override
@@ -111,6 +215,9 @@ public final class Problem implements Comparable<Problem> {
 
     @Override
     public int hashCode() {
+        if (bundleKey != null) {
+            return (bundleKey.hashCode() * 31 + Arrays.hashCode(args)) * (severity.hashCode() + 1);
+        }
         return message.hashCode() * (severity.hashCode() + 1);
     }
 }
@@ -16,9 +16,11 @@
 package org.netbeans.validation.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
@@ -28,7 +30,16 @@ import org.netbeans.validation.localization.LocalizationSupport;
  */
 public final class Problems implements Iterable<Problem> {
     private final List<Problem> problems = new ArrayList<Problem>();
-    private boolean hasFatal;
+    // Maintained on every addition, so that the lead problem and counts
+    // never require a sort or a scan
+    private final int[] counts = new int[SEVERITY_COUNT];
+    private Problem lead;
+    // True while problems have been added in non-increasing order of
+    // severity, in which case the list is already sorted
+    private boolean sorted = true;
+    private boolean acceptsDeferred;
+    private List<CompletionStage<Problems>> deferred;
+    private static final int SEVERITY_COUNT = Severity.values().length;
     /**
      * Convenience method to add a problem with the specified message and
      * Severity.FATAL
@@ -48,8 +59,7 @@ public final class Problems implements Iterable<Problem> {
      */
     @Deprecated
     public final void add (String problem, Severity severity) {
-        problems.add (new Problem (problem, severity));
-        hasFatal |= severity == Severity.FATAL;
+        addProblem (new Problem (problem, severity));
     }
 
     /**
@@ -60,8 +70,26 @@ public final class Problems implements Iterable<Problem> {
     @Deprecated
     public final void add (Problem problem) {
         if( problem == null ) { return; }
+        addProblem (problem);
+    }
+
+    private void addProblem (Problem problem) {
+        Severity severity = problem.severity();
+        if (lead == null) {
+            lead = problem;
+        } else {
+            int comparison = severity.compareTo(lead.severity());
+            if (comparison > 0) {
+                // Strictly more severe - an equally severe problem added
+                // earlier stays in the lead
+                lead = problem;
+            }
+            if (sorted && severity.compareTo(problems.get(problems.size() - 1).severity()) > 0) {
+                sorted = false;
+            }
+        }
+        counts[severity.ordinal()]++;
         problems.add (problem);
-        hasFatal |= (problem.severity() == Severity.FATAL);
     }
     /**
      * Convenience method to add a problem with the specified message and
@@ -87,6 +115,21 @@ public final class Problems implements Iterable<Problem> {
         add(problem, severity);
         return this;
     }
+    /**
+     * Add a fatal problem whose message is the localized message belonging
+     * to the passed class and key, according to the lookup semantics of
+     * Localizer.  The message is not looked up or formatted until something
+     * asks for it.
+     * @param localizerClass A class which (or whose package) has an associated
+     * resource bundle
+     * @param bundleKey The key in that bundle
+     * @param args Arguments to the message format, if any
+     * @return this
+     * @since 1.15
+     */
+    public final Problems append(Class<?> localizerClass, String bundleKey, Object... args) {
+        return append(new Problem(localizerClass, bundleKey, Severity.FATAL, args));
+    }
     /**
      * Add a problem
      * @param problem The problem (may be null)
@@ -120,17 +163,137 @@ public final class Problems implements Iterable<Problem> {
     public final void putAll (Problems problems) {
         if (problems == this) throw new IllegalArgumentException (
                 "putAll to self"); //NOI18N
-        this.problems.addAll (problems.problems);
-        hasFatal |= (problems.hasFatal());
+        for (Problem p : problems.problems) {
+            addProblem (p);
+        }
     }
 
+    /**
+     * Remove all problems, so that this instance can be reused rather than
+     * allocating a new one for each round of validation.
+     * @return this
+     * @since 1.15
+     */
+    public final Problems reset() {
+        if (!problems.isEmpty()) {
+            problems.clear();
+            Arrays.fill(counts, 0);
+            lead = null;
+            sorted = true;
+        }
+        deferred = null;
+        return this;
+    }
+
+    /**
+     * Set whether this instance will take problems which are still being
+     * found in the background, via {@link #defer}.  Whoever created it must
+     * then {@linkplain #takeDeferred collect} and wait for them;  UI
+     * components validated on the event thread do this, so that slow
+     * validators need not block it.
+     * @param accept Whether to accept deferred problems
+     * @return this
+     * @since 1.15
+     */
+    public final Problems acceptDeferred(boolean accept) {
+        acceptsDeferred = accept;
+        return this;
+    }
+
+    /**
+     * Determine if this instance takes problems which are still being found.
+     * If not, an {@link AsyncValidator} has to wait for its result.
+     * @return true if {@link #defer} may be called
+     * @since 1.15
+     */
+    public final boolean acceptsDeferred() {
+        return acceptsDeferred;
+    }
+
+    /**
+     * Add problems which are still being found in the background.
+     * @param pending A stage which will complete with the problems
+     * @return this
+     * @throws IllegalStateException if this instance does not
+     * {@linkplain #acceptsDeferred accept deferred problems}
+     * @since 1.15
+     */
+    public final Problems defer(CompletionStage<Problems> pending) {
+        if (!acceptsDeferred) {
+            throw new IllegalStateException("Deferred problems not accepted"); //NOI18N
+        }
+        if (pending == null) {
+            throw new NullPointerException("pending null"); //NOI18N
+        }
+        if (deferred == null) {
+            deferred = new ArrayList<CompletionStage<Problems>>(2);
+        }
+        deferred.add(pending);
+        return this;
+    }
+
+    /**
+     * Remove and return any problems {@linkplain #defer deferred} since
+     * the last call.
+     * @return The pending stages, in the order they were deferred;  empty if
+     * there are none
+     * @since 1.15
+     */
+    public final List<CompletionStage<Problems>> takeDeferred() {
+        if (deferred == null || deferred.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<CompletionStage<Problems>> result = deferred;
+        deferred = null;
+        return result;
+    }
+
+    /**
+     * Determine if no problems have been added.
+     * @return true if there are no problems
+     * @since 1.15
+     */
+    public final boolean isEmpty() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * Get the number of problems of the passed severity.
+     * @param severity A severity
+     * @return The number of problems with exactly that severity
+     * @since 1.15
+     */
+    public final int count(Severity severity) {
+        return counts[severity.ordinal()];
+    }
+
+
+    /**
+     * Number of problems added so far.
+     */
+    final int size() {
+        return problems.size();
+    }
+
+    /**
+     * Determine if any problem added at or after the passed index is at
+     * least as severe as the passed severity.
+     */
+    final boolean hasProblemSince(int index, Severity minimum) {
+        for (int i = index; i < problems.size(); i++) {
+            if (problems.get(i).severity().compareTo(minimum) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     /**
      * Determine if this set of problems includes any that are fatal.
      * @return true if a fatal problem has been encountered
      */
     public final boolean hasFatal() {
-        return hasFatal;
+        return counts[Severity.FATAL.ordinal()] > 0;
     }
 
     /**
@@ -157,7 +320,7 @@ public final class Problems implements Iterable<Problem> {
     public static Problems create(Class<?> localizerClass, String bundleKey) {
         assert bundleKey != null;
         assert localizerClass != null;
-        return create(LocalizationSupport.getMessage(localizerClass, bundleKey));
+        return new Problems().append(localizerClass, bundleKey);
     }
 
     /**
@@ -170,14 +333,13 @@ public final class Problems implements Iterable<Problem> {
      * @return null if there was no {@code Problem}
      */
     public final Problem getLeadProblem() {
-        // Note that Collections.sort() is *stable*, a fact we use to guarantee
-        // this: of problems with equal severity, the problems added first will
-        // remain before the later ones, and will thusly be considered "more leading".
+        // The lead is only replaced by a strictly more severe problem, so
+        // of problems with equal severity, the one added first is
+        // considered "more leading".
         // (This may be helpful if the problems added first
         // have *occured* more *recently* and thusly can be regarded as leading
         //  -- more natural to indicate to a user).
-        Collections.sort (problems);
-        return problems.isEmpty() ? null : problems.get(0);
+        return lead;
     }
 
     /**
@@ -186,8 +348,15 @@ public final class Problems implements Iterable<Problem> {
      * @return A list of Problems
      */
     public final List<? extends Problem> allProblems() {
+        if (problems.isEmpty()) {
+            return Collections.emptyList();
+        }
         List<Problem> result = new ArrayList<Problem>(problems);
-        Collections.sort(result);
+        if (!sorted) {
+            // Collections.sort() is stable, so problems of equal severity
+            // keep their order of addition
+            Collections.sort(result);
+        }
         return result;
     }
 
@@ -16,11 +16,12 @@
 package org.netbeans.validation.api;
 
 import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import javax.imageio.ImageIO;
 import javax.swing.Icon;
-import javax.swing.ImageIcon;
 import javax.swing.UIManager;
 import org.netbeans.validation.localization.LocalizationSupport;
 
@@ -45,43 +46,87 @@ public enum Severity {
      * A fatal problem with user input which must be corrected
      */
     FATAL;
-    private BufferedImage image;
+    // Loaded on first use and shared;  only loading takes the lock, so
+    // every caller sees the same instance.  The lock is private so code
+    // which synchronizes on the enum constant cannot contend with it
+    private final Object lock = new Object();
+    private volatile BufferedImage image;
+    private volatile BufferedImage badge;
+    private volatile Icon icon;
 
     /**
      * Get a warning icon as an image
      * @return An image
      */
-    public synchronized BufferedImage image() {
-        if (image == null) {
-            String name;
-            switch (this) {
-                case INFO:
-                    name = "info.png"; //NOI18N
-                    break;
-                case WARNING:
-                    name = "warning.png"; //NOI18N
-                    break;
-                case FATAL:
-                    name = "error.png"; //NOI18N
-                    break;
-                default:
-                    throw new AssertionError();
-            }
-            try {
-                image = ImageIO.read(Severity.class.getResourceAsStream(name));
-            } catch (IOException ex) {
-                throw new IllegalArgumentException(ex);
+    public BufferedImage image() {
+        BufferedImage result = image;
+        if (result == null) {
+            synchronized (lock) {
+                result = image;
+                if (result == null) {
+                    image = result = load(resourceName(false));
+                }
             }
         }
-        return image;
+        return result;
+    }
+
+    private String resourceName(boolean badge) {
+        switch (this) {
+            case INFO:
+                return badge ? "info-badge.png" : "info.png"; //NOI18N
+            case WARNING:
+                return badge ? "warning-badge.png" : "warning.png"; //NOI18N
+            case FATAL:
+                return badge ? "error-badge.png" : "error.png"; //NOI18N
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    private static BufferedImage load(String name) {
+        try {
+            return ImageIO.read(Severity.class.getResourceAsStream(name));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
     }
 
     /**
-     * Get an icon version of the warning image
+     * Get an icon version of the warning image.  The icon is shared and
+     * immutable.
      * @return An icon
      */
     public Icon icon() {
-        return new ImageIcon(image());
+        Icon result = icon;
+        if (result == null) {
+            icon = result = new SeverityIcon(image());
+        }
+        return result;
+    }
+
+    private static final class SeverityIcon implements Icon {
+
+        private final BufferedImage image;
+
+        SeverityIcon(BufferedImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            g.drawImage(image, x, y, c);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return image.getWidth();
+        }
+
+        @Override
+        public int getIconHeight() {
+            return image.getHeight();
+        }
     }
 
     /**
@@ -106,30 +151,22 @@ public enum Severity {
         }
     }
 
-    BufferedImage badge;
+    /**
+     * Get a small version of the warning icon, suitable for overlaying
+     * on a component
+     * @return An image
+     */
     public BufferedImage badge() {
-        if (badge == null) {
-            String name;
-            switch (this) {
-                case INFO:
-                    name = "info-badge.png"; //NOI18N
-                    break;
-                case WARNING:
-                    name = "warning-badge.png"; //NOI18N
-                    break;
-                case FATAL:
-                    name = "error-badge.png"; //NOI18N
-                    break;
-                default:
-                    throw new AssertionError();
-            }
-            try {
-                badge = ImageIO.read(Severity.class.getResourceAsStream(name));
-            } catch (IOException ex) {
-                throw new IllegalArgumentException(ex);
+        BufferedImage result = badge;
+        if (result == null) {
+            synchronized (lock) {
+                result = badge;
+                if (result == null) {
+                    badge = result = load(resourceName(true));
+                }
             }
         }
-        return badge;
+        return result;
     }
 
     /**
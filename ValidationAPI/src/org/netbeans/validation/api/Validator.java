@@ -24,12 +24,22 @@ import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
  * <p> Note that the enum {@link StringValidators} provides many
  * built-in validators to perform common tasks.
  *
+ * <p> A validator may be shared between components, and between threads
+ * when validating in bulk;  implementations should not keep state between
+ * calls to {@link #validate(Problems, String, Object)}, or should keep it
+ * per-thread.  The built-in validators are all thread-safe.
+ *
  * @author Tim Boudreau
  */
 public interface Validator<T> {
     /**
      * Validate the passed model.  If the component is invalid, this
      * method shall add problems to the passed list.
+     * <p>
+     * The passed {@code Problems} belongs to the caller, which may clear
+     * and reuse it once this method returns, so implementations should
+     * not keep a reference to it;  copy it with
+     * {@link Problems#addAll(Problems)} if its contents are needed later.
      *
      * @param problems A list of problems.
      * @param compName The name of the component in question (may be null in some cases)
@@ -49,4 +59,40 @@ public interface Validator<T> {
      * may be passed a subclass of this type.
      */
     Class<T> modelType();
+
+    /**
+     * Cost hint for validators which do trivial work, such as checking
+     * the length of a string.
+     * @since 1.15
+     */
+    int COST_CHEAP = 10;
+    /**
+     * Cost hint for validators which do not say otherwise.
+     * @since 1.15
+     */
+    int COST_DEFAULT = 100;
+    /**
+     * Cost hint for validators which do significant work, such as matching
+     * a regular expression, looking up a character set or touching the
+     * file system.
+     * @since 1.15
+     */
+    int COST_EXPENSIVE = 1000;
+
+    /**
+     * A rough hint as to how expensive this validator is to run, relative
+     * to others.  Used by {@link ValidatorUtils#mergeCheapestFirst(Severity, Validator...)}
+     * to run cheap checks before expensive ones.  The value is only
+     * compared against other validators' costs;  {@link #COST_CHEAP},
+     * {@link #COST_DEFAULT} and {@link #COST_EXPENSIVE} give the scale.
+     * <p/>
+     * The return value of this method is expected to remain constant
+     * throughout the life of this validator.
+     *
+     * @return The cost, {@link #COST_DEFAULT} unless overridden
+     * @since 1.15
+     */
+    default int cost() {
+        return COST_DEFAULT;
+    }
 }
@@ -18,6 +18,7 @@ package org.netbeans.validation.api;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.netbeans.validation.api.conversion.Converter;
 
 /**
@@ -68,13 +69,178 @@ public class ValidatorUtils {
      * @return a single validator which delegates to both of the passed ones
      */
     public static <T> Validator<T> merge(Validator<T> validator1, Validator<T> validator2) {
-        // XXX could check if one or both are instanceof AndValidator and unpack them, but probably overkill
+        // Nested AndValidators are unpacked by the constructor
         List<Validator<T>> validators = new ArrayList<Validator<T>>(2);
         validators.add(validator1);
         validators.add(validator2);
         return new AndValidator<T>(validator1.modelType(), validators);
     }
 
+    /**
+     * Merge together a chain of validators (all of which work against the same
+     * type), using logical {@code AND}, such that the validators are run in
+     * order only until one of them reports a problem at least as severe as
+     * the passed severity.  Pass {@link Severity#FATAL} to skip the remaining
+     * (possibly expensive) validators once the value is known to be unusable,
+     * or {@link Severity#INFO} to stop at the first problem of any kind.
+     * <p/>
+     * As with {@link #merge(Validator...)}, the resulting validator reports
+     * success only if <b>all</b> the merged validators would report success.
+     * Only problems added by the merged validators themselves are considered,
+     * not ones already present in the {@code Problems} passed to it.
+     *
+     * @param <T> The type of model (Document, String, etc.) you want to
+     * work with
+     * @param stopAt The severity of problem after which no further validators
+     * should be run
+     * @param validators A chain of validators which should be logically
+     * AND'd together, merged into a single validator
+     * @return a single validator which delegates to the passed ones in order
+     * @since 1.15
+     */
+    @SafeVarargs
+    public static <T> Validator<T> mergeShortCircuit (Severity stopAt, Validator<T>... validators) {
+        if (stopAt == null || validators == null) {
+            throw new NullPointerException();
+        }
+        if (validators.length == 1) {
+            return validators[0];
+        }
+        if (validators.length == 0) {
+            throw new IllegalArgumentException ("Merging empty array of " +
+                    "validators");
+        }
+        List<Validator<T>> list = new ArrayList<Validator<T>>(validators.length);
+        for (Validator<T> v : validators) {
+            list.add(v);
+        }
+        return new AndValidator<T>(validators[0].modelType(), list, stopAt);
+    }
+
+    /**
+     * Merge together two validators (both of which work against the same type),
+     * using logical {@code AND}, such that the second is only run if the first
+     * did not report a problem at least as severe as the passed severity.
+     * <p>Unlike {@link #mergeShortCircuit(Severity, Validator...)}, calling this
+     * method does not trigger warnings under {@code -Xlint:unchecked}.
+     *
+     * @param <T> The type of model (Document, String, etc.) you want to
+     * work with
+     * @param stopAt The severity of problem after which the second validator
+     * should not be run
+     * @param validator1 one validator
+     * @param validator2 another validator of the same type
+     * @return a single validator which delegates to the passed ones in order
+     * @since 1.15
+     */
+    public static <T> Validator<T> mergeShortCircuit(Severity stopAt, Validator<T> validator1, Validator<T> validator2) {
+        if (stopAt == null) {
+            throw new NullPointerException();
+        }
+        List<Validator<T>> validators = new ArrayList<Validator<T>>(2);
+        validators.add(validator1);
+        validators.add(validator2);
+        return new AndValidator<T>(validator1.modelType(), validators, stopAt);
+    }
+
+    /**
+     * Merge together a chain of validators (all of which work against the same
+     * type) as {@link #mergeShortCircuit(Severity, Validator...)} does, but
+     * run them in ascending order of {@link Validator#cost()}, so that cheap
+     * checks such as string length get a chance to stop the chain before
+     * expensive ones such as regular expressions or file system lookups
+     * are run.  Validators of equal cost are run in the order passed, and a
+     * chain made by {@link #merge(Validator...)} or
+     * {@link #mergeShortCircuit(Severity, Validator...)} which is passed here
+     * is run as one unit, in its own order.
+     * <p/>
+     * Note that this may change which problem is reported first when more
+     * than one validator would fail.
+     *
+     * @param <T> The type of model (Document, String, etc.) you want to
+     * work with
+     * @param stopAt The severity of problem after which no further validators
+     * should be run
+     * @param validators A chain of validators which should be logically
+     * AND'd together, merged into a single validator
+     * @return a single validator which delegates to the passed ones, cheapest
+     * first
+     * @since 1.15
+     */
+    @SafeVarargs
+    public static <T> Validator<T> mergeCheapestFirst (Severity stopAt, Validator<T>... validators) {
+        if (stopAt == null || validators == null) {
+            throw new NullPointerException();
+        }
+        if (validators.length == 1) {
+            return validators[0];
+        }
+        if (validators.length == 0) {
+            throw new IllegalArgumentException ("Merging empty array of " +
+                    "validators");
+        }
+        List<Validator<T>> list = new ArrayList<Validator<T>>(validators.length);
+        for (Validator<T> v : validators) {
+            list.add(v);
+        }
+        return new AndValidator<T>(validators[0].modelType(), list, stopAt, true);
+    }
+
+    /**
+     * Merge together incremental validators of text, as
+     * {@link #merge(Validator...)} does, into a validator which is still
+     * incremental - so that, for example, a large text component can be
+     * checked both for whitespace and for its length without either check
+     * rescanning the whole text after each edit.
+     *
+     * @param validators One or more incremental validators
+     * @return a single incremental validator which delegates to all of the
+     * passed ones
+     * @since 1.15
+     */
+    public static IncrementalTextValidator mergeIncremental (IncrementalTextValidator... validators) {
+        if (validators == null) {
+            throw new NullPointerException();
+        }
+        if (validators.length == 0) {
+            throw new IllegalArgumentException ("Merging empty array of " +
+                    "validators");
+        }
+        if (validators.length == 1) {
+            return validators[0];
+        }
+        return new IncrementalAndValidator(validators);
+    }
+
+    /**
+     * Wrap a validator which is too slow to run on the event thread, such as
+     * one which checks that a file exists or a URL resolves, so that it runs
+     * on the passed executor instead.  When it validates a UI component,
+     * the component shows its problems once they are found, and only the
+     * newest run's problems are ever shown;  anywhere else it runs
+     * synchronously, exactly as the passed validator would.
+     * <p/>
+     * A single-threaded executor is a reasonable choice for validators of
+     * the same component, since a run is cancelled as soon as the component
+     * changes again.
+     *
+     * @param <T> The model type
+     * @param validator The validator
+     * @param executor The executor to run it on
+     * @return An asynchronous validator
+     * @see AsyncValidator
+     * @since 1.15
+     */
+    public static <T> AsyncValidator<T> async(Validator<T> validator, Executor executor) {
+        if (validator == null) {
+            throw new NullPointerException("validator null"); //NOI18N
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor null"); //NOI18N
+        }
+        return new BackgroundValidator<T>(validator, executor);
+    }
+
     /**
      * Wrapper one or more validators in a validator which imposes a limit on
      * the severity of the validators in use.  This means that while the
@@ -174,6 +340,11 @@ public class ValidatorUtils {
             }
             other.validate( prblms, string, model );
         }
+
+        @Override
+        public int cost() {
+            return other.cost();
+        }
     }
 
     /**
@@ -226,6 +397,11 @@ public class ValidatorUtils {
             }
         }
 
+        @Override
+        public int cost() {
+            return wrapped.cost();
+        }
+
         @Override
         public String toString() {
             return super.toString() + "[" + wrapped + "]";
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.indexvalidation;
+
+/**
+ * A selection of indices - such as the selected rows of a list - as a
+ * sorted sequence of disjoint, non-adjacent intervals.  Unlike an
+ * <code>Integer[]</code> of the selected indices, its size depends on how
+ * many separate ranges are selected rather than on how many items, so
+ * validating a selection of hundreds of thousands of rows made with a
+ * single shift-click costs no more than validating one row.
+ * <p/>
+ * The selection passed to a validator may be a live view of a component's
+ * selection, so validators should not keep a reference to it.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public interface IndexSelection {
+
+    /**
+     * Get the number of separate ranges of selected indices.
+     * @return The number of intervals, 0 if nothing is selected
+     */
+    int intervalCount();
+
+    /**
+     * Get the first selected index of an interval.  Intervals are in
+     * ascending order.
+     * @param interval The interval, from 0 to <code>intervalCount() - 1</code>
+     * @return The first index in it
+     */
+    int intervalStart(int interval);
+
+    /**
+     * Get the last selected index of an interval, inclusive.
+     * @param interval The interval, from 0 to <code>intervalCount() - 1</code>
+     * @return The last index in it
+     */
+    int intervalEnd(int interval);
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.indexvalidation;
+
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+
+/**
+ * Counterparts of {@link IndexValidators} which validate a selection as an
+ * {@link IndexSelection} - a list of intervals - rather than as an array
+ * of every selected index.  Each check takes time proportional to the
+ * number of selected ranges at most, not the number of selected items, so
+ * they remain cheap for lists where the user may select a very large range.
+ * <p>
+ * In the Swing library, a <code>JList</code> added to a validation group
+ * with one of these validators is validated against a view of its selection
+ * model which is updated from the range each selection event covers, rather
+ * than rebuilt.
+ * <p>
+ * The validators only read the interval bounds of the selection they are
+ * passed and hold nothing but their limits, so a single instance can
+ * validate any number of lists.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public enum IndexSelectionValidators implements Validator<IndexSelection> {
+    /**
+     * Factory for validators which require at least one index to be
+     * selected.
+     */
+    REQUIRE_SELECTION(new SelectionIntervalsValidator(false)),
+    /**
+     * Factory for validators which require a non-empty selection consisting
+     * of a single range of indices.
+     */
+    REQUIRE_SINGLE_INTERVAL(new SelectionIntervalsValidator(true));
+
+    private final Validator<IndexSelection> delegate;
+
+    IndexSelectionValidators(Validator<IndexSelection> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Get a validator which requires at least a minimum number of indices
+     * to be selected.
+     *
+     * @param min The minimum, zero or greater
+     * @return A validator
+     */
+    public static Validator<IndexSelection> minSelectionCount(int min) {
+        return new SelectionCountValidator(min, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get a validator which requires that no more than a maximum number of
+     * indices are selected.
+     *
+     * @param max The maximum, zero or greater
+     * @return A validator
+     */
+    public static Validator<IndexSelection> maxSelectionCount(int max) {
+        return new SelectionCountValidator(0, max);
+    }
+
+    /**
+     * Get a validator which requires every selected index to be within a
+     * range.  An empty selection is valid.
+     *
+     * @param first The lowest index which may be selected
+     * @param last The highest index which may be selected, inclusive
+     * @return A validator
+     */
+    public static Validator<IndexSelection> selectionWithin(int first, int last) {
+        return new SelectionBoundsValidator(first, last);
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, IndexSelection model) {
+        delegate.validate(problems, compName, model);
+    }
+
+    @Override
+    public Class<IndexSelection> modelType() {
+        return IndexSelection.class;
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
+}
@@ -26,23 +26,17 @@ import org.netbeans.validation.api.Validator;
  */
 public enum IndexValidators implements Validator<Integer[]> {
 
-    REQUIRE_SELECTION
+    REQUIRE_SELECTION(new SelectionMustBeNonEmptyValidator())
             ;
 
-    private Validator<Integer[]> instantiate() {
-        Validator<Integer[]> result;
-        switch (this) {
-            case REQUIRE_SELECTION :
-                result = new SelectionMustBeNonEmptyValidator();
-                break;
-            default :
-                throw new AssertionError();
-        }
-        return result;
+    private final Validator<Integer[]> delegate;
+
+    IndexValidators(Validator<Integer[]> delegate) {
+        this.delegate = delegate;
     }
 
     @Override public void validate (Problems problems, String compName, Integer[] model) {
-        instantiate().validate(problems, compName, model);
+        delegate.validate(problems, compName, model);
     }
 
     public Class<Integer[]> modelType() {
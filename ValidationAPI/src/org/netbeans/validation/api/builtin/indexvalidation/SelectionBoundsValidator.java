@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.indexvalidation;
+
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * Checks that every selected index is within a range, which only requires
+ * the first and last intervals.
+ *
+ * @author Tim Boudreau
+ */
+final class SelectionBoundsValidator extends AbstractValidator<IndexSelection> {
+    private final int first;
+    private final int last;
+
+    SelectionBoundsValidator(int first, int last) {
+        super(IndexSelection.class);
+        if (first < 0 || last < first) {
+            throw new IllegalArgumentException("Bad range " + first + " to " + last); //NOI18N
+        }
+        this.first = first;
+        this.last = last;
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, IndexSelection model) {
+        int intervals = model.intervalCount();
+        if (intervals == 0) {
+            return;
+        }
+        if (model.intervalStart(0) < first || model.intervalEnd(intervals - 1) > last) {
+            problems.append(SelectionBoundsValidator.class,
+                    "MSG_SELECTION_OUT_OF_BOUNDS", first, last); //NOI18N
+        }
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.indexvalidation;
+
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * Checks the number of selected indices, which is summed over the
+ * intervals rather than counted one index at a time.
+ *
+ * @author Tim Boudreau
+ */
+final class SelectionCountValidator extends AbstractValidator<IndexSelection> {
+    private final int min;
+    private final int max;
+
+    SelectionCountValidator(int min, int max) {
+        super(IndexSelection.class);
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Bad range " + min + " to " + max); //NOI18N
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    static long count(IndexSelection selection) {
+        long result = 0;
+        for (int i = 0; i < selection.intervalCount(); i++) {
+            result += (long) selection.intervalEnd(i) - selection.intervalStart(i) + 1;
+        }
+        return result;
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, IndexSelection model) {
+        long count = count(model);
+        if (count < min) {
+            problems.append(SelectionCountValidator.class,
+                    "MSG_TOO_FEW_SELECTED", min); //NOI18N
+        } else if (count > max) {
+            problems.append(SelectionCountValidator.class,
+                    "MSG_TOO_MANY_SELECTED", max); //NOI18N
+        }
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.indexvalidation;
+
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * Checks the shape of a selection - that it is non-empty, or contiguous -
+ * which only requires the number of intervals.
+ *
+ * @author Tim Boudreau
+ */
+final class SelectionIntervalsValidator extends AbstractValidator<IndexSelection> {
+    private final boolean contiguous;
+
+    SelectionIntervalsValidator(boolean contiguous) {
+        super(IndexSelection.class);
+        this.contiguous = contiguous;
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, IndexSelection model) {
+        int intervals = model.intervalCount();
+        if (intervals == 0) {
+            problems.append(SelectionIntervalsValidator.class,
+                    "MSG_NOTHING_SELECTED"); //NOI18N
+        } else if (contiguous && intervals > 1) {
+            problems.append(SelectionIntervalsValidator.class,
+                    "MSG_SELECTION_NOT_CONTIGUOUS"); //NOI18N
+        }
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.stringvalidation;
+
+/**
+ * Single-pass scanners for the pieces of host names and IP addresses, so
+ * that validating them does not require regular expressions, splitting the
+ * string or parsing numbers via exceptions.  All methods operate on a range
+ * of the passed string and allocate nothing.
+ *
+ * @author Tim Boudreau
+ */
+final class AddressScanning {
+
+    /**
+     * Returned by {@link #parseInt} if the range is not an integer.
+     */
+    static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private AddressScanning() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Parse a range of a string with the same rules as
+     * <code>Integer.parseInt()</code> - an optional sign followed by
+     * at least one digit, and a result in the range of an int.
+     *
+     * @return The value, or {@link #NOT_AN_INT}
+     */
+    static long parseInt(CharSequence s, int start, int end) {
+        if (start >= end) {
+            return NOT_AN_INT;
+        }
+        boolean negative = false;
+        char first = s.charAt(start);
+        if (first == '-' || first == '+') { //NOI18N
+            negative = first == '-'; //NOI18N
+            if (++start == end) {
+                return NOT_AN_INT;
+            }
+        }
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if (digit < 0) {
+                return NOT_AN_INT;
+            }
+            result = result * 10 + digit;
+            if (result > (long) Integer.MAX_VALUE + 1) {
+                return NOT_AN_INT;
+            }
+        }
+        if (negative) {
+            return -result;
+        }
+        return result > Integer.MAX_VALUE ? NOT_AN_INT : result;
+    }
+
+    /**
+     * Determine if a range is non-empty and consists only of the ASCII
+     * digits 0-9.
+     */
+    static boolean isAllDigits(CharSequence s, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') { //NOI18N
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int indexOf(CharSequence s, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOf(CharSequence s, char c, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (s.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int count(CharSequence s, char c, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == c) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'); //NOI18N
+    }
+
+    /**
+     * Determine if a range is a dotted-quad IPv4 address with no port,
+     * each component being one to three digits with a value of at most 255.
+     */
+    static boolean isIpV4(CharSequence s, int start, int end) {
+        int octets = 0;
+        int i = start;
+        while (true) {
+            int value = 0;
+            int digits = 0;
+            while (i < end && digits < 4) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') { //NOI18N
+                    break;
+                }
+                value = value * 10 + (c - '0'); //NOI18N
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 3 || value > 255) {
+                return false;
+            }
+            octets++;
+            if (i == end) {
+                return octets == 4;
+            }
+            if (octets == 4 || s.charAt(i) != '.') { //NOI18N
+                return false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Determine if a range is an IPv6 address in any of the textual forms
+     * of RFC 4291 - full, compressed with "::", or ending in an IPv4 address -
+     * optionally followed by a "%" and an alphanumeric zone id.
+     */
+    static boolean isIpV6(CharSequence s, int start, int end) {
+        int zone = indexOf(s, '%', start, end); //NOI18N
+        if (zone >= 0) {
+            if (zone == end - 1) {
+                return false;
+            }
+            for (int i = zone + 1; i < end; i++) {
+                char c = s.charAt(i);
+                if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) { //NOI18N
+                    return false;
+                }
+            }
+            end = zone;
+        }
+        if (end - start < 2) {
+            return false;
+        }
+        int groups = 0;
+        boolean compressed = false;
+        int i = start;
+        if (s.charAt(i) == ':') { //NOI18N
+            if (s.charAt(i + 1) != ':') { //NOI18N
+                return false;
+            }
+            compressed = true;
+            i += 2;
+            if (i == end) {
+                return true;
+            }
+        }
+        while (true) {
+            int groupStart = i;
+            while (i < end && i - groupStart < 5 && isHex(s.charAt(i))) {
+                i++;
+            }
+            if (i < end && s.charAt(i) == '.') { //NOI18N
+                // Trailing IPv4 address, which takes the space of two groups
+                if (!isIpV4(s, groupStart, end)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            int length = i - groupStart;
+            if (length == 0 || length > 4) {
+                return false;
+            }
+            groups++;
+            if (i == end) {
+                break;
+            }
+            if (s.charAt(i) != ':' || groups >= 8) { //NOI18N
+                return false;
+            }
+            i++;
+            if (i == end) {
+                return false;
+            }
+            if (s.charAt(i) == ':') { //NOI18N
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+                if (i == end) {
+                    break;
+                }
+            }
+        }
+        // "::" stands for at least one group of zeros
+        return compressed ? groups <= 7 : groups == 8;
+    }
+
+    /**
+     * Find the index of the "]" in a string of the form [ipv6-address]:port,
+     * where the port is one or more ASCII digits.
+     *
+     * @return The index of the closing bracket, or -1 if the string is not
+     * of that form
+     */
+    static int bracketedIpV6End(CharSequence s) {
+        int len = s.length();
+        if (len < 5 || s.charAt(0) != '[') { //NOI18N
+            return -1;
+        }
+        int close = indexOf(s, ']', 1, len); //NOI18N
+        if (close < 0 || close + 2 >= len || s.charAt(close + 1) != ':') { //NOI18N
+            return -1;
+        }
+        if (!isAllDigits(s, close + 2, len) || !isIpV6(s, 1, close)) {
+            return -1;
+        }
+        return close;
+    }
+
+    /**
+     * Determine if a string is an IPv6 address, with or without a zone id,
+     * or an IPv6 address in brackets followed by a port.
+     */
+    static boolean isIpV6(CharSequence s) {
+        return isIpV6(s, 0, s.length()) || bracketedIpV6End(s) > 0;
+    }
+}
@@ -17,7 +17,6 @@ package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
 import org.netbeans.validation.api.Validator;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -39,10 +38,8 @@ public class BoundValidator implements Validator<String> {
             int val = (int) Double.parseDouble(model);
             boolean test = less ? val < value : val > value;
             if (!test) {
-                String problem = LocalizationSupport.getMessage(
-                        BoundValidator.class,
+                problems.append(BoundValidator.class,
                         less ? "ERR_TOO_LARGE" : "ERR_TOO_SMALL", compName, model); //NOI18N
-                problems.append(problem);
             }
         } catch (NumberFormatException e) {
             //do nothing - if someone wants not-a-number validation, they should
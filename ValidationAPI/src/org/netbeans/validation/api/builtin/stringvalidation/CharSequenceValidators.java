@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.stringvalidation;
+
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import org.netbeans.validation.api.IncrementalTextValidator;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * Counterparts of {@link StringValidators} which validate any
+ * <code>CharSequence</code>, for validating text without first copying it
+ * into a <code>String</code> - for example, the contents of a large
+ * <code>javax.swing.text.Document</code>, or a field read from a buffer.
+ * Each behaves, and reports problems, exactly as the
+ * <code>StringValidators</code> constant or factory method of the same name
+ * does.
+ * <p>
+ * The sequence is only read while it is being validated;  problem messages
+ * which quote the text take a copy of it, so it is safe to pass a sequence
+ * which is a view of a buffer that will change afterwards.
+ * <p>
+ * In the Swing library, a text component added to a validation group with
+ * one of these validators is validated against a view of its document's
+ * text, so large text areas are not copied on each change.
+ * <p>
+ * All of these are {@link IncrementalTextValidator}s.  Those which object
+ * to individual characters - {@link #NO_WHITESPACE},
+ * {@link #disallowChars(char[])} and {@link #encodableInCharset(String)} -
+ * only recheck the edited region of a tracked text, and the length checks
+ * take constant time;  the rest recheck the whole text.
+ * <p>
+ * What an incremental check learns about a text is kept in the
+ * {@link IncrementalTextValidator.Tracker} created for that text, never in
+ * the validator, so one validator can serve many text components, and
+ * validate on several threads at once.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public enum CharSequenceValidators implements IncrementalTextValidator {
+    /**
+     * Factory for validators which require non-zero length text.
+     */
+    REQUIRE_NON_EMPTY_STRING,
+    /**
+     * Factory for validators which require a legal Java identifier.
+     */
+    REQUIRE_JAVA_IDENTIFIER,
+    /**
+     * Factory for validators which require a valid hexadecimal number.
+     */
+    VALID_HEXADECIMAL_NUMBER,
+    /**
+     * Factory for validators which do not allow whitespace.
+     */
+    NO_WHITESPACE,
+    /**
+     * Factory for validators which require an IPv4 address, optionally
+     * with a port.
+     */
+    IP_ADDRESS,
+    /**
+     * Factory for validators which require a host name, an IPv6 address,
+     * or either one followed by a port.
+     */
+    HOST_NAME,
+    /**
+     * Factory for validators which accept either a host name or an IP
+     * address.
+     */
+    HOST_NAME_OR_IP_ADDRESS,
+    ;
+
+    // Created lazily and shared, as with StringValidators
+    private volatile TextValidator delegate;
+
+    private TextValidator instantiate() {
+        switch (this) {
+            case REQUIRE_NON_EMPTY_STRING :
+                return new EmptyStringIllegalValidator();
+            case REQUIRE_JAVA_IDENTIFIER :
+                return new NotJavaIdentifierValidator();
+            case VALID_HEXADECIMAL_NUMBER :
+                return new ValidHexadecimalNumberValidator();
+            case NO_WHITESPACE :
+                return new MayNotContainSpacesValidator();
+            case IP_ADDRESS :
+                return new IpAddressValidator();
+            case HOST_NAME :
+                return new HostNameValidator(true);
+            case HOST_NAME_OR_IP_ADDRESS :
+                return new ValidHostNameOrIPValidator();
+            default :
+                throw new AssertionError();
+        }
+    }
+
+    private TextValidator delegate() {
+        TextValidator result = delegate;
+        if (result == null) {
+            delegate = result = instantiate();
+        }
+        return result;
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, CharSequence model) {
+        delegate().check(problems, compName, model);
+    }
+
+    @Override
+    public Tracker track(CharSequence text) {
+        return delegate().track(text);
+    }
+
+    @Override
+    public int cost() {
+        switch (this) {
+            case REQUIRE_NON_EMPTY_STRING :
+            case NO_WHITESPACE :
+                return COST_CHEAP;
+            default :
+                return COST_DEFAULT;
+        }
+    }
+
+    @Override
+    public Class<CharSequence> modelType() {
+        return CharSequence.class;
+    }
+
+    /**
+     * Get a validator which fails if any of the characters in the
+     * passed char array are contained in the evaluated text.
+     * @param chars The array of illegal characters
+     * @return A validator
+     * @see StringValidators#disallowChars(char[])
+     */
+    public static IncrementalTextValidator disallowChars(char[] chars) {
+        return new DisallowCharactersValidator(chars).forCharSequences();
+    }
+
+    /**
+     * Get a validator which fails if the text to validate does not match a
+     * passed regular expression.  The expression is matched against the
+     * sequence directly.
+     * @param regexp The regular expression
+     * @param message The output message if there is a problem.  The message
+     * may refer to the component name as {0} and the text that has not matched
+     * as {1} if desired
+     * @param acceptPartialMatches if true, will use <code>Matcher.lookingAt()</code> rather
+     * than <code>Matcher.matches()</code>
+     * @return A validator
+     * @see StringValidators#regexp(String, String, boolean)
+     */
+    public static IncrementalTextValidator regexp(String regexp, String message, boolean acceptPartialMatches) {
+        return new RegexpValidator(regexp, message, acceptPartialMatches).forCharSequences();
+    }
+
+    /**
+     * Get a validator which determines if the text can be encoded in the
+     * specified character set.
+     * @param charsetName The name of a character set recognized by
+     * <code>java.nio.Charset</code>
+     * @return A validator
+     * @throws UnsupportedCharsetException if the character set is unsupported
+     * @throws IllegalCharsetNameException if the character set is illegal
+     * @see StringValidators#encodableInCharset(String)
+     */
+    public static IncrementalTextValidator encodableInCharset(String charsetName) {
+        return new EncodableInCharsetValidator(charsetName).forCharSequences();
+    }
+
+    /**
+     * Validator that enforces minimum input length.
+     * @param length The minimum length
+     * @return A validator for text lengths
+     */
+    public static IncrementalTextValidator minLength(int length) {
+        return new MinimumLength(length).forCharSequences();
+    }
+
+    /**
+     * Validator that enforces maximum input length.
+     * @param length The maximum length
+     * @return A validator for text lengths
+     */
+    public static IncrementalTextValidator maxLength(int length) {
+        return new MaximumLength(length).forCharSequences();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.stringvalidation;
+
+import java.util.Arrays;
+import org.netbeans.validation.api.IncrementalTextValidator;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * A text validator which objects to individual characters, and so can be
+ * validated incrementally:  its tracker keeps the offsets of the invalid
+ * characters, and after an edit only rechecks the edited region.
+ *
+ * @author Tim Boudreau
+ */
+abstract class CharacterValidator extends TextValidator {
+
+    /**
+     * Determine if the character at an index is invalid.  The answer may
+     * depend on the characters immediately before and after it (as with
+     * surrogate pairs), but no further.
+     */
+    abstract boolean isInvalidAt(CharSequence text, int index);
+
+    /**
+     * Report problems, given the offsets of the invalid characters.
+     * Must add the same problems as <code>check()</code> does.
+     */
+    abstract void report(Problems problems, String compName, CharSequence text, int[] invalid, int count);
+
+    @Override
+    final IncrementalTextValidator.Tracker track(CharSequence text) {
+        return new Tracker(text);
+    }
+
+    private final class Tracker implements IncrementalTextValidator.Tracker {
+
+        // Sorted offsets of invalid characters
+        private int[] invalid = new int[8];
+        private int count;
+
+        Tracker(CharSequence text) {
+            recheck(text, 0, text.length());
+        }
+
+        @Override
+        public void inserted(CharSequence text, int offset, int length) {
+            shift(lowerBound(offset), length);
+            // The characters either side of the insertion may have changed
+            // validity too
+            recheck(text, Math.max(0, offset - 1), Math.min(text.length(), offset + length + 1));
+        }
+
+        @Override
+        public void removed(CharSequence text, int offset, int length) {
+            int from = lowerBound(offset);
+            int to = lowerBound(offset + length);
+            splice(from, to, null, 0);
+            shift(from, -length);
+            recheck(text, Math.max(0, offset - 1), Math.min(text.length(), offset + 1));
+        }
+
+        @Override
+        public void validate(Problems problems, String compName, CharSequence text) {
+            if (count > 0) {
+                report(problems, compName, text, invalid, count);
+            }
+        }
+
+        private void recheck(CharSequence text, int start, int end) {
+            int[] found = null;
+            int foundCount = 0;
+            for (int i = start; i < end; i++) {
+                if (isInvalidAt(text, i)) {
+                    if (found == null) {
+                        found = new int[Math.min(16, end - i)];
+                    } else if (foundCount == found.length) {
+                        found = Arrays.copyOf(found, foundCount * 2);
+                    }
+                    found[foundCount++] = i;
+                }
+            }
+            splice(lowerBound(start), lowerBound(end), found, foundCount);
+        }
+
+        /**
+         * Index of the first offset which is at least the passed one.
+         */
+        private int lowerBound(int offset) {
+            int result = Arrays.binarySearch(invalid, 0, count, offset);
+            return result < 0 ? -result - 1 : result;
+        }
+
+        private void shift(int from, int by) {
+            for (int i = from; i < count; i++) {
+                invalid[i] += by;
+            }
+        }
+
+        /**
+         * Replace the offsets from index from (inclusive) to index to
+         * (exclusive) with the passed ones.
+         */
+        private void splice(int from, int to, int[] replacement, int replacementCount) {
+            int newCount = count - (to - from) + replacementCount;
+            if (newCount > invalid.length) {
+                invalid = Arrays.copyOf(invalid, Math.max(newCount, invalid.length * 2));
+            }
+            System.arraycopy(invalid, to, invalid, from + replacementCount, count - to);
+            if (replacementCount > 0) {
+                System.arraycopy(replacement, 0, invalid, from, replacementCount);
+            }
+            count = newCount;
+        }
+    }
+}
@@ -19,7 +19,6 @@ import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -32,11 +31,11 @@ final class CharsetValidator extends StringValidator {
         try {
             Charset.forName(model);
         } catch (IllegalCharsetNameException badName) {
-            problems.append (LocalizationSupport.getMessage(CharsetValidator.class,
-                    "ILLEGAL_CHARSET_NAME", compName, model)); //NOI18N
+            problems.append(CharsetValidator.class,
+                    "ILLEGAL_CHARSET_NAME", compName, model); //NOI18N
         } catch (UnsupportedCharsetException unsup) {
-            problems.append (LocalizationSupport.getMessage(CharsetValidator.class,
-                    "UNSUPPORTED_CHARSET_NAME", compName, model)); //NOI18N
+            problems.append(CharsetValidator.class,
+                    "UNSUPPORTED_CHARSET_NAME", compName, model); //NOI18N
         }
     }
 
@@ -16,15 +16,14 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class DisallowCharactersValidator extends StringValidator {
+final class DisallowCharactersValidator extends CharacterValidator {
 
-    private char[] chars;
+    private final char[] chars;
 
     public DisallowCharactersValidator(char[] chars) {
         this.chars = new char[chars.length];
@@ -36,15 +35,44 @@ final class DisallowCharactersValidator extends StringValidator {
     }
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         for (char c : chars) {
-            for (char cc : model.toCharArray()) {
-                if (cc == c) {
-                    problems.append(LocalizationSupport.getMessage(DisallowCharactersValidator.class,
-                            "DISALLOWED_CHARS", asString(), compName)); //NOI18N
-                    return;
-                }
+            if (contains(model, c)) {
+                problems.append(DisallowCharactersValidator.class,
+                        "DISALLOWED_CHARS", asString(), compName); //NOI18N
+                return;
             }
         }
     }
+
+    @Override
+    boolean isInvalidAt(CharSequence text, int index) {
+        char c = text.charAt(index);
+        for (char disallowed : chars) {
+            if (c == disallowed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    void report(Problems problems, String compName, CharSequence text, int[] invalid, int count) {
+        problems.append(DisallowCharactersValidator.class,
+                "DISALLOWED_CHARS", asString(), compName); //NOI18N
+    }
+
+    private static boolean contains(CharSequence model, char c) {
+        for (int i = 0; i < model.length(); i++) {
+            if (model.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
 }
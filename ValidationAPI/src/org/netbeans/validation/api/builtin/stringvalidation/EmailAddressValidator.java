@@ -17,10 +17,10 @@ package org.netbeans.validation.api.builtin.stringvalidation;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.netbeans.validation.api.Problem;
 import org.netbeans.validation.api.Problems;
 import org.netbeans.validation.api.Severity;
 import org.netbeans.validation.api.Validator;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -48,34 +48,34 @@ class EmailAddressValidator extends StringValidator {
         }
         String[] nameAndHost = address.split("@");
         if (nameAndHost.length == 0) {
-            problems.append (LocalizationSupport.getMessage(EmailAddressValidator.class,
-                    "NO_AT_SYMBOL", compName, address));
+            problems.append(EmailAddressValidator.class,
+                    "NO_AT_SYMBOL", compName, address);
             return;
         }        
         if (nameAndHost.length == 1 && nameAndHost[0].contains("@")) {
-            problems.append(LocalizationSupport.getMessage(EmailAddressValidator.class,
-                    "EMAIL_MISSING_HOST", compName, nameAndHost[0]));
+            problems.append(EmailAddressValidator.class,
+                    "EMAIL_MISSING_HOST", compName, nameAndHost[0]);
             return;
         }
         if (nameAndHost.length > 2) {
-            problems.append(LocalizationSupport.getMessage(EmailAddressValidator.class,
-                    "EMAIL_HAS_>1_@", compName, address));
+            problems.append(EmailAddressValidator.class,
+                    "EMAIL_HAS_>1_@", compName, address);
             return;
         }
         String name = nameAndHost[0];
         if (name.length() == 0) {
-            problems.append(LocalizationSupport.getMessage(EmailAddressValidator.class,
-                    "EMAIL_MISSING_NAME", compName, name));
+            problems.append(EmailAddressValidator.class,
+                    "EMAIL_MISSING_NAME", compName, name);
             return;
         }
         if (name.length() > 64) {
-            problems.append(LocalizationSupport.getMessage(EmailAddressValidator.class,
-                    "ADDRESS_MAY_BE_TOO_LONG", compName, name), Severity.WARNING);
+            problems.append(new Problem(EmailAddressValidator.class,
+                    "ADDRESS_MAY_BE_TOO_LONG", Severity.WARNING, compName, name));
         }
         String host = nameAndHost.length >= 2 ? nameAndHost[1] : null;
         if(host == null) {
-            problems.append(LocalizationSupport.getMessage(EmailAddressValidator.class,
-                    "EMAIL_MISSING_HOST", compName, nameAndHost[0]));
+            problems.append(EmailAddressValidator.class,
+                    "EMAIL_MISSING_HOST", compName, nameAndHost[0]);
             return;
         }
         hv.validate(problems, compName, host);
@@ -16,18 +16,16 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 /**
  *
  * @author Tim Boudreau
  */
-final class EmptyStringIllegalValidator extends StringValidator {
+final class EmptyStringIllegalValidator extends TextValidator {
     @Override
-    public void validate(Problems problems, String compName, String model) {
-        if (model.isEmpty()) {
-            String message = LocalizationSupport.getMessage(EmptyStringIllegalValidator.class,
+    void check(Problems problems, String compName, CharSequence model) {
+        if (model.length() == 0) {
+            problems.append(EmptyStringIllegalValidator.class,
                 "MSG_MAY_NOT_BE_EMPTY", compName); //NOI18N
-            problems.append (message);
         }
     }
 }
@@ -15,50 +15,121 @@
  */
 package org.netbeans.validation.api.builtin.stringvalidation;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class EncodableInCharsetValidator extends StringValidator {
+final class EncodableInCharsetValidator extends CharacterValidator {
 
     private final String charsetName;
+    private final Charset charset;
+    // True if every 7-bit ASCII character can be encoded, as is the case for
+    // nearly every charset in use, so those need not go through the encoder
+    private final boolean asciiEncodable;
+    // CharsetEncoders are stateful, and validators are shared between threads
+    private final ThreadLocal<CharsetEncoder> encoder = new ThreadLocal<CharsetEncoder>() {
+        @Override
+        protected CharsetEncoder initialValue() {
+            return charset.newEncoder();
+        }
+    };
 
     EncodableInCharsetValidator(String charsetName) {
-        this.charsetName = charsetName;
         //Be fail-fast with respect to exceptions
-        Charset.forName(charsetName);
+        this(Charset.forName(charsetName), charsetName);
     }
 
     EncodableInCharsetValidator() {
-        this(Charset.defaultCharset().name());
+        this(Charset.defaultCharset(), Charset.defaultCharset().name());
+    }
+
+    private EncodableInCharsetValidator(Charset charset, String charsetName) {
+        if (!charset.canEncode()) {
+            throw new IllegalArgumentException("Charset " + charset.name() //NOI18N
+                    + " does not support encoding"); //NOI18N
+        }
+        this.charset = charset;
+        this.charsetName = charsetName;
+        StringBuilder ascii = new StringBuilder(128);
+        for (char c = 0; c < 128; c++) {
+            ascii.append(c);
+        }
+        asciiEncodable = charset.newEncoder().canEncode(ascii);
     }
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
-        char[] c = model.toCharArray();
-        boolean result = true;
-        String curr;
-        for (int i = 0; i < c.length; i++) {
-            curr = new String(new char[]{c[i]});
-            try {
-                String nue = new String(curr.getBytes(charsetName));
-                result = c[i] == nue.charAt(0);
-                if (!result) {
-                    problems.append(LocalizationSupport.getMessage(
-                            EncodableInCharsetValidator.class,
-                            "INVALID_CHARACTER", compName, curr, charsetName)); //NOI18N
-                    break;
-                }
-            } catch (UnsupportedEncodingException ex) {
-                //Already tested in constructor
-                throw new AssertionError(ex);
+    void check(Problems problems, String compName, CharSequence model) {
+        int len = model.length();
+        int i = 0;
+        if (asciiEncodable) {
+            while (i < len && model.charAt(i) < 128) {
+                i++;
+            }
+            if (i == len) {
+                return;
+            }
+        }
+        CharsetEncoder enc = encoder.get();
+        for (; i < len; i++) {
+            char c = model.charAt(i);
+            if (c < 128 && asciiEncodable) {
+                continue;
+            }
+            boolean pair = Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(model.charAt(i + 1));
+            boolean result = pair ? enc.canEncode(CharBuffer.wrap(model, i, i + 2))
+                    : enc.canEncode(c);
+            if (!result) {
+                problems.append(
+                        EncodableInCharsetValidator.class,
+                        "INVALID_CHARACTER", compName, //NOI18N
+                        model.subSequence(i, pair ? i + 2 : i + 1).toString(), charsetName);
+                break;
+            }
+            if (pair) {
+                i++;
             }
         }
     }
-}
 
+    @Override
+    boolean isInvalidAt(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < 128 && asciiEncodable) {
+            return false;
+        }
+        if (Character.isLowSurrogate(c) && index > 0
+                && Character.isHighSurrogate(text.charAt(index - 1))) {
+            // Checked as part of the pair starting before it
+            return false;
+        }
+        CharsetEncoder enc = encoder.get();
+        if (Character.isHighSurrogate(c) && index + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(index + 1))) {
+            return !enc.canEncode(CharBuffer.wrap(text, index, index + 2));
+        }
+        return !enc.canEncode(c);
+    }
+
+    @Override
+    void report(Problems problems, String compName, CharSequence text, int[] invalid, int count) {
+        // check() stops at the first
+        int i = invalid[0];
+        boolean pair = Character.isHighSurrogate(text.charAt(i)) && i + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(i + 1));
+        problems.append(
+                EncodableInCharsetValidator.class,
+                "INVALID_CHARACTER", compName, //NOI18N
+                text.subSequence(i, pair ? i + 2 : i + 1).toString(), charsetName);
+    }
+
+    @Override
+    public int cost() {
+        return COST_EXPENSIVE;
+    }
+}
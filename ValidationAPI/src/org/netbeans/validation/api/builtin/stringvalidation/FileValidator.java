@@ -16,9 +16,9 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import java.io.File;
+import org.netbeans.validation.api.Problem;
 import org.netbeans.validation.api.Problems;
 import org.netbeans.validation.api.Severity;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -56,9 +56,8 @@ final class FileValidator extends StringValidator {
                 throw new AssertionError();
         }
         if (!ok) {
-            String problem = LocalizationSupport.getMessage(FileValidator.class, key,
-                    file.getName());
-            problems.append(problem, Severity.FATAL);
+            problems.append(new Problem(FileValidator.class, key, Severity.FATAL,
+                    file.getName()));
         }
     }
     
@@ -18,26 +18,37 @@ package org.netbeans.validation.api.builtin.stringvalidation;
 import java.text.Format;
 import java.text.ParseException;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
 final class FormatValidator extends StringValidator {
-    private final Format fmt;
-    FormatValidator(Format fmt) {
-        this.fmt = fmt;
+    // Formats keep parse state and are not thread-safe, so each thread
+    // parses with its own copy of the one passed in
+    private final ThreadLocal<Format> fmt;
+    FormatValidator(final Format fmt) {
+        final Format copy = (Format) fmt.clone();
+        this.fmt = new ThreadLocal<Format>() {
+            @Override
+            protected Format initialValue() {
+                return (Format) copy.clone();
+            }
+        };
     }
 
     @Override
     public void validate(Problems problems, String compName, String model) {
         try {
-            fmt.parseObject(model);
+            fmt.get().parseObject(model);
         } catch (ParseException ex) {
-            problems.append(LocalizationSupport.getMessage(FormatValidator.class,
-                    "MSG_DOES_NOT_MATCH_NUMBER_FORMAT", compName, model)); //NOI18N
+            problems.append(FormatValidator.class,
+                    "MSG_DOES_NOT_MATCH_NUMBER_FORMAT", compName, model); //NOI18N
         }
     }
 
+    @Override
+    public int cost() {
+        return COST_EXPENSIVE;
+    }
 }
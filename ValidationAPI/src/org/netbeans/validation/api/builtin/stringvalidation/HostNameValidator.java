@@ -15,180 +15,196 @@
  */
 package org.netbeans.validation.api.builtin.stringvalidation;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
+import org.netbeans.validation.api.Severity;
+import org.netbeans.validation.api.Validator;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class HostNameValidator extends StringValidator {
+final class HostNameValidator extends TextValidator {
 
-    private static final Pattern IPV6_REGEX = Pattern.compile("(([0-9a-fA-F]{1,4}:){7,7}[0-9a-fA-F]{1,4}|([0-9a-fA-F]{1,4}:){1,7}:|([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|([0-9a-fA-F]{1,4}:){1,4}(:[0-9a-fA-F]{1,4}){1,3}|([0-9a-fA-F]{1,4}:){1,3}(:[0-9a-fA-F]{1,4}){1,4}|([0-9a-fA-F]{1,4}:){1,2}(:[0-9a-fA-F]{1,4}){1,5}|[0-9a-fA-F]{1,4}:((:[0-9a-fA-F]{1,4}){1,6})|:((:[0-9a-fA-F]{1,4}){1,7}|:)|fe80:(:[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]{1,}|::(ffff(:0{1,4}){0,1}:){0,1}((25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}(25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9])|([0-9a-fA-F]{1,4}:){1,4}:((25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}(25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9]))");
-    private static final Pattern IPV6_REGEX_WITH_PORT = Pattern.compile("^\\[(([0-9a-fA-F]{1,4}:){7,7}[0-9a-fA-F]{1,4}|([0-9a-fA-F]{1,4}:){1,7}:|([0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}|([0-9a-fA-F]{1,4}:){1,5}(:[0-9a-fA-F]{1,4}){1,2}|([0-9a-fA-F]{1,4}:){1,4}(:[0-9a-fA-F]{1,4}){1,3}|([0-9a-fA-F]{1,4}:){1,3}(:[0-9a-fA-F]{1,4}){1,4}|([0-9a-fA-F]{1,4}:){1,2}(:[0-9a-fA-F]{1,4}){1,5}|[0-9a-fA-F]{1,4}:((:[0-9a-fA-F]{1,4}){1,6})|:((:[0-9a-fA-F]{1,4}){1,7}|:)|fe80:(:[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]{1,}|::(ffff(:0{1,4}){0,1}:){0,1}((25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}(25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9])|([0-9a-fA-F]{1,4}:){1,4}:((25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}(25[0-5]|(2[0-4]|1{0,1}[0-9]){0,1}[0-9]))\\]:\\d+");
-    private static final Pattern IP_V6_HOST_AND_PORT = Pattern.compile("^\\[([0-9A-Za-z\\:]*)\\]\\:(\\d+)$");
     private final boolean allowPort;
 
     HostNameValidator(boolean allowPort) {
         this.allowPort = allowPort;
     }
     
-    static boolean isIpV6(String model) {
-        return IPV6_REGEX.matcher(model).matches() || IPV6_REGEX_WITH_PORT.matcher(model).matches();
-    }
-
-    private void validateIpV6(Problems problems, String compName, String model) {
-        //hmm, anything the regex won't check?
+    static boolean isIpV6(CharSequence model) {
+        return AddressScanning.isIpV6(model);
     }
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         if (model == null) {
             return;
         }
-        if (IPV6_REGEX.matcher(model).matches()) {
-            validateIpV6(problems, compName, model);
+        // The string is scanned in place rather than split, so that nothing
+        // is allocated unless there is a problem to report
+        int len = model.length();
+        if (AddressScanning.isIpV6(model, 0, len)) {
             return;
-        } else if (allowPort && !model.isEmpty() && (model.charAt(0) == '[' && IPV6_REGEX_WITH_PORT.matcher(model).matches())) {
-            Matcher m = IP_V6_HOST_AND_PORT.matcher(model);
-            if (m.find()) {
-                String actualHost = m.group(1);
-                String actualPort = m.group(2);
-                validateIpV6(problems, compName, actualHost);
-                try {
-                    int port = Integer.parseInt(actualPort);
-                    if (port < 0) {
-                        problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                                "NEGATIVE_PORT", port)); //NOI18N
-                        return;
-                    } else if (port >= 65536) {
-                        problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                                "PORT_TOO_HIGH", port)); //NOI18N
-                        return;
-                    }
-                } catch (NumberFormatException e) {
-                    problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                            "INVALID_PORT", compName, actualPort)); //NOI18N
+        } else if (allowPort) {
+            int close = AddressScanning.bracketedIpV6End(model);
+            if (close > 0) {
+                long port = AddressScanning.parseInt(model, close + 2, len);
+                if (port == AddressScanning.NOT_AN_INT) {
+                    problems.append(HostNameValidator.class,
+                            "INVALID_PORT", compName, model.subSequence(close + 2, len).toString()); //NOI18N
+                } else if (port >= 65536) {
+                    problems.append(HostNameValidator.class,
+                            "PORT_TOO_HIGH", (int) port); //NOI18N
                 }
                 return;
             }
         }
-        if (model.length() == 0) {
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "INVALID_HOST_NAME", compName, model)); //NOI18N
+        if (len == 0) {
+            problems.append(HostNameValidator.class,
+                    "INVALID_HOST_NAME", compName, model.toString()); //NOI18N
             return;
         }
-        if (model.startsWith(".") || model.endsWith(".")) { //NOI18N
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "HOST_STARTS_OR_ENDS_WITH_PERIOD", model)); //NOI18N
+        if (model.charAt(0) == '.' || model.charAt(len - 1) == '.') { //NOI18N
+            problems.append(HostNameValidator.class,
+                    "HOST_STARTS_OR_ENDS_WITH_PERIOD", model.toString()); //NOI18N
             return;
         }
-        String[] parts = model.split("\\.");
         /*
         // This test is from an ancient RFC that applied when this library
         // was written but does not anymore
         if (parts.length > 4) {
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "TOO_MANY_LABELS", model)); //NOI18N
+            problems.append(HostNameValidator.class,
+                    "TOO_MANY_LABELS", model.toString()); //NOI18N
             return;
         }
         */
-        if (!allowPort && model.contains(":")) { //NOI18N
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "MSG_PORT_NOT_ALLOWED", compName, model)); //NOI18N
+        if (!allowPort && AddressScanning.indexOf(model, ':', 0, len) >= 0) { //NOI18N
+            problems.append(HostNameValidator.class,
+                    "MSG_PORT_NOT_ALLOWED", compName, model.toString()); //NOI18N
             return;
         }
-        StringValidators.NO_WHITESPACE.validate(problems, compName, model);
-        if (model.endsWith("-") || model.startsWith("-")) {
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "INVALID_HOST_NAME", compName, model)); //NOI18N
+        CharSequenceValidators.NO_WHITESPACE.validate(problems, compName, model);
+        if (model.charAt(0) == '-' || model.charAt(len - 1) == '-') { //NOI18N
+            problems.append(HostNameValidator.class,
+                    "INVALID_HOST_NAME", compName, model.toString()); //NOI18N
             return;
         }
-        boolean[] numbers = new boolean[parts.length];
-        for (int i = 0; i < parts.length; i++) {
-            String label = parts[i];
-            if (label.length() > 63) {
-                problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                        "LABEL_TOO_LONG", label)); //NOI18N
+        int labelStart = 0;
+        boolean lastIsNumber = false;
+        while (labelStart <= len) {
+            int labelEnd = AddressScanning.indexOf(model, '.', labelStart, len); //NOI18N
+            boolean last = labelEnd < 0;
+            if (last) {
+                labelEnd = len;
+            }
+            if (labelEnd - labelStart > 63) {
+                problems.append(HostNameValidator.class,
+                        "LABEL_TOO_LONG", model.subSequence(labelStart, labelEnd).toString()); //NOI18N
                 return;
             }
-            if (i == parts.length - 1 && label.indexOf(":") > 0) {
-                String[] labelAndPort = label.split(":");
-                if (labelAndPort.length > 2) {
-                    problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                            "INVALID_PORT", compName, label)); //NOI18N
-                    return;
-                }
-                if (labelAndPort.length == 1) {
-                    problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                            "INVALID_PORT", compName, "''")); //NOI18N
-                    return;
-                }
-                if (label.endsWith(":")) {
-                    problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                            "TOO_MANY_COLONS", compName, label)); //NOI18N
+            int colon = last ? AddressScanning.indexOf(model, ':', labelStart, labelEnd) : -1; //NOI18N
+            if (colon > labelStart) {
+                if (!checkPort(problems, compName, model, labelStart, colon, labelEnd)) {
                     return;
                 }
-                try {
-                    int port = Integer.parseInt(labelAndPort[1]);
-                    if (port < 0) {
-                        problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                                "NEGATIVE_PORT", port)); //NOI18N
-                        return;
-                    } else if (port >= 65536) {
-                        problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                                "PORT_TOO_HIGH", port)); //NOI18N
-                        return;
-                    }
-                } catch (NumberFormatException e) {
-                    problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                            "INVALID_PORT", compName, labelAndPort[1])); //NOI18N
-                    return;
-                }
-                if (!checkHostPart(labelAndPort[0], problems, compName, i, numbers)) {
+                int result = checkHostPart(model, labelStart, colon, problems, compName);
+                if (result == LABEL_INVALID) {
                     return;
                 }
+                lastIsNumber = result == LABEL_NUMBER;
             } else {
-                checkHostPart(label, problems, compName, i, numbers);
+                lastIsNumber = checkHostPart(model, labelStart, labelEnd, problems, compName) == LABEL_NUMBER;
             }
-        } // for
-        if (numbers[numbers.length - 1]) {
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "NUMBER_PART_IN_HOSTNAME", parts[numbers.length - 1])); //NOI18N
+            labelStart = labelEnd + 1;
+        }
+        if (lastIsNumber) {
+            problems.append(HostNameValidator.class,
+                    "NUMBER_PART_IN_HOSTNAME", //NOI18N
+                    model.subSequence(AddressScanning.lastIndexOf(model, '.', 0, len) + 1, len).toString()); //NOI18N
         }
     }
 
-    private static final Pattern ALL_NUMBERS = Pattern.compile("^\\d+$");
-
-    private boolean checkHostPart(String label, Problems problems, String compName, int index, boolean[] numbers) {
-        if (label.length() > 63) {
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "LABEL_TOO_LONG", label)); //NOI18N
+    /**
+     * Check the host:port label at the end of a host name.
+     *
+     * @return true if the port is valid
+     */
+    private boolean checkPort(Problems problems, String compName, CharSequence model, int labelStart, int colon, int labelEnd) {
+        // Mirrors String.split(":"), which drops trailing empty strings
+        int trimmedEnd = labelEnd;
+        while (model.charAt(trimmedEnd - 1) == ':') { //NOI18N
+            trimmedEnd--;
+        }
+        int pieces = AddressScanning.count(model, ':', labelStart, trimmedEnd) + 1; //NOI18N
+        if (pieces > 2) {
+            problems.append(HostNameValidator.class,
+                    "INVALID_PORT", compName, model.subSequence(labelStart, labelEnd).toString()); //NOI18N
             return false;
         }
-        if (label.length() == 0) {
-            problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                    "LABEL_EMPTY", compName, label)); //NOI18N
+        if (pieces == 1) {
+            problems.append(HostNameValidator.class,
+                    "INVALID_PORT", compName, "''"); //NOI18N
             return false;
         }
-        if (ALL_NUMBERS.matcher(label).matches()) {
-            numbers[index] = true;
+        if (trimmedEnd != labelEnd) {
+            problems.append(HostNameValidator.class,
+                    "TOO_MANY_COLONS", compName, model.subSequence(labelStart, labelEnd).toString()); //NOI18N
+            return false;
         }
-        Problems tmp = new Problems();
-        StringValidators.encodableInCharset("UTF-8").validate(tmp, compName, label);
-        problems.addAll(tmp);
-        if (!tmp.hasFatal()) {
-            for (char c : label.toLowerCase().toCharArray()) {
-                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9' || c == '-')) { //NOI18N
-                    continue;
-                }
-                problems.append(LocalizationSupport.getMessage(HostNameValidator.class,
-                        "BAD_CHAR_IN_HOSTNAME", new String(new char[]{c}))); //NOI18N
-                return false;
-            }
+        long port = AddressScanning.parseInt(model, colon + 1, labelEnd);
+        if (port == AddressScanning.NOT_AN_INT) {
+            problems.append(HostNameValidator.class,
+                    "INVALID_PORT", compName, model.subSequence(colon + 1, labelEnd).toString()); //NOI18N
+            return false;
+        } else if (port < 0) {
+            problems.append(HostNameValidator.class,
+                    "NEGATIVE_PORT", (int) port); //NOI18N
+            return false;
+        } else if (port >= 65536) {
+            problems.append(HostNameValidator.class,
+                    "PORT_TOO_HIGH", (int) port); //NOI18N
+            return false;
         }
         return true;
     }
+
+    private static final Validator<String> UTF_8 = new EncodableInCharsetValidator("UTF-8"); //NOI18N
+    private static final int LABEL_INVALID = 0;
+    private static final int LABEL_VALID = 1;
+    private static final int LABEL_NUMBER = 2;
+
+    private int checkHostPart(CharSequence model, int start, int end, Problems problems, String compName) {
+        if (end - start > 63) {
+            problems.append(HostNameValidator.class,
+                    "LABEL_TOO_LONG", model.subSequence(start, end).toString()); //NOI18N
+            return LABEL_INVALID;
+        }
+        if (end == start) {
+            problems.append(HostNameValidator.class,
+                    "LABEL_EMPTY", compName, ""); //NOI18N
+            return LABEL_INVALID;
+        }
+        int result = AddressScanning.isAllDigits(model, start, end) ? LABEL_NUMBER : LABEL_VALID;
+        int badChar = -1;
+        for (int i = start; i < end; i++) {
+            char c = model.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-') { //NOI18N
+                continue;
+            }
+            badChar = i;
+            break;
+        }
+        if (badChar >= 0) {
+            // Only non-ASCII labels can fail this, and they are never valid
+            int fatals = problems.count(Severity.FATAL);
+            UTF_8.validate(problems, compName, model.subSequence(start, end).toString());
+            if (problems.count(Severity.FATAL) == fatals) {
+                problems.append(HostNameValidator.class,
+                        "BAD_CHAR_IN_HOSTNAME", //NOI18N
+                        new String(Character.toChars(Character.codePointAt(model, badChar))).toLowerCase());
+                return LABEL_INVALID;
+            }
+        }
+        return result;
+    }
 }
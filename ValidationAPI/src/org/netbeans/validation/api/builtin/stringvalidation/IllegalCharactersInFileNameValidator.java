@@ -17,7 +17,6 @@ package org.netbeans.validation.api.builtin.stringvalidation;
 
 import java.io.File;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -32,8 +31,8 @@ final class IllegalCharactersInFileNameValidator extends StringValidator {
             invalid = text.contains(":");
         }
         if( invalid ) {
-            problems.append( LocalizationSupport.getMessage (IllegalCharactersInFileNameValidator.class,
-                    "ERR_INVALID_FILE_NAME", compName, text)) ; //NOI18N
+            problems.append(IllegalCharactersInFileNameValidator.class,
+                    "ERR_INVALID_FILE_NAME", compName, text) ; //NOI18N
         }
     }
 
@@ -16,110 +16,103 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class IpAddressValidator extends StringValidator {
+final class IpAddressValidator extends TextValidator {
 
     @Override
-    public void validate(Problems problems, String compName, String s) {
-        if (s.startsWith(".") || s.endsWith(".")) { //NOI18N
-            problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                    "HOST_STARTS_OR_ENDS_WITH_PERIOD", s)); //NOI18N
+    void check(Problems problems, String compName, CharSequence s) {
+        int len = s.length();
+        if (len > 0 && (s.charAt(0) == '.' || s.charAt(len - 1) == '.')) { //NOI18N
+            problems.append(IpAddressValidator.class,
+                    "HOST_STARTS_OR_ENDS_WITH_PERIOD", s.toString()); //NOI18N
             return;
         }
-        if (s.indexOf(' ') >= 0 || s.indexOf ('\t') >= 0) {
-            problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                    "IP_ADDRESS_CONTAINS_WHITESPACE", compName, s)); //NOI18N
+        if (AddressScanning.indexOf(s, ' ', 0, len) >= 0 || AddressScanning.indexOf(s, '\t', 0, len) >= 0) {
+            problems.append(IpAddressValidator.class,
+                    "IP_ADDRESS_CONTAINS_WHITESPACE", compName, s.toString()); //NOI18N
             return;
         }
-        String[] parts = s.split("\\.");
-        if (parts.length > 4) {
-            problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                    "TOO_MANY_LABELS", s)); //NOI18N
+        // The string is scanned in place rather than split, so that nothing
+        // is allocated unless there is a problem to report
+        int parts = AddressScanning.count(s, '.', 0, len) + 1; //NOI18N
+        if (parts > 4) {
+            problems.append(IpAddressValidator.class,
+                    "TOO_MANY_LABELS", s.toString()); //NOI18N
             return;
         }
-        if( parts.length < 4) {
-            problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                            "ADDR_PART_BAD", s)); //NOI18N
+        if( parts < 4) {
+            problems.append(IpAddressValidator.class,
+                            "ADDR_PART_BAD", s.toString()); //NOI18N
                     return;
         }
-        for (int i = 0; i < parts.length; i++) {
-            String part = parts[i];
-            if (i == parts.length - 1 && part.indexOf(':') > 0) { //NOI18N
-                if (part.endsWith(":")) {
-                    problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                            "TOO_MANY_COLONS", compName, s)); //NOI18N
+        int partStart = 0;
+        for (int i = 0; i < parts; i++) {
+            int partEnd = i == parts - 1 ? len : AddressScanning.indexOf(s, '.', partStart, len); //NOI18N
+            int colon = i == parts - 1 ? AddressScanning.indexOf(s, ':', partStart, partEnd) : -1; //NOI18N
+            if (colon > partStart) {
+                if (s.charAt(partEnd - 1) == ':') { //NOI18N
+                    problems.append(IpAddressValidator.class,
+                            "TOO_MANY_COLONS", compName, s.toString()); //NOI18N
                     return;
                 }
-                String[] pts = part.split(":"); //NOI18N
-                try {
-                    int addr = Integer.parseInt(pts[0]);
-                    if (addr < 0) {
-                        problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                "ADDR_PART_NEGATIVE", pts[1])); //NOI18N
-                        return;
-                    }
-                    if (addr > 255) {
-                        problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                "ADDR_PART_HIGH", pts[1])); //NOI18N
-                        return;
-                    }
-                } catch (NumberFormatException e) {
-                    problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                            "ADDR_PART_BAD", pts.length >= 2 ? pts[1] : "''")); //NOI18N
+                // The text between the first colon and the next one, if any
+                int portEnd = AddressScanning.indexOf(s, ':', colon + 1, partEnd); //NOI18N
+                if (portEnd < 0) {
+                    portEnd = partEnd;
+                }
+                long addr = AddressScanning.parseInt(s, partStart, colon);
+                if (addr == AddressScanning.NOT_AN_INT) {
+                    problems.append(IpAddressValidator.class,
+                            "ADDR_PART_BAD", s.subSequence(partStart, colon).toString()); //NOI18N
                     return;
                 }
-                if (pts.length == 2 && pts[1].length() == 0) {
-                    problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                            "INVALID_PORT", compName, "")); //NOI18N
+                if (addr < 0) {
+                    problems.append(IpAddressValidator.class,
+                            "ADDR_PART_NEGATIVE", s.subSequence(partStart, colon).toString()); //NOI18N
                     return;
                 }
-                if (pts.length == 1 ) {
-                    problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                            "INVALID_PORT", compName, "")); //NOI18N
+                if (addr > 255) {
+                    problems.append(IpAddressValidator.class,
+                            "ADDR_PART_HIGH", s.subSequence(partStart, colon).toString()); //NOI18N
                     return;
                 }
-                if (pts.length > 1) {
-                    try {
-                        int port = Integer.parseInt(pts[1]);
-                        if (port < 0) {
-                            problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                    "NEGATIVE_PORT", pts[1])); //NOI18N
-                            return;
-                        } else if (port >= 65536) {
-                            problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                    "PORT_TOO_HIGH", pts[1])); //NOI18N
-                            return;
-                        }
-                    } catch (NumberFormatException e) {
-                        problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                "INVALID_PORT", compName, pts[1])); //NOI18N
-                        return;
-                    }
+                long port = AddressScanning.parseInt(s, colon + 1, portEnd);
+                if (port == AddressScanning.NOT_AN_INT) {
+                    problems.append(IpAddressValidator.class,
+                            "INVALID_PORT", compName, s.subSequence(colon + 1, portEnd).toString()); //NOI18N
+                    return;
+                } else if (port < 0) {
+                    problems.append(IpAddressValidator.class,
+                            "NEGATIVE_PORT", s.subSequence(colon + 1, portEnd).toString()); //NOI18N
+                    return;
+                } else if (port >= 65536) {
+                    problems.append(IpAddressValidator.class,
+                            "PORT_TOO_HIGH", s.subSequence(colon + 1, portEnd).toString()); //NOI18N
+                    return;
                 }
             } else {
-                try {
-                    int addr = Integer.parseInt(part);
-                    if (addr < 0) {
-                        problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                "ADDR_PART_NEGATIVE", part)); //NOI18N
-                        return;
-                    }
-                    if (addr > 255) {
-                        problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                                "ADDR_PART_HIGH", part)); //NOI18N
-                        return;
-                    }
-                } catch (NumberFormatException e) {
-                    problems.append(LocalizationSupport.getMessage(IpAddressValidator.class,
-                            "ADDR_PART_BAD", part)); //NOI18N
+                long addr = AddressScanning.parseInt(s, partStart, partEnd);
+                if (addr == AddressScanning.NOT_AN_INT) {
+                    problems.append(IpAddressValidator.class,
+                            "ADDR_PART_BAD", s.subSequence(partStart, partEnd).toString()); //NOI18N
+                    return;
+                }
+                if (addr < 0) {
+                    problems.append(IpAddressValidator.class,
+                            "ADDR_PART_NEGATIVE", s.subSequence(partStart, partEnd).toString()); //NOI18N
+                    return;
+                }
+                if (addr > 255) {
+                    problems.append(IpAddressValidator.class,
+                            "ADDR_PART_HIGH", s.subSequence(partStart, partEnd).toString()); //NOI18N
                     return;
                 }
             }
+            partStart = partEnd + 1;
         }
     }
 }
@@ -19,13 +19,16 @@ import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Locale;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 /**
  *
  * @author Tim Boudreau
  */
 final class IsANumberValidator extends StringValidator {
-    private Locale locale;
+    private final Locale locale;
+    // NumberFormats are expensive to create and not thread-safe, so each
+    // thread keeps one, replaced if the default locale changes
+    private final ThreadLocal<NumberFormat> format = new ThreadLocal<NumberFormat>();
+    private final ThreadLocal<Locale> formatLocale = new ThreadLocal<Locale>();
 
     IsANumberValidator() {
         this (null);
@@ -38,8 +41,7 @@ final class IsANumberValidator extends StringValidator {
     @Override
     public void validate(Problems problems, String compName, String model) {
         ParsePosition p = new ParsePosition(0);
-        NumberFormat.getNumberInstance(locale == null ? Locale.getDefault() :
-            locale).parse(model, p);
+        numberFormat().parse(model, p);
         if (model.length() != p.getIndex() || p.getErrorIndex() != -1) {
             try {
                 Double.valueOf(model);
@@ -47,9 +49,20 @@ final class IsANumberValidator extends StringValidator {
                     throw new NumberFormatException();
                 }
             } catch (NumberFormatException e) {
-                problems.append(LocalizationSupport.getMessage(IsANumberValidator.class, "NOT_A_NUMBER", model, compName)); //NOI18N
+                problems.append(IsANumberValidator.class, "NOT_A_NUMBER", model, compName); //NOI18N
             }
         }
     }
 
+    private NumberFormat numberFormat() {
+        Locale l = locale == null ? Locale.getDefault() : locale;
+        NumberFormat result = format.get();
+        if (result == null || !l.equals(formatLocale.get())) {
+            result = NumberFormat.getNumberInstance(l);
+            format.set(result);
+            formatLocale.set(l);
+        }
+        return result;
+    }
+
 }
@@ -16,7 +16,6 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -29,8 +28,8 @@ final class IsAnIntegerValidator extends StringValidator {
         try {
             Integer.parseInt(model);
         } catch (NumberFormatException e) {
-            problems.append(LocalizationSupport.getMessage (IsAnIntegerValidator.class,
-                    "ERR_NOT_INTEGER", model)); //NOI18N
+            problems.append(IsAnIntegerValidator.class,
+                    "ERR_NOT_INTEGER", model); //NOI18N
         }
     }
 
@@ -16,25 +16,28 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class MaximumLength extends StringValidator {
+final class MaximumLength extends TextValidator {
     private final int len;
     MaximumLength (int len) {
         this.len = len;
     }
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         boolean result = model.length() <= len;
         if (!result) {
-            problems.append(LocalizationSupport.getMessage(MaximumLength.class,
-                    "STRING_TOO_LONG", compName, model, "" + len)); //NOI18N
+            problems.append(MaximumLength.class,
+                    "STRING_TOO_LONG", compName, model.toString(), "" + len); //NOI18N
         }
     }
 
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
 }
@@ -16,23 +16,35 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 /**
  *
  * @author Tim Boudreau
  */
-final class MayNotContainSpacesValidator extends StringValidator {
+final class MayNotContainSpacesValidator extends CharacterValidator {
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
-        char[] chars = model.toCharArray();
-        for (char c : chars) {
-            if (Character.isWhitespace(c)) {
-                problems.append(LocalizationSupport.getMessage(
+    void check(Problems problems, String compName, CharSequence model) {
+        for (int i = 0; i < model.length(); i++) {
+            if (Character.isWhitespace(model.charAt(i))) {
+                problems.append(
                         MayNotContainSpacesValidator.class,
-                        "MAY_NOT_CONTAIN_WHITESPACE", compName)); //NOI18N
+                        "MAY_NOT_CONTAIN_WHITESPACE", compName); //NOI18N
             }
         }
     }
 
+    @Override
+    boolean isInvalidAt(CharSequence text, int index) {
+        return Character.isWhitespace(text.charAt(index));
+    }
+
+    @Override
+    void report(Problems problems, String compName, CharSequence text, int[] invalid, int count) {
+        // One problem per whitespace character, as check() adds
+        for (int i = 0; i < count; i++) {
+            problems.append(
+                    MayNotContainSpacesValidator.class,
+                    "MAY_NOT_CONTAIN_WHITESPACE", compName); //NOI18N
+        }
+    }
 }
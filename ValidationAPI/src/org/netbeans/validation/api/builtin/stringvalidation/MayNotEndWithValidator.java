@@ -16,7 +16,6 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  * Does not allow a string to terminate with a particular character
@@ -32,9 +31,13 @@ final class MayNotEndWithValidator extends StringValidator {
     @Override
     public void validate(Problems problems, String compName, String model) {
         if (model != null && !model.isEmpty() && model.charAt(model.length() - 1) == c) {
-            problems.append(LocalizationSupport.getMessage(MayNotEndWithValidator.class,
-                    "MAY_NOT_END_WITH", compName, new String(new char[] { c })));
+            problems.append(MayNotEndWithValidator.class,
+                    "MAY_NOT_END_WITH", compName, new String(new char[] { c }));
         }
     }
 
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
 }
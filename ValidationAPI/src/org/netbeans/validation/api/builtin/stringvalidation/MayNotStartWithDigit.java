@@ -16,7 +16,6 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -29,8 +28,8 @@ final class MayNotStartWithDigit extends StringValidator {
         if (model.length() > 0) {
             char c = model.charAt(0);
             if (Character.isDigit(c)) {
-                problems.append(LocalizationSupport.getMessage(MayNotStartWithDigit.class,
-                        "MAY_NOT_START_WITH_DIGIT", compName)); //NOI18N
+                problems.append(MayNotStartWithDigit.class,
+                        "MAY_NOT_START_WITH_DIGIT", compName); //NOI18N
             }
         }
     }
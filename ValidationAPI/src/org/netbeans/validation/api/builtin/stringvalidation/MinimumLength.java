@@ -16,24 +16,27 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class MinimumLength extends StringValidator {
+final class MinimumLength extends TextValidator {
     private final int len;
     MinimumLength (int len) {
         this.len = len;
     }
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         if (model.length() < len) {
-            problems.append(LocalizationSupport.getMessage(MaximumLength.class,
-                    "STRING_TOO_SHORT", compName, model, "" + len)); //NOI18N
+            problems.append(MaximumLength.class,
+                    "STRING_TOO_SHORT", compName, model.toString(), "" + len); //NOI18N
         }
     }
 
+    @Override
+    public int cost() {
+        return COST_CHEAP;
+    }
 }
@@ -16,7 +16,6 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -29,10 +28,8 @@ class NonNegativeNumberValidator extends StringValidator {
         try {
             double d = Double.parseDouble(text);
             if (d < 0D) {
-                String problem = LocalizationSupport.getMessage(
-                        NonNegativeNumberValidator.class,
+                problems.append(NonNegativeNumberValidator.class,
                         "ERR_NEGATIVE_NUMBER", compName); //NOI18N
-                problems.append (problem);
             }
         } catch (NumberFormatException e) {
             //do nothing - if someone wants not-a-number validation, they should
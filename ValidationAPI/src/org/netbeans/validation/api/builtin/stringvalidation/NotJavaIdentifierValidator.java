@@ -17,31 +17,40 @@ package org.netbeans.validation.api.builtin.stringvalidation;
 
 import java.util.Arrays;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class NotJavaIdentifierValidator extends StringValidator {
+final class NotJavaIdentifierValidator extends TextValidator {
 
     @Override
-    public void validate(Problems problems, String compName, String text) {
-        if (text.trim().length() == 0) {
+    void check(Problems problems, String compName, CharSequence text) {
+        if (isBlank(text)) {
             return;
         }
         if (!isJavaIdentifier(text)) {
-            problems.append(LocalizationSupport.getMessage(NotJavaIdentifierValidator.class,
-                "ERR_JAVA_IDENTIFIER", text));
+            problems.append(NotJavaIdentifierValidator.class,
+                "ERR_JAVA_IDENTIFIER", text.toString());
         }
     }
 
-    public static final boolean isJavaIdentifier(String id) {
+    // Same test as trim().length() == 0, without the copy
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final boolean isJavaIdentifier(CharSequence id) {
         if (id == null) {
             return false;
         }
 
-        if (id.equals("")) {
+        if (id.length() == 0) {
             return false;
         }
 
@@ -55,7 +64,8 @@ final class NotJavaIdentifierValidator extends StringValidator {
             }
         }
 
-        return Arrays.binarySearch(keywords, id) < 0;
+        return id.length() > MAX_KEYWORD_LENGTH
+                || Arrays.binarySearch(keywords, id.toString()) < 0;
     }
 
     private static final String[] keywords = new String[] {
@@ -73,4 +83,6 @@ final class NotJavaIdentifierValidator extends StringValidator {
             "volatile", "while" //NOI18N
     };
 
+    private static final int MAX_KEYWORD_LENGTH = 12;
+
 }
@@ -16,15 +16,14 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
 final class NumberRange extends StringValidator {
-    private Number max;
-    private Number min;
+    private final Number max;
+    private final Number min;
     NumberRange (Number min, Number max) {
         this.min = min;
         this.max = max;
@@ -38,9 +37,9 @@ final class NumberRange extends StringValidator {
             double maxx = max.doubleValue();
             boolean result = val >= minn && val <= maxx;
             if (!result) {
-                problems.append (LocalizationSupport.getMessage(NumberRange.class,
+                problems.append(NumberRange.class,
                         "VALUE_OUT_OF_RANGE", new Object[] { //NOI18N
-                        compName, model, min, max})); 
+                        compName, model, min, max}); 
             }
         } catch (NumberFormatException e) {
             //should be handled by another validator
@@ -24,10 +24,10 @@ import org.netbeans.validation.api.Problems;
  *
  * @author Tim Boudreau
  */
-final class RegexpValidator extends StringValidator {
+final class RegexpValidator extends TextValidator {
     private final Pattern pattern;
     private final String message;
-    private boolean acceptPartialMatches;
+    private final boolean acceptPartialMatches;
     RegexpValidator(String pattern, String message, boolean acceptPartialMatches) {
         this.pattern = Pattern.compile(pattern);
         this.message = message;
@@ -35,14 +35,18 @@ final class RegexpValidator extends StringValidator {
     }
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         Matcher m = pattern.matcher(model);
         boolean result = acceptPartialMatches ? m.lookingAt() : m.matches();
         if (!result) {
             String prb = message;
-            prb = MessageFormat.format(prb, new Object[] { compName, model });
+            prb = MessageFormat.format(prb, new Object[] { compName, model.toString() });
             problems.append(prb);
         }
     }
 
+    @Override
+    public int cost() {
+        return COST_EXPENSIVE;
+    }
 }
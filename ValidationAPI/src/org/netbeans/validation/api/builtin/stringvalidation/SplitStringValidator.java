@@ -45,4 +45,9 @@ final class SplitStringValidator extends StringValidator {
     public String toString() {
         return "SplitStringValidator for " + other; //NOI18N
     }
+
+    @Override
+    public int cost() {
+        return Math.max(COST_EXPENSIVE, other.cost());
+    }
 }
@@ -31,6 +31,13 @@ import org.netbeans.validation.api.Validator;
  * Also contains static factory methods for validators which do things
  * like match regexp's and split strings and run another validator over
  * the components.
+ * <p>
+ * All of these validators, and those returned by the factory methods, are
+ * safe to use from multiple threads at once (those which wrap other
+ * validators are as thread-safe as the validators they wrap).  The
+ * <code>Format</code> passed to {@link #forFormat(java.text.Format)} is
+ * copied, so it need not be thread-safe itself, and should not be modified
+ * afterwards.
  *
  * @author Tim Boudreau
  */
@@ -148,15 +155,17 @@ public enum StringValidators implements Validator<String> {
     MAY_NOT_END_WITH_PERIOD,
     ;
 
-
+    // Built-in validators are stateless, so each constant creates its
+    // delegates once, on first use, and shares them between threads.  A race
+    // on initialization is benign - the loser's instance is simply dropped.
+    private volatile Validator<String> delegate;
+    private volatile Validator<String> trimmed;
 
     /**
-     * Get a validator of strings.
-     * @param trim If true, String.trim() is called before passing the value
-     * to the actual validator
+     * Create the validator of strings this constant delegates to.
      * @return A validator for strings
      */
-    private Validator<String> instantiate(boolean trim) {
+    private Validator<String> instantiate() {
         Validator<String> result;
         switch (this) {
             case REQUIRE_JAVA_IDENTIFIER :
@@ -212,26 +221,63 @@ public enum StringValidators implements Validator<String> {
                 break;
             case EMAIL_ADDRESS :
                 result = new EmailAddressValidator();
-                return result;
+                break;
+            case CHARACTER_SET_NAME :
+                result = new CharsetValidator();
+                break;
             case JAVA_PACKAGE_NAME :
                 result = StringValidators.splitString("\\.", StringValidators.REQUIRE_JAVA_IDENTIFIER); // NOI18N
-                return result;
+                break;
             case MAY_NOT_END_WITH_PERIOD :
                 result = new MayNotEndWithValidator('.');
-                return result;
+                break;
             default :
                 throw new AssertionError();
         }
-        if (trim) {
-            return new TrimStringValidator(result);
-        } else {
-            return result;
+        return result;
+    }
+
+    private Validator<String> delegate() {
+        Validator<String> result = delegate;
+        if (result == null) {
+            delegate = result = instantiate();
         }
+        return result;
     }
 
     @Override 
     public void validate (Problems problems, String compName, String model) {
-        instantiate(false).validate(problems, compName, model);
+        delegate().validate(problems, compName, model);
+    }
+
+    /**
+     * Cost hint for this validator, so that merged chains which run cheap
+     * checks first put simple character tests ahead of ones which parse
+     * URLs, look up character sets or touch the file system.
+     * @return The cost
+     * @since 1.15
+     */
+    @Override
+    public int cost() {
+        switch (this) {
+            case REQUIRE_NON_EMPTY_STRING :
+            case NO_WHITESPACE :
+            case MAY_NOT_START_WITH_DIGIT :
+            case MAY_NOT_END_WITH_PERIOD :
+            case REQUIRE_VALID_FILENAME :
+                return COST_CHEAP;
+            case FILE_MUST_BE_DIRECTORY :
+            case FILE_MUST_BE_FILE :
+            case FILE_MUST_EXIST :
+            case FILE_MUST_NOT_EXIST :
+            case URL_MUST_BE_VALID :
+            case EMAIL_ADDRESS :
+            case CHARACTER_SET_NAME :
+            case JAVA_PACKAGE_NAME :
+                return COST_EXPENSIVE;
+            default :
+                return COST_DEFAULT;
+        }
     }
 
     /**
@@ -243,7 +289,11 @@ public enum StringValidators implements Validator<String> {
      * that need not be an instance of the {@code StringValidators} enum
      */
     public Validator<String> trim() {
-        return instantiate(true);
+        Validator<String> result = trimmed;
+        if (result == null) {
+            trimmed = result = new TrimStringValidator(delegate());
+        }
+        return result;
     }
 
     ////////////////////////////////////////////////////////////////////////////
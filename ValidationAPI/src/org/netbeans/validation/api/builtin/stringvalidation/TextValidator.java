@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.stringvalidation;
+
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.IncrementalTextValidator;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * A string validator whose check works on any <code>CharSequence</code>,
+ * so that it can also validate text which has not been copied into a
+ * string.  Implementations must only read the sequence while validating,
+ * and pass <code>model.toString()</code> rather than the sequence itself
+ * to problem messages, since a sequence may be a view of a buffer which
+ * changes afterwards.
+ *
+ * @author Tim Boudreau
+ */
+abstract class TextValidator extends StringValidator {
+
+    abstract void check(Problems problems, String compName, CharSequence model);
+
+    @Override
+    public final void validate(Problems problems, String compName, String model) {
+        check(problems, compName, model);
+    }
+
+    /**
+     * Start tracking a text for incremental validation.  Checks which are
+     * not per-character are cheap enough, or need enough context, that the
+     * default tracker simply rechecks the whole text when asked to validate.
+     */
+    IncrementalTextValidator.Tracker track(CharSequence text) {
+        return new Recheck(this);
+    }
+
+    /**
+     * Get this validator as a validator of character sequences.
+     */
+    final IncrementalTextValidator forCharSequences() {
+        return new CharSequenceView(this);
+    }
+
+    private static final class Recheck implements IncrementalTextValidator.Tracker {
+
+        private final TextValidator validator;
+
+        Recheck(TextValidator validator) {
+            this.validator = validator;
+        }
+
+        @Override
+        public void inserted(CharSequence text, int offset, int length) {
+        }
+
+        @Override
+        public void removed(CharSequence text, int offset, int length) {
+        }
+
+        @Override
+        public void validate(Problems problems, String compName, CharSequence text) {
+            validator.check(problems, compName, text);
+        }
+    }
+
+    private static final class CharSequenceView extends AbstractValidator<CharSequence>
+            implements IncrementalTextValidator {
+
+        private final TextValidator validator;
+
+        CharSequenceView(TextValidator validator) {
+            super(CharSequence.class);
+            this.validator = validator;
+        }
+
+        @Override
+        public void validate(Problems problems, String compName, CharSequence model) {
+            validator.check(problems, compName, model);
+        }
+
+        @Override
+        public Tracker track(CharSequence text) {
+            return validator.track(text);
+        }
+
+        @Override
+        public int cost() {
+            return validator.cost();
+        }
+
+        @Override
+        public String toString() {
+            return validator.toString();
+        }
+    }
+}
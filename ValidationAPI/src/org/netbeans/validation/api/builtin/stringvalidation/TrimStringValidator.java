@@ -41,4 +41,8 @@ final class TrimStringValidator extends StringValidator {
         return "TrimStringValidator for " + other; //NOI18N
     }
 
+    @Override
+    public int cost() {
+        return other.cost();
+    }
 }
@@ -18,7 +18,6 @@ package org.netbeans.validation.api.builtin.stringvalidation;
 import java.net.MalformedURLException;
 import java.net.URL;
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
@@ -34,7 +33,7 @@ class UrlValidator extends StringValidator {
             //but the spec does
             String host = url.getHost();
             if (!"".equals(host)) { //NOI18N
-                new ValidHostNameOrIPValidator(true).validate(problems,
+                StringValidators.HOST_NAME_OR_IP_ADDRESS.validate(problems,
                         compName, host);
                 return;
             }
@@ -42,13 +41,12 @@ class UrlValidator extends StringValidator {
             if ("mailto".equals(protocol)) { //NOI18N
                 String emailAddress = url.toString().substring("mailto:".length()); //NOI18N
                 emailAddress = emailAddress == null ? "" : emailAddress;
-                new EmailAddressValidator().validate(problems, compName,
+                StringValidators.EMAIL_ADDRESS.validate(problems, compName,
                         emailAddress);
             }
         } catch (MalformedURLException e) {
-            String problem = LocalizationSupport.getMessage(UrlValidator.class,
+            problems.append(UrlValidator.class,
                     "URL_NOT_VALID", model); //NOI18N
-            problems.append(problem);
         }
     }
 
@@ -16,28 +16,28 @@
 package org.netbeans.validation.api.builtin.stringvalidation;
 
 import org.netbeans.validation.api.Problems;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  *
  * @author Tim Boudreau
  */
-final class ValidHexadecimalNumberValidator extends StringValidator {
+final class ValidHexadecimalNumberValidator extends TextValidator {
 
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         if (model.length() % 2 != 0) {
-            problems.append(LocalizationSupport.getMessage(ValidHexadecimalNumberValidator.class,
-                    "ODD_LENGTH_HEX", compName)); //NOI18N
+            problems.append(ValidHexadecimalNumberValidator.class,
+                    "ODD_LENGTH_HEX", compName); //NOI18N
             return;
         }
-        for (char c : model.toCharArray()) {
+        for (int i = 0; i < model.length(); i++) {
+            char c = model.charAt(i);
             boolean good = (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f') ||
                     (c >= '0' && c <= '9');
             if (!good) {
-                problems.append (LocalizationSupport.getMessage(ValidHexadecimalNumberValidator.class,
+                problems.append(ValidHexadecimalNumberValidator.class,
                         "INVALID_HEX", //NOI18N
-                        new String(new char[] { c }), compName));
+                        new String(new char[] { c }), compName);
                 return;
             }
         }
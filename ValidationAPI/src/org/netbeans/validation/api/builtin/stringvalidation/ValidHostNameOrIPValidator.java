@@ -15,18 +15,16 @@
  */
 package org.netbeans.validation.api.builtin.stringvalidation;
 
-import java.util.regex.Pattern;
 import org.netbeans.validation.api.Problems;
 import org.netbeans.validation.api.Validator;
-import org.netbeans.validation.localization.LocalizationSupport;
 
 /**
  * 
  * @author Tim Boudreau
  */
-final class ValidHostNameOrIPValidator extends StringValidator {
+final class ValidHostNameOrIPValidator extends TextValidator {
     private final HostNameValidator hostVal;
-    private final Validator<String> ipVal = StringValidators.IP_ADDRESS;
+    private final Validator<CharSequence> ipVal = CharSequenceValidators.IP_ADDRESS;
     ValidHostNameOrIPValidator(boolean allowPort) {
         hostVal = new HostNameValidator(allowPort);
     }
@@ -35,57 +33,70 @@ final class ValidHostNameOrIPValidator extends StringValidator {
         this(true);
     }
 
-    private static final Pattern NUMBERS = Pattern.compile("^\\d+$");
     @Override
-    public void validate(Problems problems, String compName, String model) {
+    void check(Problems problems, String compName, CharSequence model) {
         if (HostNameValidator.isIpV6(model)) {
-            new HostNameValidator(true).validate(problems, compName, model);
+            CharSequenceValidators.HOST_NAME.validate(problems, compName, model);
             return;
         }
-        String[] parts = model.split ("\\.");
         boolean hasIntParts = false;
         boolean hasNonIntParts = false;
-        if (model.indexOf(" ") > 0 || model.indexOf ("\t") > 0) {
-            problems.append (LocalizationSupport.getMessage(ValidHostNameOrIPValidator.class,
-                    "HOST_MAY_NOT_CONTAIN_WHITESPACE", compName, model)); //NOI18N
+        if (AddressScanning.indexOf(model, ' ', 0, model.length()) > 0 || AddressScanning.indexOf(model, '\t', 0, model.length()) > 0) {
+            problems.append(ValidHostNameOrIPValidator.class,
+                    "HOST_MAY_NOT_CONTAIN_WHITESPACE", compName, model.toString()); //NOI18N
             return;
         }
-        if (parts.length == 0) { //the string "."
-            problems.append (LocalizationSupport.getMessage(ValidHostNameOrIPValidator.class,
-                    "INVALID_HOST_OR_IP", compName, model)); //NOI18N
+        // Scan the parts in place, with the same results as
+        // String.split(), which drops trailing empty strings
+        int end = model.length();
+        while (end > 0 && model.charAt(end - 1) == '.') { //NOI18N
+            end--;
+        }
+        if (end == 0 && model.length() > 0) { //the string "."
+            problems.append(ValidHostNameOrIPValidator.class,
+                    "INVALID_HOST_OR_IP", compName, model.toString()); //NOI18N
             return;
         }
-        for (int i = 0; i < parts.length; i++) {
-            String s = parts[i];
-            if (i == parts.length - 1 && s.contains(":")) { //NOI18N
-                String[] partAndPort = s.split(":"); //NOI18N
-                if (partAndPort.length > 2) {
-                    problems.append (LocalizationSupport.getMessage(ValidHostNameOrIPValidator.class,
-                            "TOO_MANY_COLONS", compName, model)); //NOI18N
-                    return;
-                }
-                if (partAndPort.length == 0) { //the string ":"
-                    problems.append (LocalizationSupport.getMessage(ValidHostNameOrIPValidator.class,
-                            "INVALID_HOST_OR_IP", compName, model)); //NOI18N
-                    return;
-                }
-                s = partAndPort[0];
-                if (partAndPort.length == 2) {
-                    try {
-                        Integer.parseInt (partAndPort[1]);
-                    } catch (NumberFormatException nfe) {
-                        problems.append (LocalizationSupport.getMessage(ValidHostNameOrIPValidator.class,
-                            "INVALID_PORT", compName, partAndPort[1])); //NOI18N
+        int partStart = 0;
+        while (true) {
+            int partEnd = AddressScanning.indexOf(model, '.', partStart, end); //NOI18N
+            boolean last = partEnd < 0;
+            if (last) {
+                partEnd = end;
+                int colon = AddressScanning.indexOf(model, ':', partStart, partEnd); //NOI18N
+                if (colon >= 0) {
+                    int trimmedEnd = partEnd;
+                    while (trimmedEnd > partStart && model.charAt(trimmedEnd - 1) == ':') { //NOI18N
+                        trimmedEnd--;
+                    }
+                    if (trimmedEnd == partStart) { //the string ":"
+                        problems.append(ValidHostNameOrIPValidator.class,
+                                "INVALID_HOST_OR_IP", compName, model.toString()); //NOI18N
                         return;
                     }
+                    if (AddressScanning.count(model, ':', partStart, trimmedEnd) > 1) { //NOI18N
+                        problems.append(ValidHostNameOrIPValidator.class,
+                                "TOO_MANY_COLONS", compName, model.toString()); //NOI18N
+                        return;
+                    }
+                    if (colon < trimmedEnd && AddressScanning.parseInt(model, colon + 1, trimmedEnd) == AddressScanning.NOT_AN_INT) {
+                        problems.append(ValidHostNameOrIPValidator.class,
+                            "INVALID_PORT", compName, model.subSequence(colon + 1, trimmedEnd).toString()); //NOI18N
+                        return;
+                    }
+                    partEnd = Math.min(colon, trimmedEnd);
                 }
             }
-            boolean num = NUMBERS.matcher(s).find();
+            boolean num = AddressScanning.isAllDigits(model, partStart, partEnd);
             hasIntParts |= num;
             hasNonIntParts |= !num;
+            if (last) {
+                break;
+            }
+            partStart = partEnd + 1;
         }
         if(hasNonIntParts){
-            hostVal.validate(problems, compName, model);
+            hostVal.check(problems, compName, model);
         } else {
             assert hasIntParts;
             ipVal.validate(problems, compName, model);
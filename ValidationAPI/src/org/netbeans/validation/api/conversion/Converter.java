@@ -16,10 +16,12 @@
 package org.netbeans.validation.api.conversion;
 
 import org.netbeans.validation.api.*;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import org.netbeans.validation.api.ValidatorUtils;
 
 /**
@@ -32,7 +34,16 @@ import org.netbeans.validation.api.ValidatorUtils;
  * @author Tim Boudreau
  */
 public abstract class Converter<From,To> {
-    private static Set <Converter<?,?>> registry = new HashSet<Converter<?,?>>();
+    private static final Set <Converter<?,?>> registry = new CopyOnWriteArraySet<Converter<?,?>>();
+    // Resolved converters, keyed by from-type and then to-type, so that
+    // find() does not rescan META-INF/services on every call.  Cleared
+    // whenever a converter is registered;  generation is bumped at the same
+    // time, so a find() whose lookup raced a register() does not put back
+    // a result computed against the old registry.
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Converter<?,?>>> cache
+            = new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, Converter<?,?>>>();
+    private static final Object cacheLock = new Object();
+    private static volatile int generation;
     private final Class<From> from;
     private final Class<To> to;
     protected Converter (Class<From> from, Class<To> to) {
@@ -82,7 +93,11 @@ public abstract class Converter<From,To> {
      * @param converter
      */
     public static void register (Converter<?,?> converter) {
-        registry.add (converter);
+        synchronized (cacheLock) {
+            registry.add (converter);
+            generation++;
+            cache.clear();
+        }
     }
 
     /**
@@ -97,7 +112,31 @@ public abstract class Converter<From,To> {
      * @return An object which can take validators for type <code>From</code>
      * and produce validators for type <code>To</code>
      */
+    @SuppressWarnings("unchecked")
     public static<From, To> Converter<From, To> find (Class<From> from, Class<To> to) {
+        ConcurrentMap<Class<?>, Converter<?,?>> forFrom = cache.get(from);
+        if (forFrom != null) {
+            Converter<?,?> result = forFrom.get(to);
+            if (result != null) {
+                return (Converter<From, To>) result;
+            }
+        }
+        int gen = generation;
+        Converter<From, To> result = lookup(from, to);
+        synchronized (cacheLock) {
+            if (gen == generation) {
+                forFrom = cache.get(from);
+                if (forFrom == null) {
+                    forFrom = new ConcurrentHashMap<Class<?>, Converter<?,?>>();
+                    cache.put(from, forFrom);
+                }
+                forFrom.put(to, result);
+            }
+        }
+        return result;
+    }
+
+    private static<From, To> Converter<From, To> lookup (Class<From> from, Class<To> to) {
         Iterator<Converter> converters = ServiceLoader.load(Converter.class).iterator();
         while(converters.hasNext()) {
             Converter<?,?> c = converters.next();
@@ -152,11 +191,11 @@ public abstract class Converter<From,To> {
 
     static final class Wrap<A, B, T, R> extends Converter<A, B> {
         final Converter<T,R> other;
-        private final Exception ex;
+        private Exception ex;
         Wrap (Class<A> a, Class<B> b, Converter<T,R> other) {
             super (a,b);
             this.other = other;
-            ex = new Exception();
+            assert (ex = new Exception()) != null;
         }
 
         @Override
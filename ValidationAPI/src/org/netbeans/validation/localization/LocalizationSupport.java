@@ -15,24 +15,44 @@
  */
 package org.netbeans.validation.localization;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.text.MessageFormat;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.ResourceBundle;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Wrapper to allow reflective access to NetBeans' NbBundle API.
+ * <p/>
+ * The provider found in the default lookup is resolved once, and the
+ * default implementation keeps each message template it loads, compiled,
+ * per class, locale and key, so repeated messages cost a couple of map
+ * lookups plus the actual formatting.
  *
  * @author Tim Boudreau
  */
 public class LocalizationSupport {
 
+    private static volatile LocalizationSupport provider;
+
     public static String getMessage(Class<?> type, String key, Object... args) {
-        Iterator<LocalizationSupport> it = ServiceLoader.load(LocalizationSupport.class).iterator();
-        LocalizationSupport supp = it.hasNext() ? it.next() : getDefault();
-        return supp.getMessageSPI(type, key, args);
+        return provider().getMessageSPI(type, key, args);
+    }
+
+    private static LocalizationSupport provider() {
+        LocalizationSupport result = provider;
+        if (result == null) {
+            Iterator<LocalizationSupport> it = ServiceLoader.load(LocalizationSupport.class).iterator();
+            provider = result = it.hasNext() ? it.next() : getDefault();
+        }
+        return result;
     }
 
     protected String getMessageSPI(Class<?> type, String key, Object... args) {
@@ -50,88 +70,119 @@ public class LocalizationSupport {
     }
 
     private static String getMessageViaNbBundle(Class<?> type, String key, Object... args) {
-        if (args.length == 0) {
-            Method m = getMessageNoArgs();
-            if (m == null) {
-                return null;
-            }
-            try {
-                return (String) m.invoke(null, type, key);
-            } catch (IllegalAccessException ex) {
-                Logger.getLogger(LocalizationSupport.class.getName()).log(Level.INFO, key, ex);
-            } catch (IllegalArgumentException ex) {
-                Logger.getLogger(LocalizationSupport.class.getName()).log(Level.INFO, key, ex);
-            } catch (InvocationTargetException ex) {
-                throw new RuntimeException(ex.getCause());
+        Template template = template(type, key);
+        if (template == null) {
+            return null;
+        }
+        // Same semantics as NbBundle.getMessage(): the raw string with no
+        // arguments, MessageFormat-processed with them
+        return args.length == 0 ? template.pattern : template.format(args);
+    }
+
+    private static final ClassValue<ConcurrentMap<Locale, ConcurrentMap<String, Template>>> templates
+            = new ClassValue<ConcurrentMap<Locale, ConcurrentMap<String, Template>>>() {
+        @Override
+        protected ConcurrentMap<Locale, ConcurrentMap<String, Template>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<Locale, ConcurrentMap<String, Template>>(2);
+        }
+    };
+
+    private static Template template(Class<?> type, String key) {
+        ConcurrentMap<Locale, ConcurrentMap<String, Template>> byLocale = templates.get(type);
+        Locale locale = Locale.getDefault();
+        ConcurrentMap<String, Template> byKey = byLocale.get(locale);
+        if (byKey == null) {
+            byKey = new ConcurrentHashMap<String, Template>();
+            ConcurrentMap<String, Template> old = byLocale.putIfAbsent(locale, byKey);
+            if (old != null) {
+                byKey = old;
             }
-        } else {
-            Method m = getMessageWithArgs();
-            if (m == null) {
+        }
+        Template result = byKey.get(key);
+        if (result == null) {
+            ResourceBundle bundle = bundleFor(type);
+            if (bundle == null) {
                 return null;
             }
-            try {
-                return (String) m.invoke(null, type, key, args);
-            } catch (IllegalAccessException ex) {
-                Logger.getLogger(LocalizationSupport.class.getName()).log(Level.INFO, key, ex);
-            } catch (IllegalArgumentException ex) {
-                Logger.getLogger(LocalizationSupport.class.getName()).log(Level.INFO, key, ex);
-            } catch (InvocationTargetException ex) {
-                throw new RuntimeException(ex.getCause());
-            }
+            // Throws MissingResourceException for unknown keys, as
+            // NbBundle.getMessage() does
+            result = new Template(bundle.getString(key));
+            byKey.putIfAbsent(key, result);
         }
-        return null;
+        return result;
     }
 
-    private static Method getMessageNoArgs() {
-        if (noArgsMethod != null) {
-            return noArgsMethod;
-        }
-        Class<?> nbb = nbBundleType();
-        if (nbb == null) {
+    private static ResourceBundle bundleFor(Class<?> type) {
+        MethodHandle getBundle = getBundleMethod();
+        if (getBundle == null) {
             return null;
         }
         try {
-            noArgsMethod = nbb.getMethod("getMessage", Class.class, String.class);
-        } catch (NoSuchMethodException ex) {
-            return null;
-        } catch (SecurityException ex) {
-            return null;
+            return (ResourceBundle) getBundle.invokeExact(type);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Error err) {
+            throw err;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
         }
-        return noArgsMethod;
     }
 
-    private static Method getMessageWithArgs() {
-        if (withArgsMethod != null) {
-            return withArgsMethod;
-        }
-        Class<?> nbb = nbBundleType();
-        if (nbb == null) {
-            return null;
+    /**
+     * A bundle string plus, once it has been used with arguments, its
+     * compiled MessageFormat.
+     */
+    private static final class Template {
+        private final String pattern;
+        private MessageFormat format;
+
+        Template(String pattern) {
+            this.pattern = pattern;
         }
-        try {
-            withArgsMethod = nbb.getMethod("getMessage", Class.class, String.class, Object[].class);
-        } catch (NoSuchMethodException ex) {
-            // do nothing
-        } catch (SecurityException ex) {
-            // do nothing
+
+        synchronized String format(Object[] args) {
+            // MessageFormat is not thread-safe, so formatting is serialized
+            // per template
+            if (format == null) {
+                format = new MessageFormat(pattern);
+            }
+            return format.format(args);
         }
-        return withArgsMethod;
     }
 
-    private static Method withArgsMethod;
-    private static Method noArgsMethod;
-    private static boolean checked = false;
-    private static Class<?> nbBundle;
+    private static MethodHandle getBundleMethod() {
+        return NbBundleHolder.GET_BUNDLE;
+    }
 
     static Class<?> nbBundleType() {
-        if (nbBundle == null && !checked) {
-            checked = true;
+        return NbBundleHolder.TYPE;
+    }
+
+    /**
+     * Resolves NbBundle and its getBundle() method together, once, on first
+     * use;  class initialization guarantees every thread sees the finished
+     * result.
+     */
+    private static final class NbBundleHolder {
+        static final Class<?> TYPE;
+        static final MethodHandle GET_BUNDLE;
+
+        static {
+            Class<?> type = null;
+            MethodHandle getBundle = null;
             try {
-                nbBundle = Class.forName("org.openide.util.NbBundle");
+                type = Class.forName("org.openide.util.NbBundle"); //NOI18N
+                getBundle = MethodHandles.publicLookup().findStatic(type, "getBundle", //NOI18N
+                        MethodType.methodType(ResourceBundle.class, Class.class));
             } catch (ClassNotFoundException ex) {
                 // do nothing
+            } catch (NoSuchMethodException ex) {
+                Logger.getLogger(LocalizationSupport.class.getName()).log(Level.INFO, null, ex);
+            } catch (IllegalAccessException ex) {
+                Logger.getLogger(LocalizationSupport.class.getName()).log(Level.INFO, null, ex);
             }
+            TYPE = type;
+            GET_BUNDLE = getBundle;
         }
-        return nbBundle;
     }
 }
@@ -82,4 +82,44 @@ public class ProblemTest {
         alsoClean.append("fatal");
         assertTrue(alsoClean.hasFatal());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLocalizedProblem() {
+        Problem a = new Problem(Problems.class, "CONCAT_PROBLEMS", Severity.WARNING, "x", "y");
+        Problem b = new Problem(Problems.class, "CONCAT_PROBLEMS", Severity.WARNING, "x", "y");
+        Problem c = new Problem(Problems.class, "CONCAT_PROBLEMS", Severity.WARNING, "x", "z");
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.equals(c));
+        assertFalse(a.equals(new Problem(Problems.class, "CONCAT_PROBLEMS", Severity.FATAL, "x", "y")));
+
+        String msg = a.getMessage();
+        assertNotNull(msg);
+        assertTrue(msg, msg.contains("x") && msg.contains("y"));
+        assertSame(msg, a.getMessage());
+        assertFalse(a.equals(new Problem(msg, Severity.WARNING)));
+        assertFalse(new Problem(msg, Severity.WARNING).equals(a));
+
+        Problems ps = new Problems().append(Problems.class, "CONCAT_PROBLEMS", "x", "y");
+        assertTrue(ps.hasFatal());
+        assertEquals(msg, ps.getLeadProblem().getMessage());
+    }
+
+    @Test
+    public void testLocalizedProblemCopiesArguments() {
+        StringBuilder arg = new StringBuilder("x");
+        Object[] args = new Object[] {arg, 3};
+        Problem a = new Problem(Problems.class, "CONCAT_PROBLEMS", Severity.WARNING, args);
+        arg.append("changed");
+        args[1] = 4;
+        assertEquals(new Problem(Problems.class, "CONCAT_PROBLEMS", Severity.WARNING, "x", 3), a);
+        String msg = a.getMessage();
+        assertTrue(msg, msg.contains("x") && msg.contains("3") && !msg.contains("changed"));
+    }
+
+    @Test
+    public void testMissingKeyFallsBackToKey() {
+        Problem p = new Problem(Problems.class, "NO_SUCH_KEY", Severity.WARNING, "x");
+        assertEquals("NO_SUCH_KEY", p.getMessage());
+    }
+}
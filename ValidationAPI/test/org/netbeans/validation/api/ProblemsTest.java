@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api;
+
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ProblemsTest {
+
+    @Test
+    public void testLeadProblemIsFirstOfHighestSeverity() {
+        Problem info = new Problem("info", Severity.INFO);
+        Problem warn1 = new Problem("warn1", Severity.WARNING);
+        Problem warn2 = new Problem("warn2", Severity.WARNING);
+        Problems ps = new Problems();
+        assertNull(ps.getLeadProblem());
+        assertTrue(ps.isEmpty());
+        ps.append(info).append(warn1).append(warn2);
+        assertSame(warn1, ps.getLeadProblem());
+        assertFalse(ps.hasFatal());
+        assertEquals(1, ps.count(Severity.INFO));
+        assertEquals(2, ps.count(Severity.WARNING));
+        assertEquals(0, ps.count(Severity.FATAL));
+
+        // Asking for the lead problem does not reorder the problems
+        Iterator<Problem> it = ps.iterator();
+        assertSame(info, it.next());
+        assertSame(warn1, it.next());
+        assertSame(warn2, it.next());
+
+        List<? extends Problem> all = ps.allProblems();
+        assertSame(warn1, all.get(0));
+        assertSame(warn2, all.get(1));
+        assertSame(info, all.get(2));
+
+        Problem fatal = new Problem("fatal", Severity.FATAL);
+        ps.append(fatal);
+        assertSame(fatal, ps.getLeadProblem());
+        assertTrue(ps.hasFatal());
+    }
+
+    @Test
+    public void testReset() {
+        Problems ps = new Problems().append("fatal").append("info", Severity.INFO);
+        assertSame(ps, ps.reset());
+        assertTrue(ps.isEmpty());
+        assertNull(ps.getLeadProblem());
+        assertFalse(ps.hasFatal());
+        assertEquals(0, ps.count(Severity.FATAL));
+        assertEquals(0, ps.count(Severity.INFO));
+        assertTrue(ps.allProblems().isEmpty());
+
+        ps.append("warning", Severity.WARNING);
+        assertEquals("warning", ps.getLeadProblem().getMessage());
+        assertEquals(1, ps.count(Severity.WARNING));
+    }
+
+    @Test
+    public void testAddAllKeepsCounts() {
+        Problems a = new Problems().append("w", Severity.WARNING);
+        Problems b = new Problems().append("f").append("i", Severity.INFO);
+        a.addAll(b);
+        assertTrue(a.hasFatal());
+        assertEquals("f", a.getLeadProblem().getMessage());
+        assertEquals(1, a.count(Severity.INFO));
+        assertEquals(3, a.allProblems().size());
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+
+public class ValidatorUtilsTest {
+
+    @Test
+    public void testMergeShortCircuit() {
+        CountingValidator warn = new CountingValidator(Severity.WARNING);
+        CountingValidator last = new CountingValidator(null);
+        Validator<String> v = ValidatorUtils.mergeShortCircuit(Severity.FATAL,
+                StringValidators.REQUIRE_NON_EMPTY_STRING, warn, last);
+
+        Problems ps = new Problems();
+        v.validate(ps, "foo", "");
+        assertTrue(ps.hasFatal());
+        assertEquals(0, warn.count);
+        assertEquals(0, last.count);
+
+        ps = new Problems();
+        v.validate(ps, "foo", "bar");
+        assertEquals(Severity.WARNING, ps.getLeadProblem().severity());
+        assertEquals(1, warn.count);
+        assertEquals(1, last.count);
+
+        // Problems which were already present do not stop the chain
+        ps = new Problems().append("already broken");
+        v.validate(ps, "foo", "bar");
+        assertEquals(2, last.count);
+
+        v = ValidatorUtils.mergeShortCircuit(Severity.INFO, warn, last);
+        v.validate(new Problems(), "foo", "bar");
+        assertEquals(3, warn.count);
+        assertEquals(2, last.count);
+    }
+
+    @Test
+    public void testMergeFlattensNestedChains() {
+        CountingValidator a = new CountingValidator(null);
+        CountingValidator b = new CountingValidator(null);
+        Validator<String> v = ValidatorUtils.merge(
+                ValidatorUtils.merge(StringValidators.NO_WHITESPACE, a), b);
+        String s = v.toString();
+        assertEquals(s, s.indexOf("AndValidator"), s.lastIndexOf("AndValidator"));
+        v.validate(new Problems(), "foo", "bar");
+        assertEquals(1, a.count);
+        assertEquals(1, b.count);
+        assertEquals(Validator.COST_CHEAP + 2 * Validator.COST_DEFAULT, v.cost());
+
+        // A nested chain with different short-circuit behavior stays intact
+        v = ValidatorUtils.mergeShortCircuit(Severity.FATAL,
+                ValidatorUtils.merge(a, b), StringValidators.NO_WHITESPACE);
+        s = v.toString();
+        assertTrue(s, s.indexOf("AndValidator") != s.lastIndexOf("AndValidator"));
+    }
+
+    @Test
+    public void testMergeCheapestFirst() {
+        CountingValidator expensive = new CountingValidator(Severity.FATAL, Validator.COST_EXPENSIVE);
+        CountingValidator plain = new CountingValidator(null);
+        Validator<String> v = ValidatorUtils.mergeCheapestFirst(Severity.FATAL,
+                expensive, plain, StringValidators.REQUIRE_NON_EMPTY_STRING);
+
+        Problems ps = new Problems();
+        v.validate(ps, "foo", "");
+        assertTrue(ps.hasFatal());
+        assertEquals(0, plain.count);
+        assertEquals(0, expensive.count);
+
+        ps = new Problems();
+        v.validate(ps, "foo", "bar");
+        assertEquals(1, plain.count);
+        assertEquals(1, expensive.count);
+        assertEquals("Problem 1", ps.getLeadProblem().getMessage());
+
+        // A nested chain keeps its own order, although the validator after
+        // it is cheaper than the chain's first
+        StringBuilder order = new StringBuilder();
+        ValidatorUtils.mergeCheapestFirst(Severity.FATAL,
+                ValidatorUtils.mergeShortCircuit(Severity.FATAL,
+                        recording(order, "a", Validator.COST_EXPENSIVE),
+                        recording(order, "b", Validator.COST_CHEAP)),
+                recording(order, "c", Validator.COST_DEFAULT))
+                .validate(new Problems(), "foo", "bar");
+        assertEquals("cab", order.toString());
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        final Runnable[] queued = new Runnable[1];
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queued[0] = command;
+            }
+        };
+        CountingValidator v = new CountingValidator(Severity.WARNING);
+        AsyncValidator<String> async = ValidatorUtils.async(v, executor);
+
+        // Problems which do not accept deferred results get them at once
+        Problems ps = new Problems();
+        async.validate(ps, "foo", "bar");
+        assertEquals(1, v.count);
+        assertEquals(Severity.WARNING, ps.getLeadProblem().severity());
+        assertNull(queued[0]);
+
+        ps = new Problems().acceptDeferred(true);
+        ValidatorUtils.merge(StringValidators.REQUIRE_NON_EMPTY_STRING, async)
+                .validate(ps, "foo", "bar");
+        assertTrue(ps.isEmpty());
+        assertEquals(1, v.count);
+        List<CompletionStage<Problems>> deferred = ps.takeDeferred();
+        assertEquals(1, deferred.size());
+        assertTrue(ps.takeDeferred().isEmpty());
+        assertFalse(deferred.get(0).toCompletableFuture().isDone());
+        queued[0].run();
+        assertEquals(2, v.count);
+        assertEquals("Problem 2", deferred.get(0).toCompletableFuture().get().getLeadProblem().getMessage());
+
+        // A run cancelled before it starts does nothing
+        CompletionStage<Problems> stage = async.validateAsync("foo", "bar");
+        stage.toCompletableFuture().cancel(true);
+        queued[0].run();
+        assertEquals(2, v.count);
+    }
+
+    @Test
+    public void testAsyncCancellationInterrupts() throws Exception {
+        final Object lock = new Object();
+        final boolean[] interrupted = new boolean[1];
+        Validator<String> slow = new AbstractValidator<String>(String.class) {
+            @Override
+            public void validate(Problems problems, String compName, String model) {
+                synchronized (lock) {
+                    lock.notifyAll();
+                    try {
+                        lock.wait(10000);
+                    } catch (InterruptedException ex) {
+                        interrupted[0] = true;
+                    }
+                }
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletionStage<Problems> stage;
+            synchronized (lock) {
+                stage = ValidatorUtils.async(slow, executor).validateAsync("foo", "bar");
+                lock.wait(10000);
+            }
+            stage.toCompletableFuture().cancel(true);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        synchronized (lock) {
+            assertTrue(interrupted[0]);
+        }
+    }
+
+    @Test
+    public void testAsyncCopiesCharSequenceWhenDeferred() throws Exception {
+        final Runnable[] queued = new Runnable[1];
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queued[0] = command;
+            }
+        };
+        final CharSequence[] seen = new CharSequence[1];
+        Validator<CharSequence> v = new AbstractValidator<CharSequence>(CharSequence.class) {
+            @Override
+            public void validate(Problems problems, String compName, CharSequence model) {
+                seen[0] = model;
+            }
+        };
+        StringBuilder text = new StringBuilder("bar");
+        ValidatorUtils.async(v, executor).validate(new Problems().acceptDeferred(true), "foo", text);
+        // Changed after validation was requested, as a document may be
+        text.append("baz");
+        queued[0].run();
+        assertEquals("bar", seen[0]);
+        assertTrue(seen[0] instanceof String);
+
+        // Without deferral the validator runs at once, on the model itself
+        ValidatorUtils.async(v, executor).validate(new Problems(), "foo", text);
+        assertSame(text, seen[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeferRequiresAcceptance() {
+        new Problems().defer(new CompletableFuture<Problems>());
+    }
+
+    private static Validator<String> recording(final StringBuilder order, final String name, final int cost) {
+        return new AbstractValidator<String>(String.class) {
+            @Override
+            public void validate(Problems problems, String compName, String model) {
+                order.append(name);
+            }
+
+            @Override
+            public int cost() {
+                return cost;
+            }
+        };
+    }
+
+    private static final class CountingValidator extends AbstractValidator<String> {
+        private final Severity severity;
+        private final int cost;
+        int count;
+
+        CountingValidator(Severity severity) {
+            this(severity, COST_DEFAULT);
+        }
+
+        CountingValidator(Severity severity, int cost) {
+            super(String.class);
+            this.severity = severity;
+            this.cost = cost;
+        }
+
+        @Override
+        public int cost() {
+            return cost;
+        }
+
+        @Override
+        public void validate(Problems problems, String compName, String model) {
+            count++;
+            if (severity != null) {
+                problems.append(new Problem("Problem " + count, severity));
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.indexvalidation;
+
+import org.junit.Test;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Tim Boudreau
+ */
+public class IndexSelectionValidatorsTest {
+
+    @Test
+    public void testRequireSelection() {
+        assertFalse(valid(IndexSelectionValidators.REQUIRE_SELECTION));
+        assertTrue(valid(IndexSelectionValidators.REQUIRE_SELECTION, 5, 5));
+        assertTrue(valid(IndexSelectionValidators.REQUIRE_SELECTION, 0, 1000000, 1000002, 1000002));
+    }
+
+    @Test
+    public void testRequireSingleInterval() {
+        assertFalse(valid(IndexSelectionValidators.REQUIRE_SINGLE_INTERVAL));
+        assertTrue(valid(IndexSelectionValidators.REQUIRE_SINGLE_INTERVAL, 3, 1000000));
+        assertFalse(valid(IndexSelectionValidators.REQUIRE_SINGLE_INTERVAL, 3, 4, 6, 6));
+    }
+
+    @Test
+    public void testSelectionCount() {
+        Validator<IndexSelection> min = IndexSelectionValidators.minSelectionCount(3);
+        assertFalse(valid(min));
+        assertFalse(valid(min, 0, 0, 2, 2));
+        assertTrue(valid(min, 0, 0, 2, 3));
+        Validator<IndexSelection> max = IndexSelectionValidators.maxSelectionCount(3);
+        assertTrue(valid(max));
+        assertTrue(valid(max, 0, 0, 2, 3));
+        assertFalse(valid(max, 0, 1, 3, 4));
+        // Counts beyond the range of an int do not overflow
+        assertFalse(valid(max, 0, Integer.MAX_VALUE - 1, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testSelectionWithin() {
+        Validator<IndexSelection> v = IndexSelectionValidators.selectionWithin(2, 10);
+        assertTrue(valid(v));
+        assertTrue(valid(v, 2, 4, 8, 10));
+        assertFalse(valid(v, 1, 4));
+        assertFalse(valid(v, 4, 5, 9, 11));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testBadRange() {
+        IndexSelectionValidators.selectionWithin(10, 2);
+    }
+
+    private static boolean valid(Validator<IndexSelection> v, int... bounds) {
+        Problems problems = new Problems();
+        v.validate(problems, "list", new Intervals(bounds)); //NOI18N
+        return !problems.hasFatal();
+    }
+
+    private static final class Intervals implements IndexSelection {
+        private final int[] bounds;
+
+        Intervals(int... bounds) {
+            this.bounds = bounds;
+        }
+
+        @Override
+        public int intervalCount() {
+            return bounds.length / 2;
+        }
+
+        @Override
+        public int intervalStart(int interval) {
+            return bounds[interval * 2];
+        }
+
+        @Override
+        public int intervalEnd(int interval) {
+            return bounds[interval * 2 + 1];
+        }
+    }
+}
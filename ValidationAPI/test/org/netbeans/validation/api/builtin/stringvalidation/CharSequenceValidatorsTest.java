@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.stringvalidation;
+
+import java.util.Random;
+import org.junit.Test;
+import org.netbeans.validation.api.IncrementalTextValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.ValidatorUtils;
+import static org.junit.Assert.*;
+
+public class CharSequenceValidatorsTest {
+
+    private static final String[] INPUTS = {
+        "", " ", "abc", "foo.com", "foo_bar.com", "foo.com:80", "foo.com:99999",
+        "192.168.1.1", "192.168.1.256", "192.168.1.1:8080", "1.2.3", "::1",
+        "[::1]:80", "fe80::1%eth0", ".foo.com", "foo..com", "0aF9", "0aG9",
+        "abc9", "9abc", "class", "has space", "a\tb", "héllo.com"
+    };
+
+    private static String problems(Validator<String> v, String s) {
+        Problems p = new Problems();
+        v.validate(p, "x", s);
+        return p.allProblems().toString();
+    }
+
+    private static String problems(Validator<CharSequence> v, CharSequence s) {
+        Problems p = new Problems();
+        v.validate(p, "x", s);
+        return p.allProblems().toString();
+    }
+
+    private static void assertSame(Validator<String> expected, Validator<CharSequence> got) {
+        for (String s : INPUTS) {
+            // A StringBuilder, so that nothing can rely on the model being
+            // a String
+            assertEquals(s, problems(expected, s), problems(got, new StringBuilder(s)));
+        }
+    }
+
+    @Test
+    public void testSameResultsAsStringValidators() {
+        for (CharSequenceValidators v : CharSequenceValidators.values()) {
+            assertSame(StringValidators.valueOf(v.name()), v);
+            assertEquals(v.name(), StringValidators.valueOf(v.name()).cost(), v.cost());
+        }
+        assertSame(StringValidators.minLength(3), CharSequenceValidators.minLength(3));
+        assertSame(StringValidators.maxLength(3), CharSequenceValidators.maxLength(3));
+        char[] chars = new char[]{'.', ':'};
+        assertSame(StringValidators.disallowChars(chars), CharSequenceValidators.disallowChars(chars));
+        assertSame(StringValidators.regexp("^[a-z]+", "bad {1}", true),
+                CharSequenceValidators.regexp("^[a-z]+", "bad {1}", true));
+        assertSame(StringValidators.regexp("[a-z]+", "bad {1}", false),
+                CharSequenceValidators.regexp("[a-z]+", "bad {1}", false));
+    }
+
+    @Test
+    public void testMessagesDoNotRetainTheSequence() {
+        StringBuilder sb = new StringBuilder("foo_bar.com");
+        Problems p = new Problems();
+        CharSequenceValidators.HOST_NAME_OR_IP_ADDRESS.validate(p, "x", sb);
+        // Messages are formatted lazily, after the text may have changed
+        sb.setLength(0);
+        sb.append("something else entirely");
+        Problems expected = new Problems();
+        StringValidators.HOST_NAME_OR_IP_ADDRESS.validate(expected, "x", "foo_bar.com");
+        assertEquals(expected.getLeadProblem().getMessage(), p.getLeadProblem().getMessage());
+    }
+
+    @Test
+    public void testIncrementalTrackingMatchesFullValidation() {
+        assertTracks(CharSequenceValidators.NO_WHITESPACE);
+        assertTracks(CharSequenceValidators.disallowChars(new char[]{'x', '\uD83D'}));
+        assertTracks(CharSequenceValidators.encodableInCharset("ISO-8859-1"));
+        assertTracks(CharSequenceValidators.encodableInCharset("UTF-8"));
+        assertTracks(ValidatorUtils.mergeIncremental(CharSequenceValidators.maxLength(40),
+                CharSequenceValidators.HOST_NAME, CharSequenceValidators.NO_WHITESPACE));
+    }
+
+    private static final String[] PIECES = {
+        "a", "x", " ", "\t", "é", "中", "\uD83D\uDE00", "\uD83D", "\uDE00", "foo.com", ""
+    };
+
+    private static void assertTracks(IncrementalTextValidator v) {
+        Random rnd = new Random(42);
+        StringBuilder text = new StringBuilder("ab cd");
+        IncrementalTextValidator.Tracker tracker = v.track(text);
+        for (int i = 0; i < 2000; i++) {
+            if (text.length() > 0 && rnd.nextInt(3) == 0) {
+                int offset = rnd.nextInt(text.length());
+                int length = 1 + rnd.nextInt(Math.min(4, text.length() - offset));
+                text.delete(offset, offset + length);
+                tracker.removed(text, offset, length);
+            } else {
+                int offset = rnd.nextInt(text.length() + 1);
+                String piece = PIECES[rnd.nextInt(PIECES.length)];
+                text.insert(offset, piece);
+                tracker.inserted(text, offset, piece.length());
+            }
+            Problems expected = new Problems();
+            v.validate(expected, "x", text.toString());
+            Problems got = new Problems();
+            tracker.validate(got, "x", text);
+            assertEquals(v + " on '" + text + "'", expected.allProblems().toString(),
+                    got.allProblems().toString());
+        }
+    }
+}
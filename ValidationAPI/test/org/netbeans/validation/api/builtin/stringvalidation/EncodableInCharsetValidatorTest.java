@@ -40,4 +40,24 @@ public class EncodableInCharsetValidatorTest {
         v.validate(ps, "", s);
         assertTrue (ps.hasFatal());
     }
+
+    @Test
+    public void testNonAsciiCharsets() {
+        EncodableInCharsetValidator v = new EncodableInCharsetValidator("ISO-8859-1");
+        Problems ps = new Problems();
+        v.validate(ps, "", "caf\u00e9");
+        assertNull(ps.getLeadProblem());
+        v.validate(ps, "", "caf\u00e9 \u20ac");
+        assertTrue(ps.hasFatal());
+        assertTrue(ps.getLeadProblem().getMessage(),
+                ps.getLeadProblem().getMessage().contains("\u20ac"));
+
+        v = new EncodableInCharsetValidator("UTF-8");
+        ps = new Problems();
+        // A surrogate pair is one encodable character, a lone surrogate is not
+        v.validate(ps, "", "G clef \ud834\udd1e");
+        assertNull(ps.getLeadProblem());
+        v.validate(ps, "", "broken \ud834");
+        assertTrue(ps.hasFatal());
+    }
 }
\ No newline at end of file
@@ -37,6 +37,20 @@ public class HostNameValidatorTest {
         
         assertNull(check(StringValidators.HOST_NAME_OR_IP_ADDRESS, "2001:db8:1f70::999:de8:7648:6e8"));
         assertNull(check(StringValidators.HOST_NAME_OR_IP_ADDRESS, "2001:db8:85a3::8a2e:370:7334"));
+
+        assertNull(check(v, "::1"));
+        assertNull(check(v, "fe80::1%eth0"));
+        assertNull(check(v, "::ffff:192.168.2.1"));
+        assertNull(check(v, "1:2:3:4:5:6:7:8"));
+        assertNull(check(v, "[fe80::1%eth0]:8080"));
+        assertNull(check(v, "[::ffff:192.168.2.1]:80"));
+        assertTrue(check(v, "[::1]:70000").isFatal());
+        assertTrue(check(v, "[::1]:99999999999").isFatal());
+        assertTrue(check(v, "1:2:3:4:5:6:7:8:9").isFatal());
+        assertTrue(check(v, "1::2::3").isFatal());
+        assertTrue(check(v, "fe80::1%").isFatal());
+        assertTrue(check(v, "::ffff:192.168.2.256").isFatal());
+        assertTrue(check(new HostNameValidator(false), "[::1]:80").isFatal());
     }
 
     private Problem check(Validator<String> v, String str){
@@ -87,6 +101,13 @@ public class HostNameValidatorTest {
         assertTrue(check(v,  "www..foo.com").isFatal());
     }
 
+    @Test
+    public void testSupplementaryBadCharIsReportedWhole() {
+        Problem p = check(new HostNameValidator(true), "foo.\uD835\uDC00.com");
+        assertTrue(p.isFatal());
+        assertTrue(p.getMessage(), p.getMessage().contains("'\uD835\uDC00'"));
+    }
+
     @Test
     public void testValidateHostOrIP() {
         assertTrue(true);
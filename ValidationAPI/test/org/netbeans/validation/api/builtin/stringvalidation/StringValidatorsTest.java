@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.builtin.stringvalidation;
+
+import org.junit.Test;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Tim Boudreau
+ */
+public class StringValidatorsTest {
+
+    @Test
+    public void testTrimmedValidatorsAreShared() {
+        for (StringValidators v : StringValidators.values()) {
+            assertSame(v.name(), v.trim(), v.trim());
+        }
+    }
+
+    @Test
+    public void testTrimmedValidatorsTrim() {
+        Validator<String> v = StringValidators.EMAIL_ADDRESS.trim();
+        Problems ps = new Problems();
+        v.validate(ps, "", "  foo@bar.com ");
+        assertNull(ps.getLeadProblem());
+        ps = new Problems();
+        StringValidators.EMAIL_ADDRESS.validate(ps, "", "  foo@bar.com ");
+        assertTrue(ps.hasFatal());
+    }
+}
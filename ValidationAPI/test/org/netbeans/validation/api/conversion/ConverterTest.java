@@ -34,6 +34,18 @@ public class ConverterTest {
         assertNotNull (Converter.find (String.class, Bar.class));
     }
 
+    @Test
+    public void testFindIsCached() {
+        // BarConverter is registered in META-INF/services
+        Converter<String, Bar> c = Converter.find(String.class, Bar.class);
+        assertSame (c, Converter.find(String.class, Bar.class));
+        Converter.register(new ConverterImpl());
+        Converter<String, Bar> afterRegister = Converter.find(String.class, Bar.class);
+        assertNotSame (c, afterRegister);
+        assertSame (afterRegister, Converter.find(String.class, Bar.class));
+        assertNotNull (Converter.find(String.class, Foo.class));
+    }
+
     public static class Foo {
         private final String s;
         public Foo(String s) {
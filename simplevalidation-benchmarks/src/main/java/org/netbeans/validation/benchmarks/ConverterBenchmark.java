@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+import org.netbeans.validation.api.conversion.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looking up converters, and validating a Document through a validator of
+ * Strings, as the Swing listeners do on every keystroke.
+ *
+ * @author Tim Boudreau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private Validator<Document> documentValidator;
+    private Document document;
+    private final Problems problems = new Problems();
+
+    @Setup
+    public void setup() throws BadLocationException {
+        documentValidator = Converter.find(String.class, Document.class)
+                .convert(StringValidators.REQUIRE_NON_EMPTY_STRING, StringValidators.NO_WHITESPACE);
+        document = new PlainDocument();
+        document.insertString(0, StringValidatorsBenchmark.repeat("abc", 100), null); //NOI18N
+    }
+
+    @Benchmark
+    public Converter<String, Document> find() {
+        return Converter.find(String.class, Document.class);
+    }
+
+    @Benchmark
+    public Validator<Document> findAndConvert() {
+        return Converter.find(String.class, Document.class)
+                .convert(StringValidators.REQUIRE_NON_EMPTY_STRING);
+    }
+
+    @Benchmark
+    public Problems validateDocument() {
+        problems.reset();
+        documentValidator.validate(problems, "field", document); //NOI18N
+        return problems;
+    }
+}
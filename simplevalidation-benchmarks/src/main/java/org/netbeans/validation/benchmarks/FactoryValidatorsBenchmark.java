@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.benchmarks;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+import static org.netbeans.validation.benchmarks.StringValidatorsBenchmark.repeat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the validators created by each of the static factory methods on
+ * {@link StringValidators} against a valid and an invalid input, short
+ * and long.
+ *
+ * @author Tim Boudreau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryValidatorsBenchmark {
+
+    @Param
+    public Factory factory;
+
+    @Param({"VALID_SHORT", "VALID_LONG", "INVALID_SHORT", "INVALID_LONG"})
+    public StringValidatorsBenchmark.Input input;
+
+    private Validator<String> v;
+    private String model;
+    private final Problems problems = new Problems();
+
+    @Setup
+    public void setup() {
+        v = factory.create();
+        model = factory.inputs()[input.ordinal()];
+    }
+
+    @Benchmark
+    public Problems validate() {
+        problems.reset();
+        v.validate(problems, "field", model); //NOI18N
+        return problems;
+    }
+
+    public enum Factory {
+        TRIM_STRING,
+        SPLIT_STRING,
+        MAY_NOT_END_WITH,
+        DISALLOW_CHARS,
+        REGEXP,
+        VALID_NUMBER,
+        FOR_FORMAT,
+        ENCODABLE_IN_CHARSET,
+        NUMBER_RANGE,
+        MIN_LENGTH,
+        MAX_LENGTH,
+        GREATER_THAN,
+        LESS_THAN,
+        BETWEEN;
+
+        Validator<String> create() {
+            switch (this) {
+                case TRIM_STRING:
+                    return StringValidators.trimString(StringValidators.REQUIRE_JAVA_IDENTIFIER);
+                case SPLIT_STRING:
+                    return StringValidators.splitString(",", StringValidators.REQUIRE_VALID_INTEGER); //NOI18N
+                case MAY_NOT_END_WITH:
+                    return StringValidators.mayNotEndWith('/');
+                case DISALLOW_CHARS:
+                    return StringValidators.disallowChars(new char[]{'<', '>', '&'});
+                case REGEXP:
+                    return StringValidators.regexp("^[a-z]+(-[a-z]+)*$", "Lower case words separated by dashes", false); //NOI18N
+                case VALID_NUMBER:
+                    return StringValidators.validNumber(Locale.US);
+                case FOR_FORMAT:
+                    return StringValidators.forFormat(new SimpleDateFormat("yyyy-MM-dd", Locale.US)); //NOI18N
+                case ENCODABLE_IN_CHARSET:
+                    return StringValidators.encodableInCharset("ISO-8859-1"); //NOI18N
+                case NUMBER_RANGE:
+                    return StringValidators.numberRange(0, 1000);
+                case MIN_LENGTH:
+                    return StringValidators.minLength(3);
+                case MAX_LENGTH:
+                    return StringValidators.maxLength(100);
+                case GREATER_THAN:
+                    return StringValidators.greaterThan(10);
+                case LESS_THAN:
+                    return StringValidators.lessThan(1000);
+                case BETWEEN:
+                    return StringValidators.between(10, 1000);
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+
+        String[] inputs() {
+            switch (this) {
+                case TRIM_STRING:
+                    return new String[]{" foo ", "  " + repeat("fooBar", 50) + "  ", " class ", "  " + repeat("fooBar", 50) + "-  "}; //NOI18N
+                case SPLIT_STRING:
+                    return new String[]{"1,2,3", repeat("12345,", 50) + "6", "1,x,3", repeat("12345,", 50) + "x"}; //NOI18N
+                case MAY_NOT_END_WITH:
+                    return new String[]{"a/b", repeat("abc/", 75) + "d", "a/", repeat("abc/", 75)}; //NOI18N
+                case DISALLOW_CHARS:
+                    return new String[]{"abc", repeat("abc", 300), "a<b", repeat("abc", 300) + "&"}; //NOI18N
+                case REGEXP:
+                    return new String[]{"foo-bar", repeat("foo-", 75) + "bar", "Foo", repeat("foo-", 75) + "Bar"}; //NOI18N
+                case VALID_NUMBER:
+                    return new String[]{"42", "999.123456789", "x", repeat("9", 40) + "x"}; //NOI18N
+                case FOR_FORMAT:
+                    return new String[]{"2019-05-06", "2019-05-06", "yesterday", repeat("yesterday", 30)}; //NOI18N
+                case ENCODABLE_IN_CHARSET:
+                    return new String[]{"café", repeat("café ", 75), "€", repeat("café ", 75) + "€"}; //NOI18N
+                case MIN_LENGTH:
+                    return new String[]{"abcd", repeat("abc", 300), "ab", "a"}; //NOI18N
+                case MAX_LENGTH:
+                    return new String[]{"abc", repeat("a", 100), repeat("a", 101), repeat("abc", 300)}; //NOI18N
+                case NUMBER_RANGE:
+                case BETWEEN:
+                    return new String[]{"42", "999.123456789", "5000", "-" + repeat("9", 40)}; //NOI18N
+                case GREATER_THAN:
+                    return new String[]{"42", "999.123456789", "5", "-" + repeat("9", 40)}; //NOI18N
+                case LESS_THAN:
+                    return new String[]{"42", "999.123456789", "5000", repeat("9", 40)}; //NOI18N
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+import org.netbeans.validation.localization.LocalizationSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looking up and formatting localized messages.
+ *
+ * @author Tim Boudreau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalizationBenchmark {
+
+    private final Problems problems = new Problems();
+
+    @Benchmark
+    public String getMessageNoArguments() {
+        return LocalizationSupport.getMessage(Problems.class, "FATAL"); //NOI18N
+    }
+
+    @Benchmark
+    public String getMessageWithArguments() {
+        return LocalizationSupport.getMessage(Problems.class, "CONCAT_PROBLEMS", "foo", "bar"); //NOI18N
+    }
+
+    /**
+     * A validator failing, without anything asking for the message.
+     */
+    @Benchmark
+    public Problem problemNotRendered() {
+        problems.reset();
+        StringValidators.NO_WHITESPACE.validate(problems, "field", "a b"); //NOI18N
+        return problems.getLeadProblem();
+    }
+
+    /**
+     * A validator failing, and the message being displayed.
+     */
+    @Benchmark
+    public String problemRendered() {
+        problems.reset();
+        StringValidators.NO_WHITESPACE.validate(problems, "field", "a b"); //NOI18N
+        return problems.getLeadProblem().getMessage();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Severity;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.ValidatorUtils;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chains of validators built with {@link ValidatorUtils}, as a typical
+ * field definition would use them.
+ *
+ * @author Tim Boudreau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergedValidatorsBenchmark {
+
+    /**
+     * The number of validators in the chain.
+     */
+    @Param({"2", "5", "20"})
+    public int length;
+
+    /**
+     * Whether the chain is built incrementally with the two-argument
+     * merge(), as code which adds validators one at a time does.
+     */
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    @Param({"foo.example.com", " foo.example.com"})
+    public String model;
+
+    private Validator<String> merged;
+    private Validator<String> shortCircuit;
+    private Validator<String> cheapestFirst;
+    private Validator<String> limited;
+    private final Problems problems = new Problems();
+
+    // Ordered expensive-first, so that reordering by cost makes a difference
+    private static final List<Validator<String>> POOL = Arrays.<Validator<String>>asList(
+            StringValidators.HOST_NAME,
+            StringValidators.regexp("^[a-z.]+$", "Lower case letters and periods", false), //NOI18N
+            StringValidators.encodableInCharset("US-ASCII"), //NOI18N
+            StringValidators.maxLength(253),
+            StringValidators.minLength(1),
+            StringValidators.NO_WHITESPACE,
+            StringValidators.MAY_NOT_END_WITH_PERIOD,
+            StringValidators.REQUIRE_NON_EMPTY_STRING,
+            StringValidators.disallowChars(new char[]{'/', '@'}),
+            StringValidators.mayNotEndWith('-'));
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Validator<String>[] chain = (Validator<String>[]) new Validator<?>[length];
+        for (int i = 0; i < length; i++) {
+            chain[i] = POOL.get(i % POOL.size());
+        }
+        if (incremental) {
+            merged = chain[0];
+            for (int i = 1; i < length; i++) {
+                merged = ValidatorUtils.merge(merged, chain[i]);
+            }
+        } else {
+            merged = ValidatorUtils.merge(chain);
+        }
+        shortCircuit = ValidatorUtils.mergeShortCircuit(Severity.FATAL, chain);
+        cheapestFirst = ValidatorUtils.mergeCheapestFirst(Severity.FATAL, chain);
+        limited = ValidatorUtils.limitSeverity(Severity.WARNING, merged);
+    }
+
+    @Benchmark
+    public Problems merge() {
+        problems.reset();
+        merged.validate(problems, "field", model); //NOI18N
+        return problems;
+    }
+
+    @Benchmark
+    public Problems mergeShortCircuit() {
+        problems.reset();
+        shortCircuit.validate(problems, "field", model); //NOI18N
+        return problems;
+    }
+
+    @Benchmark
+    public Problems mergeCheapestFirst() {
+        problems.reset();
+        cheapestFirst.validate(problems, "field", model); //NOI18N
+        return problems;
+    }
+
+    @Benchmark
+    public Problems limitSeverity() {
+        problems.reset();
+        limited.validate(problems, "field", model); //NOI18N
+        return problems;
+    }
+}
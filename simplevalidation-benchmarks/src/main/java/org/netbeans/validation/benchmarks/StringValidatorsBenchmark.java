@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs each {@link StringValidators} constant against a valid and an invalid
+ * input, short and long.
+ *
+ * @author Tim Boudreau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringValidatorsBenchmark {
+
+    @Param({"REQUIRE_NON_EMPTY_STRING", "REQUIRE_VALID_FILENAME", "REQUIRE_VALID_INTEGER",
+        "REQUIRE_NON_NEGATIVE_NUMBER", "REQUIRE_VALID_NUMBER", "REQUIRE_JAVA_IDENTIFIER",
+        "VALID_HEXADECIMAL_NUMBER", "NO_WHITESPACE", "FILE_MUST_EXIST", "FILE_MUST_BE_FILE",
+        "FILE_MUST_BE_DIRECTORY", "URL_MUST_BE_VALID", "IP_ADDRESS", "HOST_NAME",
+        "HOST_NAME_OR_IP_ADDRESS", "MAY_NOT_START_WITH_DIGIT", "EMAIL_ADDRESS",
+        "CHARACTER_SET_NAME", "JAVA_PACKAGE_NAME", "FILE_MUST_NOT_EXIST",
+        "MAY_NOT_END_WITH_PERIOD"})
+    public String validator;
+
+    @Param({"VALID_SHORT", "VALID_LONG", "INVALID_SHORT", "INVALID_LONG"})
+    public Input input;
+
+    private StringValidators v;
+    private String model;
+    private final Problems problems = new Problems();
+
+    @Setup
+    public void setup() throws IOException {
+        v = StringValidators.valueOf(validator);
+        model = input.forValidator(v);
+    }
+
+    @Benchmark
+    public Problems validate() {
+        problems.reset();
+        v.validate(problems, "field", model); //NOI18N
+        return problems;
+    }
+
+    public enum Input {
+        VALID_SHORT,
+        VALID_LONG,
+        INVALID_SHORT,
+        INVALID_LONG;
+
+        String forValidator(StringValidators v) throws IOException {
+            String[] inputs = inputs(v);
+            return inputs[ordinal()];
+        }
+
+        private static String[] inputs(StringValidators v) throws IOException {
+            String tmp = System.getProperty("java.io.tmpdir"); //NOI18N
+            switch (v) {
+                case REQUIRE_NON_EMPTY_STRING:
+                    return new String[]{"a", repeat("abc", 300), "", ""}; //NOI18N
+                case REQUIRE_VALID_FILENAME:
+                    return new String[]{"a.txt", repeat("abc", 80) + ".txt", "a/b", repeat("abc", 80) + "/b"}; //NOI18N
+                case REQUIRE_VALID_INTEGER:
+                    return new String[]{"42", "1234567890", "4x", repeat("9", 40) + "x"}; //NOI18N
+                case REQUIRE_NON_NEGATIVE_NUMBER:
+                    return new String[]{"42", "1234567890.12345", "-1", "-" + repeat("9", 40)}; //NOI18N
+                case REQUIRE_VALID_NUMBER:
+                    return new String[]{"4.2", "1234567890.12345", "4x", repeat("9", 40) + "x"}; //NOI18N
+                case REQUIRE_JAVA_IDENTIFIER:
+                    return new String[]{"foo", repeat("fooBar", 50), "class", repeat("fooBar", 50) + "-"}; //NOI18N
+                case VALID_HEXADECIMAL_NUMBER:
+                    return new String[]{"ff", repeat("0123456789abcdef", 20), "fg", repeat("0123456789abcdef", 20) + "g"}; //NOI18N
+                case NO_WHITESPACE:
+                    return new String[]{"abc", repeat("abc", 300), "a c", repeat("abc", 300) + " "}; //NOI18N
+                case FILE_MUST_EXIST:
+                case FILE_MUST_BE_DIRECTORY:
+                    return new String[]{tmp, tmp, "/no/such/dir", tmp + File.separator + repeat("nosuchdir", 20)}; //NOI18N
+                case FILE_MUST_BE_FILE: {
+                    File f = File.createTempFile("svbench", ".txt"); //NOI18N
+                    f.deleteOnExit();
+                    return new String[]{f.getPath(), f.getPath(), tmp, tmp};
+                }
+                case FILE_MUST_NOT_EXIST:
+                    return new String[]{"/no/such/file", tmp + File.separator + repeat("nosuchfile", 20), tmp, tmp}; //NOI18N
+                case URL_MUST_BE_VALID:
+                    return new String[]{"http://foo.com/", "https://www.example.com:8443/" + repeat("path/", 60) + "?q=1", //NOI18N
+                        "http://foo com", "https://www.example_com:8443/" + repeat("path/", 60) + "?q=1"}; //NOI18N
+                case IP_ADDRESS:
+                    return new String[]{"10.0.0.1", "192.168.200.254:65535", "10.0.0", "192.168.200.254:655350"}; //NOI18N
+                case HOST_NAME:
+                    return new String[]{"foo.com", repeat("subdomain.", 20) + "example.com:8080", "foo_bar.com", //NOI18N
+                        repeat("subdomain.", 20) + "example_com:8080"}; //NOI18N
+                case HOST_NAME_OR_IP_ADDRESS:
+                    return new String[]{"10.0.0.1", "2001:db8:85a3::8a2e:370:7334", "10.0.0.256", //NOI18N
+                        repeat("subdomain.", 20) + "example.com:80a"}; //NOI18N
+                case MAY_NOT_START_WITH_DIGIT:
+                    return new String[]{"a1", repeat("a1", 150), "1a", "1" + repeat("a1", 150)}; //NOI18N
+                case EMAIL_ADDRESS:
+                    return new String[]{"joe@foo.com", repeat("first.last", 6) + "@" + repeat("subdomain.", 20) + "example.com", //NOI18N
+                        "joe@", repeat("first.last", 6) + "@" + repeat("subdomain.", 20) + "example_com"}; //NOI18N
+                case CHARACTER_SET_NAME:
+                    return new String[]{"UTF-8", "x-IBM1364", "UTF 8", repeat("no-such-charset", 10)}; //NOI18N
+                case JAVA_PACKAGE_NAME:
+                    return new String[]{"com.foo", repeat("org.", 50) + "foo", "com.1foo", repeat("org.", 50) + "1foo"}; //NOI18N
+                case MAY_NOT_END_WITH_PERIOD:
+                    return new String[]{"abc", repeat("abc", 300), "abc.", repeat("abc", 300) + "."}; //NOI18N
+                default:
+                    throw new AssertionError(v);
+            }
+        }
+    }
+
+    static String repeat(String s, int count) {
+        StringBuilder sb = new StringBuilder(s.length() * count);
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
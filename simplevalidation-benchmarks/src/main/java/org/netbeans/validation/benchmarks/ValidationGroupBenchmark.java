@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.ValidatorUtils;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+import org.netbeans.validation.api.ui.ValidationGroup;
+import org.netbeans.validation.api.ui.ValidationListener;
+import org.netbeans.validation.api.ui.ValidationUI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Updates of a tree of validation groups, with no Swing components
+ * involved - the listeners validate a string field and report to
+ * no-op UIs, so this measures the group bookkeeping and validators only.
+ *
+ * @author Tim Boudreau
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationGroupBenchmark {
+
+    /**
+     * Total number of listeners in the tree.
+     */
+    @Param({"10", "100", "1000"})
+    public int listeners;
+
+    /**
+     * Number of listeners in each child group of the root group.
+     */
+    @Param({"10"})
+    public int groupSize;
+
+    private ValidationGroup root;
+    private final List<StringListener> leaves = new ArrayList<StringListener>();
+    private int tick;
+
+    private static final Validator<String> VALIDATOR = ValidatorUtils.merge(
+            StringValidators.REQUIRE_NON_EMPTY_STRING,
+            StringValidators.NO_WHITESPACE,
+            StringValidators.maxLength(40));
+
+    @Setup
+    public void setup() {
+        root = ValidationGroup.create(ValidationUI.NO_OP);
+        leaves.clear();
+        ValidationGroup group = null;
+        for (int i = 0; i < listeners; i++) {
+            if (i % groupSize == 0) {
+                group = ValidationGroup.create(ValidationUI.NO_OP);
+                root.addItem(group, false);
+            }
+            StringListener l = new StringListener(VALIDATOR, "value" + i); //NOI18N
+            group.addItem(l, false);
+            leaves.add(l);
+        }
+    }
+
+    /**
+     * Revalidate everything, as when a dialog is first shown.
+     */
+    @Benchmark
+    public Problem validateAll() {
+        return root.performValidation();
+    }
+
+    /**
+     * One field changes and becomes alternately valid and invalid, as
+     * when the user types into it.
+     */
+    @Benchmark
+    public Problem validateOne() {
+        StringListener l = leaves.get(leaves.size() / 2);
+        l.value = (tick++ & 1) == 0 ? "in valid" : "valid"; //NOI18N
+        return l.performValidation();
+    }
+
+    /**
+     * One field changes but stays valid, so no UI needs updating.
+     */
+    @Benchmark
+    public Problem validateOneUnchanged() {
+        return leaves.get(leaves.size() / 2).performValidation();
+    }
+
+    static final class StringListener extends ValidationListener<String> {
+        private final Validator<String> validator;
+        String value;
+
+        StringListener(Validator<String> validator, String value) {
+            super(String.class, ValidationUI.NO_OP, value);
+            this.validator = validator;
+            this.value = value;
+        }
+
+        @Override
+        protected void performValidation(Problems problems) {
+            validator.validate(problems, "field", value); //NOI18N
+        }
+    }
+}
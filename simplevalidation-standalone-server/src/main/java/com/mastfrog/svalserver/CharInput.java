@@ -0,0 +1,188 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decodes characters from a file or channel through fixed-size buffers, so
+ * that reading input of any size uses a constant amount of memory.
+ *
+ * @author Tim Boudreau
+ */
+final class CharInput {
+
+    static final int CHAR_BUFFER_SIZE = 8192;
+    static final int READ_BUFFER_SIZE = 65536;
+    static final int MAP_WINDOW = 1 << 24;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final ByteInput in;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars;
+    private ByteBuffer bytes = EMPTY;
+    private boolean endOfInput;
+    private boolean flushed;
+
+    private CharInput(ByteInput in, Charset charset, int charBufferSize) {
+        this.in = in;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.chars = CharBuffer.allocate(charBufferSize);
+        chars.flip();
+    }
+
+    /**
+     * Read a file by mapping successive windows of it into memory.
+     */
+    static CharInput mapped(FileChannel channel, Charset charset, int window, int charBufferSize) throws IOException {
+        return new CharInput(new MappedInput(channel, window), charset, charBufferSize);
+    }
+
+    /**
+     * Read a (blocking) channel through a fixed-size buffer.
+     */
+    static CharInput channel(ReadableByteChannel channel, Charset charset, int readBufferSize, int charBufferSize) {
+        return new CharInput(new ChannelInput(channel, readBufferSize), charset, charBufferSize);
+    }
+
+    /**
+     * Read the next character.
+     * @return The character, or -1 at the end of input
+     */
+    int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    /**
+     * Get the next character without consuming it.
+     * @return The character, or -1 at the end of input
+     */
+    int peek() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get(chars.position());
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !flushed) {
+            if (!endOfInput) {
+                CoderResult result = decoder.decode(bytes, chars, false);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (result.isUnderflow()) {
+                    // Any bytes left are the start of an incomplete
+                    // character, which the refilled buffer begins with
+                    ByteBuffer next = in.refill(bytes);
+                    if (next == null) {
+                        endOfInput = true;
+                    } else {
+                        bytes = next;
+                    }
+                }
+            } else {
+                CoderResult result = decoder.decode(bytes, chars, true);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (result.isOverflow()) {
+                    break;
+                }
+                if (decoder.flush(chars).isOverflow()) {
+                    break;
+                }
+                flushed = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private interface ByteInput {
+
+        /**
+         * Get a buffer which begins with the unconsumed bytes of the passed
+         * one followed by more input, or null if there is no more input.
+         */
+        ByteBuffer refill(ByteBuffer current) throws IOException;
+    }
+
+    private static final class MappedInput implements ByteInput {
+
+        private final FileChannel channel;
+        private final int window;
+        private long offset;
+
+        MappedInput(FileChannel channel, int window) {
+            this.channel = channel;
+            this.window = window;
+        }
+
+        @Override
+        public ByteBuffer refill(ByteBuffer current) throws IOException {
+            long start = offset + current.position();
+            long size = channel.size();
+            if (start + current.remaining() >= size) {
+                return null;
+            }
+            offset = start;
+            // Earlier windows are unmapped when collected;  only one is
+            // referenced at a time
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(window, size - start));
+        }
+    }
+
+    private static final class ChannelInput implements ByteInput {
+
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        ChannelInput(ReadableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+        }
+
+        @Override
+        public ByteBuffer refill(ByteBuffer current) throws IOException {
+            if (current == buffer) {
+                buffer.compact();
+            } else {
+                buffer.clear();
+            }
+            int count;
+            do {
+                count = channel.read(buffer);
+            } while (count == 0 && buffer.hasRemaining());
+            buffer.flip();
+            return count < 0 ? null : buffer;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads records from CSV as described by RFC 4180:  the first line names
+ * the columns, fields are separated by commas, and fields enclosed in
+ * double quotes may contain commas, line breaks and doubled double quotes.
+ * Lines may end with CRLF or LF;  blank lines are skipped.
+ *
+ * @author Tim Boudreau
+ */
+final class CsvRecordReader extends RecordReader {
+
+    private static final int[] NO_COLUMNS = new int[0];
+    // The schema index of each column, or -1 for columns which are not
+    // validated;  null until the header has been read
+    private int[] columns;
+
+    CsvRecordReader(CharInput in, ValidationSchema schema) {
+        super(in, schema);
+    }
+
+    @Override
+    protected boolean readRecord(String[] values) throws IOException {
+        if (columns == null) {
+            columns = readHeader();
+        }
+        int c = skipBlankLines();
+        if (c < 0) {
+            return false;
+        }
+        for (int column = 0;; column++) {
+            int target = column < columns.length ? columns[column] : -1;
+            c = readField(c, target >= 0);
+            if (target >= 0) {
+                values[target] = fieldValue();
+            }
+            if (c != ',') {
+                return true;
+            }
+            c = in.read();
+        }
+    }
+
+    private int[] readHeader() throws IOException {
+        int c = skipBlankLines();
+        if (c < 0) {
+            return NO_COLUMNS;
+        }
+        int[] result = new int[16];
+        for (int column = 0;; column++) {
+            c = readField(c, true);
+            if (column == result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[column] = fieldIndex();
+            if (c != ',') {
+                return Arrays.copyOf(result, column + 1);
+            }
+            c = in.read();
+        }
+    }
+
+    private int skipBlankLines() throws IOException {
+        int c = in.read();
+        while (c == '\r' || c == '\n') {
+            c = in.read();
+        }
+        return c;
+    }
+
+    /**
+     * Read a field whose first character is c, collecting it into the field
+     * buffer if capture is true, and consuming the line ending if it is the
+     * last field in the record.
+     *
+     * @return The character which ended the field:  a comma, a line break
+     * or -1
+     */
+    private int readField(int c, boolean capture) throws IOException {
+        clearField();
+        if (c == '"') {
+            for (;;) {
+                c = in.read();
+                if (c < 0) {
+                    throw malformed("Unterminated quoted field"); //NOI18N
+                }
+                if (c == '"') {
+                    if (in.peek() != '"') {
+                        c = in.read();
+                        break;
+                    }
+                    c = in.read();
+                }
+                if (capture) {
+                    appendField((char) c);
+                }
+            }
+            if (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                throw malformed("Unexpected '" + (char) c //NOI18N
+                        + "' after quoted field"); //NOI18N
+            }
+        } else {
+            while (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                if (capture) {
+                    appendField((char) c);
+                }
+                c = in.read();
+            }
+        }
+        if (c == '\r' && in.peek() == '\n') {
+            in.read();
+        }
+        return c;
+    }
+}
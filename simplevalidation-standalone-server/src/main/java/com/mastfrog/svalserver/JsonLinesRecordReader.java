@@ -0,0 +1,247 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.IOException;
+
+/**
+ * Reads records from JSON lines - a sequence of JSON objects, one per line.
+ * Each object should be flat:  string values are validated as-is, numbers
+ * and booleans are validated as their literal text, and null is treated as
+ * an absent field.  Any other bare value, or a missing one, is malformed.  Object and array values are skipped for fields the
+ * schema does not validate, and are an error for fields it does.
+ *
+ * @author Tim Boudreau
+ */
+final class JsonLinesRecordReader extends RecordReader {
+
+    JsonLinesRecordReader(CharInput in, ValidationSchema schema) {
+        super(in, schema);
+    }
+
+    @Override
+    protected boolean readRecord(String[] values) throws IOException {
+        int c = skipWhitespace(in.read());
+        if (c < 0) {
+            return false;
+        }
+        if (c != '{') {
+            throw malformed("Expected '{'"); //NOI18N
+        }
+        c = skipWhitespace(in.read());
+        if (c == '}') {
+            return true;
+        }
+        for (;;) {
+            if (c != '"') {
+                throw malformed("Expected a field name"); //NOI18N
+            }
+            readString(true);
+            int target = fieldIndex();
+            if (skipWhitespace(in.read()) != ':') {
+                throw malformed("Expected ':'"); //NOI18N
+            }
+            c = readValue(skipWhitespace(in.read()), target, values);
+            if (c == '}') {
+                return true;
+            } else if (c != ',') {
+                throw malformed("Expected ',' or '}'"); //NOI18N
+            }
+            c = skipWhitespace(in.read());
+        }
+    }
+
+    /**
+     * Read a value whose first character is c.
+     *
+     * @return The next character after the value which is not whitespace
+     */
+    private int readValue(int c, int target, String[] values) throws IOException {
+        switch (c) {
+            case '"':
+                readString(target >= 0);
+                if (target >= 0) {
+                    values[target] = fieldValue();
+                }
+                return skipWhitespace(in.read());
+            case '{':
+            case '[':
+                if (target >= 0) {
+                    throw malformed("Object or array value for validated field"); //NOI18N
+                }
+                skipNested();
+                return skipWhitespace(in.read());
+            default:
+                clearField();
+                while (c >= 0 && c != ',' && c != '}' && !isWhitespace(c)) {
+                    appendField((char) c);
+                    c = in.read();
+                }
+                if (fieldLength() == 0) {
+                    throw malformed("Expected a value"); //NOI18N
+                }
+                if (!fieldEquals("true") && !fieldEquals("false") //NOI18N
+                        && !fieldEquals("null") && !fieldIsNumber()) { //NOI18N
+                    throw malformed("Expected a string, number, true, false or null"); //NOI18N
+                }
+                if (target >= 0 && !fieldEquals("null")) { //NOI18N
+                    values[target] = fieldValue();
+                }
+                return skipWhitespace(c);
+        }
+    }
+
+    /**
+     * Whether the field buffer holds a JSON number literal.
+     */
+    private boolean fieldIsNumber() {
+        int length = fieldLength();
+        int i = 0;
+        if (i < length && fieldCharAt(i) == '-') {
+            i++;
+        }
+        if (i < length && fieldCharAt(i) == '0') {
+            i++;
+        } else {
+            int start = i;
+            i = skipDigits(i);
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i < length && fieldCharAt(i) == '.') {
+            int start = ++i;
+            i = skipDigits(i);
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i < length && (fieldCharAt(i) == 'e' || fieldCharAt(i) == 'E')) {
+            i++;
+            if (i < length && (fieldCharAt(i) == '+' || fieldCharAt(i) == '-')) {
+                i++;
+            }
+            int start = i;
+            i = skipDigits(i);
+            if (i == start) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private int skipDigits(int i) {
+        while (i < fieldLength() && fieldCharAt(i) >= '0' && fieldCharAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Read the rest of a string whose opening quote has been consumed,
+     * unescaping it into the field buffer if capture is true.
+     */
+    private void readString(boolean capture) throws IOException {
+        clearField();
+        for (;;) {
+            int c = in.read();
+            switch (c) {
+                case -1:
+                case '\n':
+                    throw malformed("Unterminated string"); //NOI18N
+                case '"':
+                    return;
+                case '\\':
+                    c = unescape(in.read());
+                    break;
+                default:
+                    break;
+            }
+            if (capture) {
+                appendField((char) c);
+            }
+        }
+    }
+
+    private int unescape(int c) throws IOException {
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int result = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(in.read(), 16);
+                    if (digit < 0) {
+                        throw malformed("Bad unicode escape"); //NOI18N
+                    }
+                    result = (result << 4) | digit;
+                }
+                return result;
+            default:
+                throw malformed("Bad escape"); //NOI18N
+        }
+    }
+
+    /**
+     * Skip an object or array whose opening bracket has been consumed.
+     */
+    private void skipNested() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = in.read();
+            switch (c) {
+                case -1:
+                    throw malformed("Unterminated object or array"); //NOI18N
+                case '"':
+                    readString(false);
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private int skipWhitespace(int c) throws IOException {
+        while (isWhitespace(c)) {
+            c = in.read();
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.IOException;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * Receives the problems found by a {@link StreamingValidator} as each
+ * record is validated, so that they can be written out or counted without
+ * the results for a whole file being held in memory.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public interface ProblemSink {
+
+    /**
+     * Called for each record which has problems, in the order the records
+     * appear in the input.  Records with no problems are not passed.
+     * <p/>
+     * The passed <code>Problems</code> is reused for the next record, so it
+     * must not be retained;  copy it with
+     * {@link Problems#addAll(Problems)} if it needs to be kept.
+     *
+     * @param record The zero-based index of the record, not counting any
+     * header line
+     * @param problems The problems with it
+     * @throws IOException if writing the problems fails, which stops
+     * validation
+     */
+    void problems(long record, Problems problems) throws IOException;
+}
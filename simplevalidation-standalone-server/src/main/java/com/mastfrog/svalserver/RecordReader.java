@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Tokenizes records from a {@link CharInput} into the values of the fields
+ * of a schema.  Only the characters of fields the schema validates are
+ * collected, into a single reused buffer, so a <code>String</code> is
+ * created once per validated value and never for anything else.
+ *
+ * @author Tim Boudreau
+ */
+abstract class RecordReader {
+
+    protected final CharInput in;
+    private final String[] fieldNames;
+    private char[] field = new char[64];
+    private int fieldLength;
+    private long record;
+
+    RecordReader(CharInput in, ValidationSchema schema) {
+        this.in = in;
+        this.fieldNames = schema.fields();
+    }
+
+    /**
+     * Read the next record, storing the value of each field in the slot of
+     * the passed array matching its index in the schema.  Fields absent from
+     * the record are left null.
+     *
+     * @return false at the end of input
+     */
+    final boolean next(String[] values) throws IOException {
+        Arrays.fill(values, null);
+        boolean result = readRecord(values);
+        if (result) {
+            record++;
+        }
+        return result;
+    }
+
+    protected abstract boolean readRecord(String[] values) throws IOException;
+
+    protected final void clearField() {
+        fieldLength = 0;
+    }
+
+    protected final void appendField(char c) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = c;
+    }
+
+    protected final int fieldLength() {
+        return fieldLength;
+    }
+
+    protected final char fieldCharAt(int index) {
+        return field[index];
+    }
+
+    protected final String fieldValue() {
+        return new String(field, 0, fieldLength);
+    }
+
+    /**
+     * Get the schema index of the field whose name is in the buffer,
+     * without creating a string.
+     *
+     * @return The index, or -1 if the schema does not validate it
+     */
+    protected final int fieldIndex() {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldEquals(fieldNames[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected final boolean fieldEquals(String s) {
+        if (s.length() != fieldLength) {
+            return false;
+        }
+        for (int i = 0; i < fieldLength; i++) {
+            if (s.charAt(i) != field[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected final IOException malformed(String what) {
+        return new IOException(what + " in record " + record); //NOI18N
+    }
+}
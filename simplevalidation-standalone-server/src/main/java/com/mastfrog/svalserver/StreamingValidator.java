@@ -0,0 +1,155 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * Validates records as they are read from a CSV or JSON lines file or
+ * stream, passing the problems with each record to a {@link ProblemSink}
+ * as it goes.  Unlike {@link ValidationSchema#validateAll(Iterable)}, no
+ * record is kept after it has been validated, so memory use does not grow
+ * with the size of the input:
+ * <pre>
+ * StreamingValidator validator = new StreamingValidator(schema);
+ * long records = validator.validateCsv(path, StandardCharsets.UTF_8,
+ *         (record, problems) -&gt; out.println(record + ": " + problems));
+ * </pre>
+ * Input is decoded through fixed-size buffers - files are mapped into
+ * memory a window at a time - and only the fields the schema validates
+ * are turned into strings.  Fields the schema validates which are absent
+ * from a record are validated as empty strings, as with
+ * {@link ValidationSchema#validate(java.util.Map)}.
+ * <p/>
+ * Supported formats are CSV as described by RFC 4180, with a header line
+ * naming the columns, and JSON lines, with one flat object per record.
+ * Malformed input results in an <code>IOException</code> naming the
+ * record where it was detected;  input which cannot be decoded in the
+ * given character set results in a
+ * {@link java.nio.charset.CharacterCodingException}.
+ * <p/>
+ * A StreamingValidator may be used by multiple threads at once to
+ * validate different inputs.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public final class StreamingValidator {
+
+    private final ValidationSchema schema;
+
+    /**
+     * Create a streaming validator.
+     * @param schema The schema records are validated against
+     */
+    public StreamingValidator(ValidationSchema schema) {
+        if (schema == null) {
+            throw new NullPointerException();
+        }
+        this.schema = schema;
+    }
+
+    /**
+     * Validate the records in a CSV file.
+     *
+     * @param file The file
+     * @param charset The character set it is encoded in
+     * @param sink Receives the problems with each record which has them
+     * @return The number of records validated, not counting the header
+     * @throws IOException if reading fails or the input is malformed
+     */
+    public long validateCsv(Path file, Charset charset, ProblemSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return run(new CsvRecordReader(mapped(channel, charset), schema), sink);
+        }
+    }
+
+    /**
+     * Validate the records read from a channel containing CSV.  The channel
+     * is not closed.
+     *
+     * @param in A blocking channel
+     * @param charset The character set the input is encoded in
+     * @param sink Receives the problems with each record which has them
+     * @return The number of records validated, not counting the header
+     * @throws IOException if reading fails or the input is malformed
+     */
+    public long validateCsv(ReadableByteChannel in, Charset charset, ProblemSink sink) throws IOException {
+        return run(new CsvRecordReader(buffered(in, charset), schema), sink);
+    }
+
+    /**
+     * Validate the records in a JSON lines file.
+     *
+     * @param file The file
+     * @param charset The character set it is encoded in
+     * @param sink Receives the problems with each record which has them
+     * @return The number of records validated
+     * @throws IOException if reading fails or the input is malformed
+     */
+    public long validateJsonLines(Path file, Charset charset, ProblemSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return run(new JsonLinesRecordReader(mapped(channel, charset), schema), sink);
+        }
+    }
+
+    /**
+     * Validate the records read from a channel containing JSON lines.  The
+     * channel is not closed.
+     *
+     * @param in A blocking channel
+     * @param charset The character set the input is encoded in
+     * @param sink Receives the problems with each record which has them
+     * @return The number of records validated
+     * @throws IOException if reading fails or the input is malformed
+     */
+    public long validateJsonLines(ReadableByteChannel in, Charset charset, ProblemSink sink) throws IOException {
+        return run(new JsonLinesRecordReader(buffered(in, charset), schema), sink);
+    }
+
+    private static CharInput mapped(FileChannel channel, Charset charset) throws IOException {
+        return CharInput.mapped(channel, charset, CharInput.MAP_WINDOW, CharInput.CHAR_BUFFER_SIZE);
+    }
+
+    private static CharInput buffered(ReadableByteChannel in, Charset charset) {
+        return CharInput.channel(in, charset, CharInput.READ_BUFFER_SIZE, CharInput.CHAR_BUFFER_SIZE);
+    }
+
+    private long run(RecordReader reader, ProblemSink sink) throws IOException {
+        String[] values = new String[schema.fields().length];
+        Problems scratch = new Problems();
+        long record = 0;
+        while (reader.next(values)) {
+            schema.validate(values, scratch.reset());
+            if (!scratch.isEmpty()) {
+                sink.problems(record, scratch);
+            }
+            record++;
+        }
+        return record;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingValidator{" + schema + "}"; //NOI18N
+    }
+}
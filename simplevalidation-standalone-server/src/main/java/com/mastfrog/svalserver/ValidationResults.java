@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * The result of validating a batch of records with
+ * {@link ValidationSchema#validateAll(Iterable)}.  Records are identified
+ * by their position in the batch.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public final class ValidationResults {
+
+    // Null for records which have no problems, so a clean batch costs one
+    // reference per record
+    private final List<Problems> problems = new ArrayList<Problems>();
+    private int recordsWithProblems;
+    private int recordsWithFatalProblems;
+
+    ValidationResults() {
+    }
+
+    /**
+     * Add the problems for the next record, copying them if there are any,
+     * so that the caller can reuse the passed instance.
+     */
+    void add(Problems recordProblems) {
+        if (recordProblems.isEmpty()) {
+            problems.add(null);
+        } else {
+            problems.add(new Problems().addAll(recordProblems));
+            recordsWithProblems++;
+            if (recordProblems.hasFatal()) {
+                recordsWithFatalProblems++;
+            }
+        }
+    }
+
+    /**
+     * Append the results for the batch of records following this one.
+     */
+    void addAll(ValidationResults next) {
+        problems.addAll(next.problems);
+        recordsWithProblems += next.recordsWithProblems;
+        recordsWithFatalProblems += next.recordsWithFatalProblems;
+    }
+
+    /**
+     * Get the number of records validated.
+     * @return The number of records
+     */
+    public int size() {
+        return problems.size();
+    }
+
+    /**
+     * Determine if a record has any problems.
+     * @param record The index of the record
+     * @return true if it has problems of any severity
+     */
+    public boolean hasProblems(int record) {
+        return problems.get(record) != null;
+    }
+
+    /**
+     * Get the problems with a record.
+     * @param record The index of the record
+     * @return The problems, which will be empty if there were none
+     */
+    public Problems problems(int record) {
+        Problems result = problems.get(record);
+        return result == null ? new Problems() : result;
+    }
+
+    /**
+     * Get the indices of the records which have problems.
+     * @return An array of record indices, in ascending order
+     */
+    public int[] recordsWithProblems() {
+        int[] result = new int[recordsWithProblems];
+        for (int i = 0, j = 0; j < result.length; i++) {
+            if (problems.get(i) != null) {
+                result[j++] = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of records which have problems of any severity.
+     * @return The number of records
+     */
+    public int problemCount() {
+        return recordsWithProblems;
+    }
+
+    /**
+     * Get the number of records which have fatal problems.
+     * @return The number of records
+     */
+    public int fatalCount() {
+        return recordsWithFatalProblems;
+    }
+
+    /**
+     * Determine if any record has a fatal problem.
+     * @return true if any record is invalid
+     */
+    public boolean hasFatal() {
+        return recordsWithFatalProblems > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResults{" + size() + " records, " //NOI18N
+                + recordsWithProblems + " with problems, " //NOI18N
+                + recordsWithFatalProblems + " fatal}"; //NOI18N
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.ValidatorUtils;
+
+/**
+ * Maps the names of fields in a record to the validators which should be
+ * run against their values, for validating records in bulk without any UI.
+ * A record is simply a <code>Map&lt;String,String&gt;</code> of field names
+ * to values, such as a row of a CSV file or a submitted form.
+ * <p/>
+ * Create one with {@link #builder()}, once, and reuse it:
+ * <pre>
+ * ValidationSchema schema = ValidationSchema.builder()
+ *         .add("name", StringValidators.REQUIRE_NON_EMPTY_STRING)
+ *         .add("host", StringValidators.REQUIRE_NON_EMPTY_STRING, StringValidators.HOST_NAME)
+ *         .build();
+ * ValidationResults results = schema.validateAll(records);
+ * </pre>
+ * A schema is immutable, and may be used from multiple threads at once
+ * provided its validators can be - the built-in ones can.  Large batches
+ * can be split across threads with
+ * {@link #validateAll(List, ForkJoinPool)} or
+ * {@link #validateAll(List, ExecutorService)}.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public final class ValidationSchema {
+
+    // Parallel lists rather than a map, since every record is validated
+    // against every field in order
+    private final String[] fields;
+    private final List<Validator<String>> validators;
+
+    private ValidationSchema(String[] fields, List<Validator<String>> validators) {
+        this.fields = fields;
+        this.validators = validators;
+    }
+
+    /**
+     * Create a builder for a schema.
+     * @return A builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the names of the fields this schema validates, in the order
+     * they are validated.
+     * @return The field names
+     */
+    public List<String> fieldNames() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Get the validator for a field.
+     * @param field The field name
+     * @return The validator, or null if the field is not part of this schema
+     */
+    public Validator<String> validatorFor(String field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(field)) {
+                return validators.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validate a single record, adding any problems to the passed Problems.
+     * Each field's validators are passed the field name as the component
+     * name, so that it appears in problem messages.  A field which is
+     * absent from the record is validated as an empty string, as an empty
+     * text field would be;  entries in the record which are not part of the
+     * schema are ignored.
+     *
+     * @param record The record
+     * @param into The problems to add to
+     * @return The passed problems
+     */
+    public Problems validate(Map<String, String> record, Problems into) {
+        for (int i = 0; i < fields.length; i++) {
+            String value = record.get(fields[i]);
+            validators.get(i).validate(into, fields[i], value == null ? "" : value); //NOI18N
+        }
+        return into;
+    }
+
+    /**
+     * Validate a record whose values are in the order of this schema's
+     * fields;  null values are validated as empty strings.
+     */
+    Problems validate(String[] values, Problems into) {
+        for (int i = 0; i < fields.length; i++) {
+            String value = values[i];
+            validators.get(i).validate(into, fields[i], value == null ? "" : value); //NOI18N
+        }
+        return into;
+    }
+
+    /**
+     * The field names, in order, for use by readers;  not to be modified.
+     */
+    String[] fields() {
+        return fields;
+    }
+
+    /**
+     * Validate a single record.
+     *
+     * @param record The record
+     * @return The problems found, if any
+     */
+    public Problems validate(Map<String, String> record) {
+        return validate(record, new Problems());
+    }
+
+    /**
+     * Validate a batch of records, in order.  This is the preferred way to
+     * validate large numbers of records:  a single accumulator is reused
+     * across the batch, and a <code>Problems</code> is only retained for
+     * records which actually have problems.
+     *
+     * @param records The records
+     * @return The results, indexed by the position of each record in the
+     * passed iterable
+     */
+    public ValidationResults validateAll(Iterable<? extends Map<String, String>> records) {
+        ValidationResults results = new ValidationResults();
+        Problems scratch = new Problems();
+        for (Map<String, String> record : records) {
+            results.add(validate(record, scratch.reset()));
+        }
+        return results;
+    }
+
+    /**
+     * Batches smaller than this are not worth splitting further.
+     */
+    private static final int MIN_BATCH = 256;
+
+    /**
+     * Validate a batch of records in parallel, by recursively splitting it
+     * across the passed pool.  Each task validates its part of the batch
+     * with its own accumulator as {@link #validateAll(Iterable)} does, and
+     * the results are reassembled in the order of the list.
+     *
+     * @param records The records;  the list should support fast random
+     * access and must not be modified until this method returns
+     * @param pool The pool to run on
+     * @return The results, indexed by the position of each record in the
+     * passed list
+     */
+    public ValidationResults validateAll(List<? extends Map<String, String>> records, ForkJoinPool pool) {
+        return pool.invoke(new ValidateTask(records, 0, records.size(),
+                batchSize(records.size(), pool.getParallelism())));
+    }
+
+    /**
+     * Validate a batch of records in parallel, by dividing it into
+     * contiguous batches and submitting those to the passed executor - for
+     * example, a fixed thread pool or an executor which starts a virtual
+     * thread per task.  Each batch is validated with its own accumulator
+     * as {@link #validateAll(Iterable)} does, and the results are
+     * reassembled in the order of the list.
+     *
+     * @param records The records;  the list should support fast random
+     * access and must not be modified until this method returns
+     * @param executor The executor to run on
+     * @return The results, indexed by the position of each record in the
+     * passed list
+     * @throws InterruptedException if interrupted while waiting for the
+     * batches to complete, in which case the remaining ones are cancelled
+     */
+    public ValidationResults validateAll(List<? extends Map<String, String>> records, ExecutorService executor) throws InterruptedException {
+        int size = records.size();
+        int batchSize = batchSize(size, Runtime.getRuntime().availableProcessors());
+        List<Future<ValidationResults>> futures = new ArrayList<Future<ValidationResults>>(size / batchSize + 1);
+        try {
+            for (int start = 0; start < size; start += batchSize) {
+                final List<? extends Map<String, String>> batch = records.subList(start, Math.min(size, start + batchSize));
+                futures.add(executor.submit(new Callable<ValidationResults>() {
+                    @Override
+                    public ValidationResults call() {
+                        return validateAll(batch);
+                    }
+                }));
+            }
+            ValidationResults result = new ValidationResults();
+            for (Future<ValidationResults> f : futures) {
+                result.addAll(f.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (Future<ValidationResults> f : futures) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Aim for a few batches per thread, so that threads which finish early
+     * can pick up more work.
+     */
+    private static int batchSize(int records, int parallelism) {
+        return Math.max(MIN_BATCH, records / (Math.max(1, parallelism) * 4));
+    }
+
+    private final class ValidateTask extends RecursiveTask<ValidationResults> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends Map<String, String>> records;
+        private final int start;
+        private final int end;
+        private final int batchSize;
+
+        ValidateTask(List<? extends Map<String, String>> records, int start, int end, int batchSize) {
+            this.records = records;
+            this.start = start;
+            this.end = end;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected ValidationResults compute() {
+            if (end - start <= batchSize) {
+                return validateAll(records.subList(start, end));
+            }
+            int middle = (start + end) >>> 1;
+            ValidateTask second = new ValidateTask(records, middle, end, batchSize);
+            second.fork();
+            ValidationResults result = new ValidateTask(records, start, middle, batchSize).compute();
+            result.addAll(second.join());
+            return result;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ValidationSchema{"); //NOI18N
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(", "); //NOI18N
+            }
+            sb.append(fields[i]).append('=').append(validators.get(i));
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Builds a {@link ValidationSchema}.
+     */
+    public static final class Builder {
+
+        private final List<String> fields = new ArrayList<String>();
+        private final List<Validator<String>> validators = new ArrayList<Validator<String>>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a field, validated by the passed validators logically
+         * AND'd together, as with
+         * {@link ValidatorUtils#merge(org.netbeans.validation.api.Validator...)}.
+         *
+         * @param field The field name
+         * @param validators One or more validators
+         * @return this
+         * @throws IllegalArgumentException if the field has already been added
+         */
+        @SafeVarargs
+        public final Builder add(String field, Validator<String>... validators) {
+            if (validators.length == 0) {
+                throw new IllegalArgumentException("No validators for " + field); //NOI18N
+            }
+            // Merged pairwise, which ends in the same flat chain as merging
+            // them all at once, without handing on the varargs array
+            Validator<String> merged = validators[0];
+            for (int i = 1; i < validators.length; i++) {
+                merged = ValidatorUtils.merge(merged, validators[i]);
+            }
+            return add(field, merged);
+        }
+
+        /**
+         * Add a field, validated by the passed validator.
+         * <p>Unlike {@link #add(String, Validator...)}, calling this method
+         * does not trigger warnings under {@code -Xlint:unchecked}.
+         *
+         * @param field The field name
+         * @param validator A validator
+         * @return this
+         * @throws IllegalArgumentException if the field has already been added
+         */
+        public Builder add(String field, Validator<String> validator) {
+            if (field == null || validator == null) {
+                throw new NullPointerException();
+            }
+            if (fields.contains(field)) {
+                throw new IllegalArgumentException("Field added twice: " + field); //NOI18N
+            }
+            fields.add(field);
+            validators.add(validator);
+            return this;
+        }
+
+        /**
+         * Create the schema.
+         * @return A schema
+         */
+        public ValidationSchema build() {
+            return new ValidationSchema(fields.toArray(new String[fields.size()]),
+                    new ArrayList<Validator<String>>(validators));
+        }
+    }
+}
@@ -1,15 +0,0 @@
-package com.mastfrog.svalserver;
-
-/**
- * This class exists to generate empty javadoc and source jars to
- * satisfy Sonatype's staging repository.  This project is simply
- * an aggregation of its dependencies with some omitted.
- *
- * @author Tim Boudreau
- */
-public final class _MakeSonatypeHappy {
-
-    private _MakeSonatypeHappy() {
-        throw new AssertionError();
-    }
-}
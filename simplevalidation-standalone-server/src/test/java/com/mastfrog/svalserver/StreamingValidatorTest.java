@@ -0,0 +1,169 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Severity;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+
+public class StreamingValidatorTest {
+
+    private final ValidationSchema schema = ValidationSchema.builder()
+            .add("name", StringValidators.REQUIRE_NON_EMPTY_STRING)
+            .add("host", StringValidators.REQUIRE_NON_EMPTY_STRING, StringValidators.HOST_NAME)
+            .build();
+
+    private final StreamingValidator validator = new StreamingValidator(schema);
+
+    private static ReadableByteChannel channel(String s) {
+        return Channels.newChannel(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class Collector implements ProblemSink {
+
+        final List<Long> records = new ArrayList<Long>();
+        final List<Problems> problems = new ArrayList<Problems>();
+
+        @Override
+        public void problems(long record, Problems ps) {
+            records.add(record);
+            problems.add(new Problems().addAll(ps));
+        }
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        String csv = "id,host,name\r\n"
+                + "1,foo.com,a\r\n"
+                + "2,\"foo_bar.com\",b\n"
+                + "\n"
+                + "3,foo.com,\"\"\n"
+                + "4,foo.com,\"multi\nline, \"\"quoted\"\"\"\n"
+                + "5,foo.com\n"
+                + "6,foo.com,c,extra";
+        Collector c = new Collector();
+        assertEquals(6, validator.validateCsv(channel(csv), StandardCharsets.UTF_8, c));
+        assertEquals("[1, 2, 4]", c.records.toString());
+        for (Problems ps : c.problems) {
+            assertTrue(ps.hasFatal());
+        }
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        String json = "{\"name\": \"a\", \"host\": \"foo.com\"}\n"
+                + "{\"host\":\"foo_bar.com\",\"name\":\"b\",\"other\":[1,{\"x\":\"]\"}]}\n"
+                + "\n"
+                + "{\"name\": null, \"host\": \"foo.com\", \"n\": 5}\n"
+                + "{\"name\": \"\\u0041\\n\", \"host\": \"foo.com\"}\n"
+                + "{}\n";
+        Collector c = new Collector();
+        assertEquals(5, validator.validateJsonLines(channel(json), StandardCharsets.UTF_8, c));
+        assertEquals("[1, 2, 4]", c.records.toString());
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        Path file = Files.createTempFile("StreamingValidatorTest", ".csv");
+        try {
+            StringBuilder sb = new StringBuilder("name,host\n");
+            for (int i = 0; i < 1000; i++) {
+                sb.append(i % 10 == 0 ? "" : "né" + i).append(",h").append(i).append(".com\n");
+            }
+            Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+            Collector c = new Collector();
+            assertEquals(1000, validator.validateCsv(file, StandardCharsets.UTF_8, c));
+            assertEquals(100, c.records.size());
+            assertEquals(Long.valueOf(990), c.records.get(99));
+            assertEquals(Severity.FATAL, c.problems.get(0).getLeadProblem().severity());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCharactersSplitAcrossBuffers() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("aé中😀");
+        }
+        String text = sb.toString();
+        Path file = Files.createTempFile("StreamingValidatorTest", ".txt");
+        try {
+            Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertEquals(text, readAll(CharInput.mapped(ch, StandardCharsets.UTF_8, 7, 5)));
+            }
+            assertEquals(text, readAll(CharInput.channel(channel(text), StandardCharsets.UTF_8, 7, 5)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static String readAll(CharInput in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int c = in.read(); c >= 0; c = in.read()) {
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnterminatedQuote() throws IOException {
+        validator.validateCsv(channel("name,host\n\"a,foo.com\n"), StandardCharsets.UTF_8, new Collector());
+    }
+
+    @Test
+    public void testMalformedJson() throws IOException {
+        String[] malformed = {
+            "{\"name\" \"a\"}\n",
+            "{\"name\":}\n",
+            "{\"name\":,\"host\":\"x\"}\n",
+            "{\"other\": , \"name\": \"a\"}\n",
+            "{\"name\": abc}\n",
+            "{\"name\": 01}\n",
+            "{\"name\": 1.}\n",
+            "{\"name\": -}\n",
+            "{\"name\": 1e}\n",
+        };
+        for (String json : malformed) {
+            try {
+                validator.validateJsonLines(channel(json), StandardCharsets.UTF_8, new Collector());
+                fail("Accepted " + json);
+            } catch (IOException expected) {
+                // ok
+            }
+        }
+        Collector c = new Collector();
+        assertEquals(1, validator.validateJsonLines(channel(
+                "{\"name\": -1.5E+3, \"host\": \"foo.com\", \"a\": true, \"b\": false, \"n\": 0}\n"),
+                StandardCharsets.UTF_8, c));
+        assertTrue(c.records.isEmpty());
+    }
+}
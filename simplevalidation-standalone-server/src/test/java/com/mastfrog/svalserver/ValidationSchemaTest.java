@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mastfrog.svalserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Severity;
+import org.netbeans.validation.api.ValidatorUtils;
+import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
+
+public class ValidationSchemaTest {
+
+    private final ValidationSchema schema = ValidationSchema.builder()
+            .add("name", StringValidators.REQUIRE_NON_EMPTY_STRING)
+            .add("host", StringValidators.REQUIRE_NON_EMPTY_STRING, StringValidators.HOST_NAME)
+            .add("port", ValidatorUtils.limitSeverity(Severity.WARNING, StringValidators.REQUIRE_VALID_INTEGER))
+            .build();
+
+    private static Map<String, String> record(String name, String host, String port) {
+        Map<String, String> result = new HashMap<String, String>();
+        result.put("name", name);
+        result.put("host", host);
+        if (port != null) {
+            result.put("port", port);
+        }
+        return result;
+    }
+
+    @Test
+    public void testValidate() {
+        assertTrue(schema.validate(record("a", "foo.com", "80")).isEmpty());
+        Problems ps = schema.validate(record("", "foo.com", "80"));
+        assertTrue(ps.hasFatal());
+        assertTrue(ps.getLeadProblem().getMessage(), ps.getLeadProblem().getMessage().contains("name"));
+        // A missing field is validated as an empty string
+        ps = schema.validate(record("a", "foo.com", null));
+        assertFalse(ps.hasFatal());
+        assertEquals(1, ps.count(Severity.WARNING));
+        assertEquals("[name, host, port]", schema.fieldNames().toString());
+        assertNull(schema.validatorFor("nothing"));
+    }
+
+    @Test
+    public void testValidateAll() {
+        List<Map<String, String>> records = new ArrayList<Map<String, String>>();
+        records.add(record("a", "foo.com", "80"));
+        records.add(record("b", "foo_bar.com", "80"));
+        records.add(record("c", "foo.com", "eighty"));
+        records.add(record("d", "foo.com", "8080"));
+        ValidationResults results = schema.validateAll(records);
+        assertEquals(4, results.size());
+        assertEquals(2, results.problemCount());
+        assertEquals(1, results.fatalCount());
+        assertTrue(results.hasFatal());
+        assertFalse(results.hasProblems(0));
+        assertTrue(results.problems(0).isEmpty());
+        assertTrue(results.problems(1).hasFatal());
+        assertEquals(Severity.WARNING, results.problems(2).getLeadProblem().severity());
+        assertArrayEquals(new int[]{1, 2}, results.recordsWithProblems());
+    }
+
+    @Test
+    public void testValidateAllInParallel() throws Exception {
+        List<Map<String, String>> records = new ArrayList<Map<String, String>>();
+        for (int i = 0; i < 5000; i++) {
+            switch (i % 7) {
+                case 0:
+                    records.add(record("", "foo.com", "80"));
+                    break;
+                case 3:
+                    records.add(record("n" + i, "foo.com", "port" + i));
+                    break;
+                default:
+                    records.add(record("n" + i, "host" + i + ".com", Integer.toString(i)));
+            }
+        }
+        ValidationResults expected = schema.validateAll((Iterable<Map<String, String>>) records);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSameResults(expected, schema.validateAll(records, pool));
+        } finally {
+            pool.shutdown();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertSameResults(expected, schema.validateAll(records, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertSameResults(ValidationResults expected, ValidationResults got) {
+        assertEquals(expected.size(), got.size());
+        assertEquals(expected.problemCount(), got.problemCount());
+        assertEquals(expected.fatalCount(), got.fatalCount());
+        assertArrayEquals(expected.recordsWithProblems(), got.recordsWithProblems());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.problems(i).toString(), got.problems(i).toString());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateField() {
+        ValidationSchema.builder()
+                .add("name", StringValidators.REQUIRE_NON_EMPTY_STRING)
+                .add("name", StringValidators.NO_WHITESPACE);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.conversion.swing;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.conversion.Converter;
+import org.openide.util.lookup.ServiceProvider;
+
+/**
+ * Converts validators of <code>CharSequence</code>s into validators of
+ * documents which pass them a view of the document's text, rather than a
+ * copy of it as {@link StringToDocumentConverter} must.  Validating a large
+ * text area after each edit then allocates nothing in proportion to the
+ * size of its content.  The view is only read under the document's read
+ * lock, while the validator runs;  an
+ * {@link org.netbeans.validation.api.AsyncValidator} whose result is
+ * deferred is passed a copy of the text instead, since it runs after the
+ * lock is released.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+@ServiceProvider(service=Converter.class)
+public final class CharSequenceToDocumentConverter extends Converter<CharSequence, Document> {
+
+    public CharSequenceToDocumentConverter() {
+        super (CharSequence.class, Document.class);
+    }
+
+    @Override
+    public Validator<Document> convert(Validator<CharSequence> from) {
+        return new DocValidator (from);
+    }
+
+    private static final class DocValidator extends AbstractValidator<Document> {
+        private final Validator<CharSequence> wrapped;
+
+        private DocValidator(Validator<CharSequence> from) {
+            super (Document.class);
+            this.wrapped = from;
+        }
+
+        @Override
+        public void validate(final Problems problems, final String compName, final Document model) {
+            final BadLocationException[] failure = new BadLocationException[1];
+            model.render(new Runnable() {
+                @Override
+                public void run() {
+                    DocumentText text;
+                    try {
+                        text = new DocumentText(model);
+                    } catch (BadLocationException ex) {
+                        failure[0] = ex;
+                        return;
+                    }
+                    wrapped.validate(problems, compName, text);
+                }
+            });
+            if (failure[0] != null) {
+                throw new IllegalStateException (failure[0]);
+            }
+        }
+
+        @Override
+        public int cost() {
+            return wrapped.cost();
+        }
+
+        @Override
+        public String toString() {
+            return "DocValidator for [" + wrapped + "]"; //NOI18N
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.conversion.swing;
+
+import java.util.Arrays;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * A read-only <code>CharSequence</code> view of the text of a document,
+ * for passing to validators of character sequences.  It is gathered with
+ * <code>Document.getText(int, int, Segment)</code> with partial returns
+ * enabled, so it refers to the document's own storage rather than copying
+ * it.  That storage is normally split in at most two pieces, around the
+ * gap of a <code>GapContent</code>.
+ * <p/>
+ * The view is only valid until the document is next modified, so it
+ * should only be used while holding the document's read lock - for
+ * example, within <code>Document.render()</code> - or from a
+ * <code>DocumentListener</code>.  {@link #subSequence(int, int)} and
+ * {@link #toString()} return copies, which remain valid.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public final class DocumentText implements CharSequence {
+
+    private Segment[] segments = new Segment[2];
+    // The offset in the document of the start of each segment
+    private int[] starts = new int[2];
+    private int count;
+    private int length;
+
+    /**
+     * Create a view of the current text of a document.
+     * @param doc The document
+     * @throws BadLocationException if the document changes while the
+     * view is being created, which can only happen if the caller does not
+     * hold its read lock
+     */
+    public DocumentText(Document doc) throws BadLocationException {
+        length = doc.getLength();
+        int offset = 0;
+        while (offset < length) {
+            if (count == segments.length) {
+                segments = Arrays.copyOf(segments, count * 2);
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            Segment segment = new Segment();
+            segment.setPartialReturn(true);
+            doc.getText(offset, length - offset, segment);
+            if (segment.count == 0) {
+                throw new BadLocationException("No text returned", offset); //NOI18N
+            }
+            segments[count] = segment;
+            starts[count++] = offset;
+            offset += segment.count;
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index + " of " + length); //NOI18N
+        }
+        int segment = count - 1;
+        while (starts[segment] > index) {
+            segment--;
+        }
+        Segment s = segments[segment];
+        return s.array[s.offset + index - starts[segment]];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException(start + "-" + end + " of " + length); //NOI18N
+        }
+        return new String(copy(start, end));
+    }
+
+    @Override
+    public String toString() {
+        return new String(copy(0, length));
+    }
+
+    private char[] copy(int start, int end) {
+        char[] result = new char[end - start];
+        for (int i = 0; i < count; i++) {
+            Segment s = segments[i];
+            int segStart = Math.max(start, starts[i]);
+            int segEnd = Math.min(end, starts[i] + s.count);
+            if (segStart < segEnd) {
+                System.arraycopy(s.array, s.offset + segStart - starts[i],
+                        result, segStart - start, segEnd - segStart);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.conversion.swing;
+
+import javax.swing.ListSelectionModel;
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.builtin.indexvalidation.IndexSelection;
+import org.netbeans.validation.api.conversion.Converter;
+import org.openide.util.lookup.ServiceProvider;
+
+/**
+ * Converts validators of {@link IndexSelection}s into validators of list
+ * selection models, which pass them the model's selection as a
+ * {@link ListSelectionIntervals}.  Unlike
+ * {@link SelectedIndicesToListSelectionModelConverter}, nothing is allocated
+ * per selected index.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+@ServiceProvider(service=Converter.class)
+public final class IndexSelectionToListSelectionModelConverter extends Converter<IndexSelection, ListSelectionModel> {
+
+    public IndexSelectionToListSelectionModelConverter() {
+        super (IndexSelection.class, ListSelectionModel.class);
+    }
+
+    @Override
+    public Validator<ListSelectionModel> convert(Validator<IndexSelection> from) {
+        return new SelectionValidator (from);
+    }
+
+    private static final class SelectionValidator extends AbstractValidator<ListSelectionModel> {
+        private final Validator<IndexSelection> wrapped;
+
+        private SelectionValidator(Validator<IndexSelection> wrapped) {
+            super (ListSelectionModel.class);
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public void validate(Problems problems, String compName, ListSelectionModel model) {
+            wrapped.validate(problems, compName, ListSelectionIntervals.of(model));
+        }
+
+        @Override
+        public int cost() {
+            return wrapped.cost();
+        }
+
+        @Override
+        public String toString() {
+            return "SelectionValidator for [" + wrapped + "]"; //NOI18N
+        }
+    }
+}
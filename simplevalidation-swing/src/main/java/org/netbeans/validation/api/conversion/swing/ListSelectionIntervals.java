@@ -0,0 +1,254 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.conversion.swing;
+
+import java.util.Arrays;
+import javax.swing.ListSelectionModel;
+import org.netbeans.validation.api.builtin.indexvalidation.IndexSelection;
+
+/**
+ * The selection of a <code>ListSelectionModel</code> as an
+ * {@link IndexSelection}, held as two sorted arrays of interval bounds
+ * rather than as one boxed <code>Integer</code> per selected index.
+ * <p/>
+ * It is a snapshot, but can be kept current cheaply:  a
+ * <code>ListSelectionEvent</code> gives the range of indices whose selection
+ * may have changed, and {@link #update(ListSelectionModel, int, int)}
+ * rescans only that range and splices the result into the intervals
+ * around it.  Selecting a range with one shift-click therefore costs
+ * a single interval, however many items it covers.
+ * <p/>
+ * Instances are not thread-safe;  like the model they view, they should
+ * only be used on the event thread.  Use {@link #snapshot()} to get an
+ * immutable copy to hand to another thread.
+ *
+ * @author Tim Boudreau
+ * @since 1.15
+ */
+public final class ListSelectionIntervals implements IndexSelection {
+
+    private int[] starts = new int[4];
+    private int[] ends = new int[4];
+    private int count;
+    // Intervals found by the last rescan, before they are spliced in
+    private int[] scannedStarts = new int[4];
+    private int[] scannedEnds = new int[4];
+    private int scanned;
+
+    /**
+     * Create an empty selection.
+     */
+    public ListSelectionIntervals() {
+    }
+
+    /**
+     * Get the current selection of a model.  This scans only the indices
+     * between the model's minimum and maximum selection index.
+     *
+     * @param model The model
+     * @return Its selection
+     */
+    public static ListSelectionIntervals of(ListSelectionModel model) {
+        ListSelectionIntervals result = new ListSelectionIntervals();
+        if (!model.isSelectionEmpty()) {
+            result.update(model, model.getMinSelectionIndex(), model.getMaxSelectionIndex());
+        }
+        return result;
+    }
+
+    /**
+     * Bring this selection up to date with a model, given that the selection
+     * of indices outside a range is unchanged since this was last up to date
+     * with it - as reported by <code>ListSelectionEvent.getFirstIndex()</code>
+     * and <code>getLastIndex()</code>.
+     *
+     * @param model The model
+     * @param first The first index whose selection may have changed
+     * @param last The last index whose selection may have changed, inclusive
+     */
+    public void update(ListSelectionModel model, int first, int last) {
+        if (first > last) {
+            int tmp = first;
+            first = last;
+            last = tmp;
+        }
+        first = Math.max(0, first);
+        if (last < 0) {
+            return;
+        }
+        // The intervals which overlap or touch the range are replaced;
+        // any part of them outside it is still selected
+        int from = firstEndingAtOrAfter(first - 1);
+        int to = from;
+        while (to < count && starts[to] <= last + 1) {
+            to++;
+        }
+        int keepBefore = from < to && starts[from] < first ? starts[from] : -1;
+        int keepAfter = to > from && ends[to - 1] > last ? ends[to - 1] : -1;
+
+        // Nothing outside the model's minimum and maximum selection index
+        // is selected, so only the part of the range between them is scanned
+        int min = model.getMinSelectionIndex();
+        int max = model.getMaxSelectionIndex();
+        int scanFrom = first;
+        int scanTo = min < 0 ? first - 1 : Math.min(last, max);
+        scanned = 0;
+        int open = keepBefore;
+        if (min > first) {
+            if (open >= 0) {
+                addScanned(open, first - 1);
+                open = -1;
+            }
+            scanFrom = min;
+        }
+        for (int i = scanFrom; i <= scanTo; i++) {
+            if (model.isSelectedIndex(i)) {
+                if (open < 0) {
+                    open = i;
+                }
+            } else if (open >= 0) {
+                addScanned(open, i - 1);
+                open = -1;
+            }
+        }
+        if (scanTo < last && open >= 0) {
+            addScanned(open, Math.max(scanTo, scanFrom - 1));
+            open = -1;
+        }
+        if (keepAfter >= 0) {
+            addScanned(open >= 0 ? open : last + 1, keepAfter);
+        } else if (open >= 0) {
+            addScanned(open, last);
+        }
+        splice(from, to);
+    }
+
+    private int firstEndingAtOrAfter(int index) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ends[mid] < index) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void addScanned(int start, int end) {
+        if (scanned == scannedStarts.length) {
+            scannedStarts = Arrays.copyOf(scannedStarts, scanned * 2);
+            scannedEnds = Arrays.copyOf(scannedEnds, scanned * 2);
+        }
+        scannedStarts[scanned] = start;
+        scannedEnds[scanned++] = end;
+    }
+
+    private void splice(int from, int to) {
+        int newCount = count - (to - from) + scanned;
+        if (newCount > starts.length) {
+            int size = Math.max(newCount, starts.length * 2);
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+        }
+        System.arraycopy(starts, to, starts, from + scanned, count - to);
+        System.arraycopy(ends, to, ends, from + scanned, count - to);
+        System.arraycopy(scannedStarts, 0, starts, from, scanned);
+        System.arraycopy(scannedEnds, 0, ends, from, scanned);
+        count = newCount;
+    }
+
+    /**
+     * Get an immutable copy of this selection, which later updates do not
+     * affect and which may be used from any thread - for example by an
+     * asynchronous validator.
+     *
+     * @return A copy of the current selection
+     */
+    public IndexSelection snapshot() {
+        return new Snapshot(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    @Override
+    public int intervalCount() {
+        return count;
+    }
+
+    @Override
+    public int intervalStart(int interval) {
+        return bound(starts, count, interval);
+    }
+
+    @Override
+    public int intervalEnd(int interval) {
+        return bound(ends, count, interval);
+    }
+
+    @Override
+    public String toString() {
+        return toString(starts, ends, count);
+    }
+
+    private static int bound(int[] bounds, int count, int interval) {
+        if (interval >= count) {
+            throw new IndexOutOfBoundsException(interval + " of " + count); //NOI18N
+        }
+        return bounds[interval];
+    }
+
+    private static String toString(int[] starts, int[] ends, int count) {
+        StringBuilder sb = new StringBuilder("["); //NOI18N
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", "); //NOI18N
+            }
+            sb.append(starts[i]).append('-').append(ends[i]); //NOI18N
+        }
+        return sb.append(']').toString(); //NOI18N
+    }
+
+    private static final class Snapshot implements IndexSelection {
+        private final int[] starts;
+        private final int[] ends;
+
+        Snapshot(int[] starts, int[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        @Override
+        public int intervalCount() {
+            return starts.length;
+        }
+
+        @Override
+        public int intervalStart(int interval) {
+            return bound(starts, starts.length, interval);
+        }
+
+        @Override
+        public int intervalEnd(int interval) {
+            return bound(ends, ends.length, interval);
+        }
+
+        @Override
+        public String toString() {
+            return ListSelectionIntervals.toString(starts, ends, starts.length);
+        }
+    }
+}
@@ -15,8 +15,6 @@
  */
 package org.netbeans.validation.api.conversion.swing;
 
-import java.util.ArrayList;
-import java.util.List;
 import javax.swing.ListSelectionModel;
 import org.netbeans.validation.api.AbstractValidator;
 import org.netbeans.validation.api.Problems;
@@ -42,6 +40,7 @@ public class SelectedIndicesToListSelectionModelConverter extends Converter <Int
     }
 
     private static final class V extends AbstractValidator<ListSelectionModel> {
+        private static final Integer[] NONE = new Integer[0];
         private final Validator<Integer[]> wrapped;
 
         public V(Validator<Integer[]> wrapped) {
@@ -52,15 +51,26 @@ public class SelectedIndicesToListSelectionModelConverter extends Converter <Int
         @Override
         public void validate(Problems problems, String compName, ListSelectionModel model) {
             if(model.isSelectionEmpty()){
-                wrapped.validate(problems, compName, new Integer[0]);
+                wrapped.validate(problems, compName, NONE);
             } else {
-                List<Integer> list = new ArrayList<Integer>(model.getMaxSelectionIndex()+1 - model.getMinSelectionIndex());
-                for ( int i = model.getMinSelectionIndex(); i <= model.getMaxSelectionIndex(); ++i ){
+                // Count first, so the array is filled directly rather than
+                // through a list sized for the whole min-max range and copied
+                int min = model.getMinSelectionIndex();
+                int max = model.getMaxSelectionIndex();
+                int count = 0;
+                for ( int i = min; i <= max; ++i ){
                     if( model.isSelectedIndex(i)){
-                        list.add(i);
+                        count++;
                     }
                 }
-                wrapped.validate(problems, compName, list.toArray(new Integer[list.size()]));
+                Integer[] selected = new Integer[count];
+                count = 0;
+                for ( int i = min; i <= max; ++i ){
+                    if( model.isSelectedIndex(i)){
+                        selected[count++] = i;
+                    }
+                }
+                wrapped.validate(problems, compName, selected);
             }
         }
     }
@@ -15,16 +15,13 @@
  */
 package org.netbeans.validation.api.ui;
 
-import java.awt.Color;
 import org.netbeans.validation.api.Validator;
-import org.netbeans.validation.api.ui.*;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
-import java.util.ArrayList;
-import java.util.List;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import javax.swing.AbstractButton;
 import javax.swing.ButtonModel;
-import javax.swing.JColorChooser;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import org.netbeans.validation.api.Problems;
@@ -32,51 +29,158 @@ import org.netbeans.validation.api.Problems;
 /**
  * THIS CLASS AND EVERYTHING ELSE IN THIS PACKAGE IS NOT API.  DO NOT CALL
  * OR INSTANTIATE DIRECTLY.
+ * <p>
+ * Button models fire change events for rollover, arming and pressing as
+ * well as for selection, so each model's selected and enabled state is
+ * remembered, and only events which change one of those count.  The array
+ * of selected, enabled models passed to the validator is reused until the
+ * selection changes.  If a button's model is replaced, the new one is
+ * listened to instead.
  *
  * @author Hugo Heden
  */
-class ButtonsValidationListenerImpl extends ValidationListener<AbstractButton[]> implements ItemListener, ChangeListener{
+class ButtonsValidationListenerImpl extends ValidationListener<AbstractButton[]> {
 
     private final Validator<ButtonModel[]> validator;
-    private final AbstractButton[] buttons;
+    private final ButtonModel[] models;
+    private final boolean[] selected;
+    private final boolean[] enabled;
+    private int enabledCount;
+    // The selected, enabled models, or null if the selection has changed
+    // since it was last built
+    private ButtonModel[] selection;
+    private final CoalescingTrigger coalescer;
     public ButtonsValidationListenerImpl(AbstractButton[] buttons, ValidationUI validationUI, Validator<ButtonModel[]> validator) {
+        this(buttons, ValidationStrategy.DEFAULT, validationUI, validator);
+    }
+
+    public ButtonsValidationListenerImpl(AbstractButton[] buttons, ValidationStrategy strategy, ValidationUI validationUI, Validator<ButtonModel[]> validator) {
         super(AbstractButton[].class, validationUI, buttons);
+        if (strategy == null) {
+            throw new NullPointerException("strategy null");
+        }
         this.validator = validator;
-        this.buttons = buttons;
+        models = new ButtonModel[buttons.length];
+        selected = new boolean[buttons.length];
+        enabled = new boolean[buttons.length];
+        // Button models fire a change for every arm, press and rollover,
+        // so this is where coalescing helps most
+        coalescer = strategy == ValidationStrategy.COALESCED ? new CoalescingTrigger(this) : null;
         for (int i = 0; i < buttons.length; i++) {
-            buttons[i].getModel().addChangeListener(this);
-            buttons[i].getModel().addItemListener(this);
+            ButtonModel model = buttons[i].getModel();
+            models[i] = model;
+            selected[i] = model.isSelected();
+            enabled[i] = model.isEnabled();
+            if (enabled[i]) {
+                enabledCount++;
+            }
+            ModelListener listener = new ModelListener(i);
+            model.addChangeListener(listener);
+            model.addItemListener(listener);
+            buttons[i].addPropertyChangeListener(AbstractButton.MODEL_CHANGED_PROPERTY, listener);
         }
         performValidation(); // Make sure any initial errors are discovered immediately.
     }
 
-    @Override
-    public void itemStateChanged(ItemEvent e) {
-        performValidation();
+    private void modelChanged(int index) {
+        ButtonModel model = models[index];
+        boolean nowSelected = model.isSelected();
+        boolean nowEnabled = model.isEnabled();
+        if (nowSelected == selected[index] && nowEnabled == enabled[index]) {
+            // Rollover, armed or pressed
+            return;
+        }
+        if (nowEnabled != enabled[index]) {
+            enabledCount += nowEnabled ? 1 : -1;
+        }
+        if ((selected[index] && enabled[index]) != (nowSelected && nowEnabled)) {
+            selection = null;
+        }
+        selected[index] = nowSelected;
+        enabled[index] = nowEnabled;
+        triggerValidation();
     }
-    @Override
-    public void stateChanged(ChangeEvent pce) {
-        performValidation();
+
+    private void modelReplaced(int index, ButtonModel model) {
+        models[index] = model;
+        boolean nowEnabled = model.isEnabled();
+        if (nowEnabled != enabled[index]) {
+            enabledCount += nowEnabled ? 1 : -1;
+        }
+        selected[index] = model.isSelected();
+        enabled[index] = nowEnabled;
+        // The old model may be in the array passed to the validator
+        selection = null;
+        triggerValidation();
+    }
+
+    private void triggerValidation() {
+        if (coalescer != null) {
+            coalescer.trigger();
+        } else {
+            performValidation();
+        }
     }
 
     @Override
     protected void performValidation(Problems ps) {
-        boolean theyreAllDisabled = true;
-        List<ButtonModel> selectedButtons = new ArrayList<ButtonModel>();
-        for (AbstractButton button : buttons) {
-            if (button.getModel().isEnabled()) {
-                theyreAllDisabled = false;
-                if (button.getModel().isSelected()) {
-                    selectedButtons.add(button.getModel());
+        if (enabledCount == 0) {
+            return;
+        }
+        if (selection == null) {
+            int count = 0;
+            for (int i = 0; i < models.length; i++) {
+                if (selected[i] && enabled[i]) {
+                    count++;
                 }
             }
+            ButtonModel[] nue = new ButtonModel[count];
+            for (int i = 0, j = 0; j < count; i++) {
+                if (selected[i] && enabled[i]) {
+                    nue[j++] = models[i];
+                }
+            }
+            selection = nue;
         }
-        if (!theyreAllDisabled) {
-            validator.validate(ps, null, selectedButtons.toArray(new ButtonModel[selectedButtons.size()]));
-        }
+        validator.validate(ps, null, selection);
     }
 
-}
+    private final class ModelListener implements ItemListener, ChangeListener, PropertyChangeListener {
+
+        private final int index;
+
+        ModelListener(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void itemStateChanged(ItemEvent e) {
+            modelChanged(index);
+        }
 
+        @Override
+        public void stateChanged(ChangeEvent e) {
+            modelChanged(index);
+        }
 
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            ButtonModel old = (ButtonModel) evt.getOldValue();
+            if (old != null) {
+                old.removeChangeListener(this);
+                old.removeItemListener(this);
+            }
+            ButtonModel model = (ButtonModel) evt.getNewValue();
+            if (model != null) {
+                model.addChangeListener(this);
+                model.addItemListener(this);
+                modelReplaced(index, model);
+            }
+        }
+    }
 
+    @Override
+    boolean reusesProblems() {
+        return true;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Severity;
+
+/**
+ * The children of a {@link ValidationGroup}, most recently triggered first.
+ * The list is intrusive - the links live in the items themselves, which
+ * can only belong to one group - so moving the triggering child to the
+ * front costs the same however many children there are.
+ * <p>
+ * Children whose lead problem was non-null when they were last
+ * {@linkplain #moveToFront moved}, added or {@linkplain #reindexAll
+ * reindexed} are also linked into a list per severity, in the same
+ * order, so the group's lead problem - the most recent of the most
+ * severe - is the first item of the most severe non-empty list.
+ *
+ * @author Tim Boudreau
+ */
+final class ChildItems implements Iterable<ValidationItem> {
+
+    private static final Severity[] SEVERITIES = Severity.values();
+    private ValidationItem first;
+    private final ValidationItem[] firstOfSeverity = new ValidationItem[SEVERITIES.length];
+
+    boolean isEmpty() {
+        return first == null;
+    }
+
+    void addFirst(ValidationItem item) {
+        assert item.previous == null && item.next == null && first != item;
+        link(item);
+        index(item);
+    }
+
+    void remove(ValidationItem item) {
+        unindex(item);
+        unlink(item);
+    }
+
+    /**
+     * Make an item the most recent one, indexing it under the severity
+     * of its current lead problem.
+     */
+    void moveToFront(ValidationItem item) {
+        unindex(item);
+        if (first != item) {
+            unlink(item);
+            link(item);
+        }
+        index(item);
+    }
+
+    /**
+     * Rebuild the severity lists after the lead problems of any number of
+     * children have changed.
+     */
+    void reindexAll() {
+        ValidationItem[] lastOfSeverity = new ValidationItem[SEVERITIES.length];
+        for (int i = 0; i < firstOfSeverity.length; i++) {
+            firstOfSeverity[i] = null;
+        }
+        for (ValidationItem item = first; item != null; item = item.next) {
+            item.previousOfSeverity = null;
+            item.nextOfSeverity = null;
+            Problem p = item.getCurrentLeadProblem();
+            if (p == null) {
+                item.indexedSeverity = null;
+                continue;
+            }
+            int ix = p.severity().ordinal();
+            item.indexedSeverity = p.severity();
+            ValidationItem last = lastOfSeverity[ix];
+            if (last == null) {
+                firstOfSeverity[ix] = item;
+            } else {
+                last.nextOfSeverity = item;
+                item.previousOfSeverity = last;
+            }
+            lastOfSeverity[ix] = item;
+        }
+    }
+
+    /**
+     * Get the lead problem of the most recent of the children with the
+     * most severe lead problems.
+     */
+    Problem leadProblem() {
+        for (int i = firstOfSeverity.length - 1; i >= 0; i--) {
+            if (firstOfSeverity[i] != null) {
+                return firstOfSeverity[i].getCurrentLeadProblem();
+            }
+        }
+        return null;
+    }
+
+    private void link(ValidationItem item) {
+        item.previous = null;
+        item.next = first;
+        if (first != null) {
+            first.previous = item;
+        }
+        first = item;
+    }
+
+    private void unlink(ValidationItem item) {
+        if (item.previous == null) {
+            assert first == item;
+            first = item.next;
+        } else {
+            item.previous.next = item.next;
+        }
+        if (item.next != null) {
+            item.next.previous = item.previous;
+        }
+        item.previous = null;
+        item.next = null;
+    }
+
+    private void index(ValidationItem item) {
+        Problem p = item.getCurrentLeadProblem();
+        if (p == null) {
+            return;
+        }
+        int ix = p.severity().ordinal();
+        item.indexedSeverity = p.severity();
+        item.previousOfSeverity = null;
+        item.nextOfSeverity = firstOfSeverity[ix];
+        if (firstOfSeverity[ix] != null) {
+            firstOfSeverity[ix].previousOfSeverity = item;
+        }
+        firstOfSeverity[ix] = item;
+    }
+
+    private void unindex(ValidationItem item) {
+        if (item.indexedSeverity == null) {
+            return;
+        }
+        int ix = item.indexedSeverity.ordinal();
+        if (item.previousOfSeverity == null) {
+            assert firstOfSeverity[ix] == item;
+            firstOfSeverity[ix] = item.nextOfSeverity;
+        } else {
+            item.previousOfSeverity.nextOfSeverity = item.nextOfSeverity;
+        }
+        if (item.nextOfSeverity != null) {
+            item.nextOfSeverity.previousOfSeverity = item.previousOfSeverity;
+        }
+        item.previousOfSeverity = null;
+        item.nextOfSeverity = null;
+        item.indexedSeverity = null;
+    }
+
+    @Override
+    public Iterator<ValidationItem> iterator() {
+        return new Iterator<ValidationItem>() {
+            private ValidationItem nextItem = first;
+
+            @Override
+            public boolean hasNext() {
+                return nextItem != null;
+            }
+
+            @Override
+            public ValidationItem next() {
+                if (nextItem == null) {
+                    throw new NoSuchElementException();
+                }
+                ValidationItem result = nextItem;
+                nextItem = result.next;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.Timer;
+
+/**
+ * Collapses the change events of a component using
+ * {@link ValidationStrategy#COALESCED} into one validation of it.  The
+ * first event in an event queue cycle schedules a pass over the queue;
+ * later ones find it pending and do nothing.  When that pass runs it either
+ * validates, or, if the item has a
+ * {@linkplain ValidationItem#getCoalescingDelay coalescing delay}, restarts
+ * a timer so that validation happens once the component has been quiet for
+ * the delay.
+ * <p>
+ * {@link #trigger} may be called from any thread;  everything else happens
+ * on the event thread.
+ *
+ * @author Tim Boudreau
+ */
+final class CoalescingTrigger implements Runnable, ActionListener {
+
+    private final ValidationItem item;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Countdown countdown;
+
+    CoalescingTrigger(ValidationItem item) {
+        this.item = item;
+        this.countdown = new TimerCountdown(this);
+    }
+
+    CoalescingTrigger(ValidationItem item, Countdown countdown) {
+        this.item = item;
+        this.countdown = countdown;
+    }
+
+    /**
+     * Note that the component has changed.
+     */
+    void trigger() {
+        if (pending.compareAndSet(false, true)) {
+            EventQueue.invokeLater(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        pending.set(false);
+        int delay = item.getCoalescingDelay();
+        if (delay <= 0) {
+            countdown.stop();
+            item.performValidation();
+            return;
+        }
+        countdown.restart(delay);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        item.performValidation();
+    }
+
+    /**
+     * Calls the trigger's <code>actionPerformed()</code> on the event
+     * thread once a delay passes without being restarted.  Replaceable so
+     * that tests need not depend on the wall clock.
+     */
+    interface Countdown {
+
+        /**
+         * Start counting down, abandoning any countdown in progress.
+         */
+        void restart(int millis);
+
+        void stop();
+    }
+
+    private static final class TimerCountdown implements Countdown {
+        private final ActionListener onExpiry;
+        private Timer timer;
+
+        TimerCountdown(ActionListener onExpiry) {
+            this.onExpiry = onExpiry;
+        }
+
+        @Override
+        public void restart(int millis) {
+            if (timer == null) {
+                timer = new Timer(millis, onExpiry);
+                timer.setRepeats(false);
+            }
+            timer.setInitialDelay(millis);
+            timer.restart();
+        }
+
+        @Override
+        public void stop() {
+            if (timer != null) {
+                timer.stop();
+            }
+        }
+    }
+}
@@ -38,6 +38,7 @@ class JComboBoxValidationListenerImpl extends ValidationListener<JComboBox>
         implements EventListener, ItemListener, FocusListener {
     private Validator<ComboBoxModel> validator;
     private boolean hasFatalProblem = false;
+    private CoalescingTrigger coalescer;
 
 
     public JComboBoxValidationListenerImpl(JComboBox component,
@@ -60,6 +61,10 @@ class JComboBoxValidationListenerImpl extends ValidationListener<JComboBox>
             case ON_CHANGE_OR_ACTION:
                 component.addItemListener(this);
                 break;
+            case COALESCED:
+                coalescer = new CoalescingTrigger(this);
+                component.addItemListener(this);
+                break;
             case ON_FOCUS_LOSS:
                 component.addFocusListener(this);
                 break;
@@ -95,11 +100,19 @@ class JComboBoxValidationListenerImpl extends ValidationListener<JComboBox>
 
     @Override
     public void itemStateChanged(ItemEvent e) {
-        performValidation();
+        if (coalescer != null) {
+            coalescer.trigger();
+        } else {
+            performValidation();
+        }
     }
 
     @Override
     public void focusGained(FocusEvent e) {
     }
 
+    @Override
+    boolean reusesProblems() {
+        return true;
+    }
 }
@@ -40,6 +40,7 @@ class JListValidationListenerImpl extends ValidationListener<JList>
         implements EventListener, ListSelectionListener, FocusListener {
     private Validator<ListSelectionModel> validator;
     private boolean hasFatalProblem = false;
+    private CoalescingTrigger coalescer;
 
     public JListValidationListenerImpl(JList component,
             ValidationStrategy strategy,
@@ -62,6 +63,10 @@ class JListValidationListenerImpl extends ValidationListener<JList>
             case ON_CHANGE_OR_ACTION:
                 component.addListSelectionListener(this);
                 break;
+            case COALESCED:
+                coalescer = new CoalescingTrigger(this);
+                component.addListSelectionListener(this);
+                break;
             case ON_FOCUS_LOSS:
                 component.addFocusListener(this);
                 break;
@@ -96,12 +101,22 @@ class JListValidationListenerImpl extends ValidationListener<JList>
     }
 
     public void valueChanged(ListSelectionEvent lse) {
-        performValidation();
+        if (validator instanceof TrackingSelectionValidator) {
+            ((TrackingSelectionValidator) validator).changed(getTarget().getSelectionModel(), lse);
+        }
+        if (coalescer != null) {
+            coalescer.trigger();
+        } else {
+            performValidation();
+        }
     }
 
     @Override
     public void focusGained(FocusEvent e) {
     }
 
-
+    @Override
+    boolean reusesProblems() {
+        return true;
+    }
 }
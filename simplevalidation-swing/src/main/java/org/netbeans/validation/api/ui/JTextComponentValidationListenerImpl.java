@@ -40,6 +40,7 @@ class JTextComponentValidationListenerImpl extends ValidationListener<JTextCompo
         implements DocumentListener, FocusListener, Runnable {
     private Validator<Document> validator;
     private boolean hasFatalProblem = false;
+    private CoalescingTrigger coalescer;
 
     public JTextComponentValidationListenerImpl(JTextComponent component,
             ValidationStrategy strategy,
@@ -59,7 +60,11 @@ class JTextComponentValidationListenerImpl extends ValidationListener<JTextCompo
         switch (strategy) {
             case DEFAULT:
             case ON_CHANGE_OR_ACTION:
-                component.getDocument().addDocumentListener(this);
+                followDocument(component);
+                break;
+            case COALESCED:
+                coalescer = new CoalescingTrigger(this);
+                followDocument(component);
                 break;
             case INPUT_VERIFIER:
                 component.setInputVerifier( new InputVerifier() {
@@ -77,6 +82,34 @@ class JTextComponentValidationListenerImpl extends ValidationListener<JTextCompo
         performValidation(); // Make sure any initial errors are discovered immediately.
   }
 
+    // Listen to the component's document, and move to its replacement if
+    // setDocument() is called
+    private void followDocument(JTextComponent component) {
+        listenTo(component.getDocument());
+        component.addPropertyChangeListener("document", new PropertyChangeListener() { //NOI18N
+            public void propertyChange(PropertyChangeEvent evt) {
+                Document old = (Document) evt.getOldValue();
+                if (old != null) {
+                    old.removeDocumentListener(JTextComponentValidationListenerImpl.this);
+                }
+                Document nue = (Document) evt.getNewValue();
+                listenTo(nue);
+                if (nue != null) {
+                    documentChanged();
+                }
+            }
+        });
+    }
+
+    private void listenTo(Document doc) {
+        if (doc != null) {
+            doc.addDocumentListener(this);
+        }
+        if (validator instanceof TrackingDocumentValidator) {
+            ((TrackingDocumentValidator) validator).listeningTo(doc);
+        }
+    }
+
 
     @Override
     protected final void performValidation(Problems ps){
@@ -100,11 +133,25 @@ class JTextComponentValidationListenerImpl extends ValidationListener<JTextCompo
 
     @Override
     public void insertUpdate(DocumentEvent e) {
-        removeUpdate(e);
+        if (validator instanceof TrackingDocumentValidator) {
+            ((TrackingDocumentValidator) validator).inserted(e);
+        }
+        documentChanged();
     }
 
     @Override
     public void removeUpdate(DocumentEvent e) {
+        if (validator instanceof TrackingDocumentValidator) {
+            ((TrackingDocumentValidator) validator).removed(e);
+        }
+        documentChanged();
+    }
+
+    private void documentChanged() {
+        if (coalescer != null) {
+            coalescer.trigger();
+            return;
+        }
         //Documents can be legally updated from another thread,
         //but we will not run validation outside the EDT
         if (!EventQueue.isDispatchThread()) {
@@ -116,7 +163,7 @@ class JTextComponentValidationListenerImpl extends ValidationListener<JTextCompo
 
     @Override
     public void changedUpdate(DocumentEvent e) {
-        removeUpdate(e);
+        documentChanged();
     }
 
     // See removeUpdate..
@@ -124,4 +171,9 @@ class JTextComponentValidationListenerImpl extends ValidationListener<JTextCompo
     public void run() {
         performValidation();
     }
+
+    @Override
+    boolean reusesProblems() {
+        return true;
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.awt.EventQueue;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.netbeans.validation.api.Problems;
+
+/**
+ * The asynchronous part of one validation of a {@link ValidationListener}'s
+ * component.  Once every deferred stage has completed, the problems found
+ * synchronously and those found in the background are merged and handed
+ * back to the listener on the event thread - which ignores them if it has
+ * started another validation since.
+ *
+ * @author Tim Boudreau
+ */
+final class PendingValidation implements Runnable {
+
+    private final ValidationListener<?> owner;
+    private final Problems immediate;
+    private final List<CompletionStage<Problems>> stages;
+    private final Problems[] results;
+    private final AtomicInteger remaining;
+
+    PendingValidation(ValidationListener<?> owner, Problems immediate, List<CompletionStage<Problems>> stages) {
+        assert !stages.isEmpty();
+        this.owner = owner;
+        // The passed instance is reused for the next validation
+        this.immediate = new Problems().addAll(immediate);
+        this.stages = stages;
+        this.results = new Problems[stages.size()];
+        this.remaining = new AtomicInteger(stages.size());
+    }
+
+    /**
+     * Start listening for the stages to complete.  Separate from the
+     * constructor so that the owner can record this as its current
+     * validation first.
+     */
+    void start() {
+        for (int i = 0; i < stages.size(); i++) {
+            final int index = i;
+            stages.get(i).whenComplete(new BiConsumer<Problems, Throwable>() {
+                @Override
+                public void accept(Problems problems, Throwable thrown) {
+                    if (thrown == null) {
+                        results[index] = problems;
+                    } else if (!isCancellation(thrown)) {
+                        Logger.getLogger(PendingValidation.class.getName()).log(Level.INFO,
+                                "Exception in asynchronous validation", thrown); //NOI18N
+                    }
+                    // Each decrement publishes the result stored before it to
+                    // the thread which brings the count to zero
+                    if (remaining.decrementAndGet() == 0) {
+                        EventQueue.invokeLater(PendingValidation.this);
+                    }
+                }
+            });
+        }
+    }
+
+    private static boolean isCancellation(Throwable thrown) {
+        return thrown instanceof CancellationException
+                || (thrown instanceof CompletionException && thrown.getCause() instanceof CancellationException);
+    }
+
+    /**
+     * Cancel any stages which have not completed, because the component
+     * has been validated again.
+     */
+    void cancel() {
+        for (CompletionStage<Problems> stage : stages) {
+            try {
+                stage.toCompletableFuture().cancel(true);
+            } catch (UnsupportedOperationException e) {
+                // Cannot be cancelled;  its result will be ignored
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        Problems merged = immediate;
+        for (Problems p : results) {
+            if (p != null) {
+                merged.addAll(p);
+            }
+        }
+        owner.deferredValidationFinished(this, merged);
+    }
+}
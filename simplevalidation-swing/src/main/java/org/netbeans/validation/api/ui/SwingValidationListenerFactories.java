@@ -22,10 +22,12 @@ import javax.swing.JList;
 import javax.swing.ListSelectionModel;
 import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
+import org.netbeans.validation.api.IncrementalTextValidator;
 import org.netbeans.validation.api.Validator;
 import javax.swing.AbstractButton;
 import javax.swing.ButtonModel;
 import org.netbeans.validation.api.ValidatorUtils;
+import org.netbeans.validation.api.builtin.indexvalidation.IndexSelection;
 import org.netbeans.validation.api.conversion.Converter;
 import org.netbeans.validation.api.ui.swing.SwingValidationGroup;
 
@@ -79,6 +81,30 @@ final class SwingValidationListenerFactories {
         return new JListValidationListenerImpl(component, strategy, validationUI, validator);
     }
 
+    /**
+     * Create a ValidationListener for a JList. The JList will be validated
+     * with the passed ValidationStrategy
+     * using the passed Validator<IndexSelection>, which is passed the
+     * selection as intervals rather than as an array of every selected index
+     * showing any problems in the passed ValidationUI
+     * <p>
+     * If the strategy validates on each change, the intervals are kept up to
+     * date from the range of each selection event, rather than rebuilt by
+     * scanning the selection model.
+     */
+    static ValidationListener<?> createJListValidationListenerForSelection(final JList<?> component, final ValidationStrategy strategy, ValidationUI validationUI, final Validator<IndexSelection> orig) {
+        assert EventQueue.isDispatchThread() : "Must be called on event thread";
+        if (strategy == ValidationStrategy.DEFAULT || strategy == ValidationStrategy.ON_CHANGE_OR_ACTION
+                || strategy == ValidationStrategy.COALESCED) {
+            // Other strategies do not listen to the selection, so could not
+            // keep the intervals up to date
+            return new JListValidationListenerImpl(component, strategy, validationUI,
+                    new TrackingSelectionValidator(orig));
+        }
+        final Validator<ListSelectionModel> validator = Converter.find(IndexSelection.class, ListSelectionModel.class).convert(orig);
+        return new JListValidationListenerImpl(component, strategy, validationUI, validator);
+    }
+
     /**
      * Create a ValidationListener for a JTextComponent (such as JTextField or JTextArea). The JTextComponent will be validated
      * with the passed ValidationStrategy
@@ -170,6 +196,31 @@ final class SwingValidationListenerFactories {
     }
 
 
+    /**
+     * Create a ValidationListener for a JTextComponent (such as JTextField or JTextArea). The JTextComponent will be validated
+     * with the passed ValidationStrategy
+     * using the passed Validator<CharSequence>, which is passed a view of the
+     * document's text rather than a copy of it
+     * showing any problems in the passed ValidationUI
+     * <p>
+     * If the validator is an {@link IncrementalTextValidator} and the strategy
+     * validates on each change, the validator tracks the document's text
+     * and is told the region of each edit, rather than rechecking all of it.
+     */
+    static ValidationListener<JTextComponent> createJTextComponentValidationListenerForText(final JTextComponent comp, final ValidationStrategy strategy, final ValidationUI validationUI, final Validator<CharSequence> validator) {
+        assert EventQueue.isDispatchThread() : "Must be called on event thread";
+        if (validator instanceof IncrementalTextValidator
+                && (strategy == ValidationStrategy.DEFAULT || strategy == ValidationStrategy.ON_CHANGE_OR_ACTION
+                || strategy == ValidationStrategy.COALESCED)) {
+            // Other strategies do not listen to the document, so could not
+            // keep a tracker up to date
+            return new JTextComponentValidationListenerImpl(comp, strategy, validationUI,
+                    new TrackingDocumentValidator((IncrementalTextValidator) validator));
+        }
+        final Validator<Document> converted = Converter.find(CharSequence.class, Document.class).convert(validator);
+        return new JTextComponentValidationListenerImpl(comp, strategy, validationUI, converted);
+    }
+
     /**
      * Create a ValidationListener for a JComboBox. The JComboBox will be validated
      * with the passed ValidationStrategy
@@ -245,8 +296,19 @@ final class SwingValidationListenerFactories {
      * {@link SwingValidationGroup#add(javax.swing.AbstractButton[], org.netbeans.validation.api.Validator[]) }
      */
     static ValidationListener createButtonsValidationListener(final AbstractButton[] buttons, ValidationUI validationUI, final Validator<ButtonModel[]> validator) {
+        return createButtonsValidationListener(buttons, ValidationStrategy.DEFAULT, validationUI, validator);
+    }
+
+    /**
+     * Create a ValidationListener for a AbstractButton[]. The AbstractButton[] will be validated
+     * using the passed Validator<ButtonModel[]>
+     * showing any problems in the passed ValidationUI.  Buttons always
+     * validate on changes;  only {@link ValidationStrategy#COALESCED} alters
+     * that, by collapsing bursts of changes.
+     */
+    static ValidationListener<AbstractButton[]> createButtonsValidationListener(final AbstractButton[] buttons, final ValidationStrategy strategy, ValidationUI validationUI, final Validator<ButtonModel[]> validator) {
         assert EventQueue.isDispatchThread() : "Must be called on event thread";
-        return new ButtonsValidationListenerImpl(buttons, validationUI, validator);
+        return new ButtonsValidationListenerImpl(buttons, strategy, validationUI, validator);
     }
 
 
@@ -261,10 +323,28 @@ final class SwingValidationListenerFactories {
      *
      */
     static ValidationListener createButtonsValidationListener(final AbstractButton[] buttons, ValidationUI validationUI, final Validator<Integer[]>... validators) {
+        return createButtonsValidationListener(buttons, ValidationStrategy.DEFAULT, validationUI, validators);
+    }
+
+    /**
+     * Create a ValidationListener for a AbstractButton[]. The AbstractButton[] will be validated
+     * using the passed chain of Validator<Integer[]>
+     * showing any problems in the passed ValidationUI.  Buttons always
+     * validate on changes;  only {@link ValidationStrategy#COALESCED} alters
+     * that, by collapsing bursts of changes.
+     */
+    @SafeVarargs
+    static ValidationListener<AbstractButton[]> createButtonsValidationListener(final AbstractButton[] buttons, final ValidationStrategy strategy, ValidationUI validationUI, final Validator<Integer[]>... validators) {
         assert EventQueue.isDispatchThread() : "Must be called on event thread";
-        final Validator<Integer[]> merged = ValidatorUtils.merge(validators);
+        if (validators.length == 0) {
+            throw new IllegalArgumentException("Merging empty array of validators"); //NOI18N
+        }
+        Validator<Integer[]> merged = validators[0];
+        for (int i = 1; i < validators.length; i++) {
+            merged = ValidatorUtils.merge(merged, validators[i]);
+        }
         final Validator<ButtonModel[]> validator = Converter.find(Integer[].class, ButtonModel[].class).convert(merged);
-        return new ButtonsValidationListenerImpl(buttons, validationUI, validator);
+        return new ButtonsValidationListenerImpl(buttons, strategy, validationUI, validator);
     }
 
 }
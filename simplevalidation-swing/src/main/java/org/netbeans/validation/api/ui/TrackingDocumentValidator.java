@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.IncrementalTextValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.conversion.swing.DocumentText;
+
+/**
+ * Validates a document with an incremental validator, whose tracker is
+ * kept up to date from the document events the owning listener receives.
+ * Events arrive under the document's write lock, and validation runs
+ * under its read lock, so the tracker is never used by two threads at once.
+ * Only the document the owning listener says it is listening to is
+ * tracked;  any other is validated from its full text.
+ *
+ * @author Tim Boudreau
+ */
+final class TrackingDocumentValidator extends AbstractValidator<Document> {
+
+    private final IncrementalTextValidator validator;
+    private IncrementalTextValidator.Tracker tracker;
+    private Document document;
+    private Document listenedTo;
+
+    TrackingDocumentValidator(IncrementalTextValidator validator) {
+        super (Document.class);
+        this.validator = validator;
+    }
+
+    /**
+     * Called by the owning listener when it starts listening to a document,
+     * or stops listening to any (null).  Any tracker for the previous
+     * document is dropped.
+     */
+    void listeningTo(Document doc) {
+        listenedTo = doc;
+        tracker = null;
+        document = null;
+    }
+
+    void inserted(DocumentEvent e) {
+        if (tracker != null && e.getDocument() == document) {
+            tracker.inserted(text(document), e.getOffset(), e.getLength());
+        }
+    }
+
+    void removed(DocumentEvent e) {
+        if (tracker != null && e.getDocument() == document) {
+            tracker.removed(text(document), e.getOffset(), e.getLength());
+        }
+    }
+
+    @Override
+    public void validate(final Problems problems, final String compName, final Document model) {
+        model.render(new Runnable() {
+            @Override
+            public void run() {
+                DocumentText text = text(model);
+                if (model != listenedTo) {
+                    // No events from this document reach us, so a tracker
+                    // could not be kept up to date
+                    validator.validate(problems, compName, text);
+                    return;
+                }
+                if (model != document) {
+                    // First validation of this document - start from its
+                    // full text
+                    tracker = validator.track(text);
+                    document = model;
+                }
+                tracker.validate(problems, compName, text);
+            }
+        });
+    }
+
+    private static DocumentText text(Document doc) {
+        try {
+            return new DocumentText(doc);
+        } catch (BadLocationException ex) {
+            throw new IllegalStateException (ex);
+        }
+    }
+
+    @Override
+    public int cost() {
+        return validator.cost();
+    }
+
+    @Override
+    public String toString() {
+        return "TrackingDocumentValidator for [" + validator + "]"; //NOI18N
+    }
+}
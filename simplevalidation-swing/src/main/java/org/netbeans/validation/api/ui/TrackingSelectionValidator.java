@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import javax.swing.ListSelectionModel;
+import javax.swing.event.ListSelectionEvent;
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.builtin.indexvalidation.IndexSelection;
+import org.netbeans.validation.api.conversion.swing.ListSelectionIntervals;
+
+/**
+ * Validates a list's selection model with a validator of
+ * {@link IndexSelection}s, keeping the intervals up to date from the
+ * selection events the owning listener receives rather than rescanning the
+ * model for each validation.  Selection events and validation both happen
+ * on the event thread.
+ *
+ * @author Tim Boudreau
+ */
+final class TrackingSelectionValidator extends AbstractValidator<ListSelectionModel> {
+
+    private final Validator<IndexSelection> validator;
+    private ListSelectionIntervals intervals;
+    private ListSelectionModel model;
+
+    TrackingSelectionValidator(Validator<IndexSelection> validator) {
+        super (ListSelectionModel.class);
+        this.validator = validator;
+    }
+
+    /**
+     * Called with each selection event.  A JList re-fires its selection
+     * model's events as its own, so the model the event came from is
+     * passed separately.
+     */
+    void changed(ListSelectionModel source, ListSelectionEvent e) {
+        if (intervals != null && source == model) {
+            intervals.update(model, e.getFirstIndex(), e.getLastIndex());
+        }
+    }
+
+    @Override
+    public void validate(Problems problems, String compName, ListSelectionModel model) {
+        if (model != this.model) {
+            // First validation, or the list's selection model was
+            // replaced - start over from its full selection
+            intervals = ListSelectionIntervals.of(model);
+            this.model = model;
+        }
+        // The intervals keep changing with the selection, so a validator
+        // which may finish later, on another thread, is given a copy
+        validator.validate(problems, compName,
+                problems.acceptsDeferred() ? intervals.snapshot() : intervals);
+    }
+
+    @Override
+    public int cost() {
+        return validator.cost();
+    }
+
+    @Override
+    public String toString() {
+        return "TrackingSelectionValidator for [" + validator + "]"; //NOI18N
+    }
+}
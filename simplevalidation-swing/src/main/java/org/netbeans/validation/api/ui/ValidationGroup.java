@@ -15,8 +15,6 @@
  */
 package org.netbeans.validation.api.ui;
 
-import java.util.LinkedList;
-import java.util.List;
 import org.netbeans.validation.api.Problem;
 import org.netbeans.validation.api.Problems;
 import org.netbeans.validation.api.Validator;
@@ -149,8 +147,11 @@ import org.netbeans.validation.api.builtin.stringvalidation.StringValidators;
  */
 public class ValidationGroup extends ValidationItem {
     private final GroupValidator additionalGroupValidation;
-    private final List<ValidationItem> validationItems = new LinkedList<ValidationItem>();
+    private final ChildItems validationItems = new ChildItems();
     private boolean isAncestorToSelf = false;
+    // performValidation() was called while suspended, which asks for every
+    // child to be revalidated, not just dirty ones
+    private boolean fullRevalidationRequested;
     
 
     protected ValidationGroup(GroupValidator additionalGroupValidation, ValidationUI... ui) {
@@ -267,14 +268,17 @@ public class ValidationGroup extends ValidationItem {
             throw new IllegalArgumentException("Added item already has parent group"); //NOI18N
         }
         validationItem.setParentValidationGroup(this, !disableUI);
+        if (validationItem.isDirty()) {
+            markDirty();
+        }
         // Add first in list to make this the most recent one,
         // as if the user would have interacted with it.. (not sure about this,
         // but shouldn't be a big deal..?)
-        validationItems.add(0, validationItem);
+        validationItems.addFirst(validationItem);
         // A check to make sure a child validation group cannot have an
         // ancestor of itself added to itself - i.e. preemptively avoid endless loops:
         if( this.detectAncestryToSelf() ){
-            validationItems.remove(0);
+            validationItems.remove(validationItem);
             validationItem.setParentValidationGroup(null, true);
             throw new IllegalArgumentException("Ancestry to self"); //NOI18N
         }
@@ -282,9 +286,12 @@ public class ValidationGroup extends ValidationItem {
         // This is like validationTriggered just happened for the added child.
         // This is probably reasonable, because when a child that has a problem is added to a group,
         // and this problem happens to be the worst problem in the group, the group UI should be updated.
-         if (!isSuspended()) {
+         if (isSuspended()) {
+             // Recompute the lead problem when validation resumes
+             markDirty();
+         } else {
              /* Don't pass the child to update, because we do not want to update its UI (it has problably already done so itself)*/
-             update(false, null); 
+             update(false, false, null); 
              if (getParentValidationGroup() != null) {
                  getParentValidationGroup().validationTriggered(this);
              } else {
@@ -293,6 +300,69 @@ public class ValidationGroup extends ValidationItem {
         }
      }
 
+    /**
+     * Begin a batch of changes to the components in this group, during
+     * which no changes trigger validation - like
+     * {@link #runWithValidationSuspended(java.lang.Runnable)}, but for
+     * code which cannot conveniently be wrapped in a Runnable.  Intended
+     * for use with try-with-resources:
+     * <pre>
+     * try (ValidationGroup.Batch batch = group.beginBatch()) {
+     *     populateForm();
+     * }
+     * </pre>
+     * When the batch is committed, the items which changed during it are
+     * revalidated in a single pass, a new lead problem is chosen if items
+     * were added or removed, and the UI is updated once.  Batches
+     * nest, both within this group and within enclosing groups;  only
+     * committing the outermost one validates, so however many nested groups
+     * a form is populated through, validation happens once.
+     *
+     * @return A batch, which must be committed on the same thread
+     * @since 1.15
+     */
+    public final Batch beginBatch() {
+        suspend();
+        return new Batch();
+    }
+
+    /**
+     * A batch of changes to the components of a group, begun with
+     * {@link ValidationGroup#beginBatch()}.
+     *
+     * @since 1.15
+     */
+    public final class Batch implements AutoCloseable {
+
+        private boolean committed;
+
+        Batch() {
+        }
+
+        /**
+         * End the batch, revalidating the items which changed during it
+         * unless an enclosing batch or suspension is still in progress.
+         * Committing a batch more than once has no further effect.
+         */
+        public void commit() {
+            if (committed) {
+                return;
+            }
+            committed = true;
+            if (resume()) {
+                revalidate(false);
+            }
+        }
+
+        /**
+         * Same as {@link #commit()}.
+         */
+        @Override
+        public void close() {
+            commit();
+        }
+    }
+
     /**
      * Intended to be used by {@link ValidationGroup#add(org.netbeans.validation.api.ui.ValidationItem) }
      * to detect self-ancestry (fail-fast-detection of infinite loop problems)
@@ -325,11 +395,15 @@ public class ValidationGroup extends ValidationItem {
      * @param validationItem item to remove
      */
     public final void remove(ValidationItem validationItem) {
-        if( validationItems.remove(validationItem) ) {
+        if( validationItem.getParentValidationGroup() == this ) {
+            validationItems.remove(validationItem);
             validationItem.setParentValidationGroup(null, true);
             if( this.getCurrentLeadProblem() != null && this.getCurrentLeadProblem() == validationItem.getCurrentLeadProblem() ){
-                if( !isSuspended() ) {
-                    this.update( false, null );
+                if( isSuspended() ) {
+                    // Pick a new lead problem when validation resumes
+                    markDirty();
+                } else {
+                    this.update( false, false, null );
                     if( getParentValidationGroup() != null ) {
                         getParentValidationGroup().validationTriggered(this);
                     } else {
@@ -341,11 +415,30 @@ public class ValidationGroup extends ValidationItem {
     }
 
     @Override
-    final void subtreeRevalidation(){
+    final void subtreeRevalidation(boolean all){
         if (isSuspended()) {
             return ;
         }
-        update( true, null );
+        all |= fullRevalidationRequested;
+        if (!all && !isDirty()) {
+            return;
+        }
+        fullRevalidationRequested = false;
+        clearDirty();
+        update( true, all, null );
+    }
+
+    @Override
+    void suspendedChanged() {
+        for (ValidationItem vi : validationItems) {
+            vi.updateSuspended();
+        }
+    }
+
+    @Override
+    void revalidationRequested() {
+        fullRevalidationRequested = true;
+        super.revalidationRequested();
     }
     
 
@@ -359,9 +452,8 @@ public class ValidationGroup extends ValidationItem {
         // equal severity, we ensure that the lead problem of this
         // ValidationGroup (see update()) is always the more recent one (rather than an arbitary
         // one)
-        validationItems.remove(triggeringChild);
-        validationItems.add(0, triggeringChild);
-        update( false, triggeringChild );
+        validationItems.moveToFront(triggeringChild);
+        update( false, false, triggeringChild );
 
         if( getParentValidationGroup() != null ) {
             getParentValidationGroup().validationTriggered(this);
@@ -370,10 +462,26 @@ public class ValidationGroup extends ValidationItem {
         }
     }
 
-    private void update(final boolean childrenShallPerformValidation, final ValidationItem triggerThatHasAlreadyPerformedValidation) {
+    // The Problems is passed to the additional group validation, if any
+    @Override
+    boolean reusesProblems() {
+        return additionalGroupValidation == null;
+    }
+
+    private void update(final boolean childrenShallPerformValidation, final boolean all, final ValidationItem triggerThatHasAlreadyPerformedValidation) {
+        final Problems ps = takeScratchProblems();
+        try {
+            update(ps, childrenShallPerformValidation, all, triggerThatHasAlreadyPerformedValidation);
+        } finally {
+            returnScratchProblems(ps);
+        }
+    }
+
+    // If childrenShallPerformValidation, all says whether every child
+    // revalidates, or only dirty ones
+    private void update(final Problems ps, final boolean childrenShallPerformValidation, final boolean all, final ValidationItem triggerThatHasAlreadyPerformedValidation) {
         assert !isSuspended();
         assert ! ( childrenShallPerformValidation && triggerThatHasAlreadyPerformedValidation!=null ); // This would be unexpected
-        final Problems ps = new Problems();
         // Iterate from first to last, so that the most recent problems will be
         // added first to the Problems. Problems.getLeadProblem() will return:
         // (1) the most severe problem,
@@ -381,18 +489,15 @@ public class ValidationGroup extends ValidationItem {
         if (childrenShallPerformValidation) {
             for (ValidationItem vi : validationItems) {
                 if (vi != triggerThatHasAlreadyPerformedValidation) {
-                    vi.subtreeRevalidation();
+                    vi.subtreeRevalidation(all);
                 }
                 ps.append(vi.getCurrentLeadProblem());
             }
+            validationItems.reindexAll();
         } else {
-            for (ValidationItem vi : validationItems) {
-                final Problem p = vi.getCurrentLeadProblem();
-                ps.append(p);
-                if( p != null && p.isFatal() ){
-                    break; // Optimization: We already found a fatal problem, no need to keep looking.
-                }
-            }
+            // The children's lead problems are indexed by severity, so
+            // there is no need to look at all of them
+            ps.append(validationItems.leadProblem());
         }
         
         Problem leadProblem = ps.getLeadProblem();
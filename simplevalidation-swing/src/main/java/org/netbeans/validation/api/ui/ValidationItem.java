@@ -16,6 +16,8 @@
 package org.netbeans.validation.api.ui;
 
 import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Severity;
 
 /**
  * Common superclass for {@code ValidationGroup} and {@code ValidationListener}, providing a common API
@@ -34,8 +36,33 @@ public abstract class ValidationItem {
     private Problem currentProblemInUI = null;
     private ValidationGroup parentValidationGroup = null;
     private int suspendCount = 0;
+    // Whether this item or any ancestor is suspended, kept up to date as
+    // suspensions begin and end and as items are added to and removed from
+    // groups, so that checking it on every event does not walk the parents
+    private boolean suspended;
     private boolean uiEnabled = true;
     private final MulticastValidationUI multicastValidationUI = new MulticastValidationUI();
+    // Validation runs on every keystroke, so where reusesProblems() allows,
+    // reuse one Problems rather than allocating a new one each time.  It is
+    // taken while in use, so that reentrant validation gets a fresh
+    // instance instead of clobbering it.
+    private Problems scratchProblems;
+    // Set when a change to this item, or one of its descendants, could not
+    // be validated because validation was suspended.  Whenever an item is
+    // dirty so is its parent, so a group which is not dirty can be skipped
+    // without looking at its children.
+    private boolean dirty;
+    // Milliseconds a COALESCED listener waits for quiet, or -1 to use the
+    // parent group's delay
+    private int coalescingDelay = -1;
+    private static final int DEFAULT_COALESCING_DELAY
+            = Math.max(0, Integer.getInteger("simplevalidation.coalescing.delay", 0)); //NOI18N
+    // Links maintained by the parent group's ChildItems
+    ValidationItem previous;
+    ValidationItem next;
+    ValidationItem previousOfSeverity;
+    ValidationItem nextOfSeverity;
+    Severity indexedSeverity;
 
 
     ValidationItem(ValidationUI... uis) {  // Package visibility to make class "final" outside of package
@@ -122,9 +149,19 @@ public abstract class ValidationItem {
      */
     public final Problem performValidation() {
         if (isSuspended()) {
+            revalidationRequested();
             return this.getCurrentLeadProblem();
         }
-        subtreeRevalidation();
+        return revalidate(true);
+    }
+
+    /**
+     * Revalidate this item and notify its parent or update its UI.
+     * @param all If false, only items which are dirty are revalidated, and
+     * the cached lead problems of the rest are reused
+     */
+    final Problem revalidate(boolean all) {
+        subtreeRevalidation(all);
         if( getParentValidationGroup() != null ) {
             getParentValidationGroup().validationTriggered(this);
         } else {
@@ -145,14 +182,59 @@ public abstract class ValidationItem {
     // the UI. The calling parent ValidationGroup should then perform GroupValidation
     // (if any) and then update the UI of each child as appropriate, and then
     // return -- i.e it should not update its own UI.
-    abstract void subtreeRevalidation();
+    //
+    // If all is false, only dirty items need to revalidate;  the others
+    // keep their current lead problem.
+    abstract void subtreeRevalidation(boolean all);
+
+    /**
+     * Called when validation of this item was requested while suspended,
+     * so that it is revalidated when validation resumes.
+     */
+    void revalidationRequested() {
+        markDirty();
+    }
+
+    final void markDirty() {
+        for (ValidationItem item = this; item != null && !item.dirty; item = item.getParentValidationGroup()) {
+            item.dirty = true;
+        }
+    }
+
+    final boolean isDirty() {
+        return dirty;
+    }
+
+    final void clearDirty() {
+        dirty = false;
+    }
     
+    /**
+     * Whether the Problems this item validates into may be reset and reused
+     * for its next validation.  Only true where the instance is handed only
+     * to library code and to {@code Validator}s, which are documented not
+     * to keep the {@code Problems} they are passed.
+     */
+    boolean reusesProblems() {
+        return false;
+    }
+
+    final Problems takeScratchProblems() {
+        Problems result = scratchProblems;
+        scratchProblems = null;
+        return result == null ? new Problems() : result.reset();
+    }
+    final void returnScratchProblems(Problems problems) {
+        if (reusesProblems()) {
+            scratchProblems = problems;
+        }
+    }
+
     /**
      * The current problem leading problem (if any) with this ValidationItem
      * @return The current problem
      * @return null if there currently is no problem.
      */
-    
     final Problem getCurrentLeadProblem() {
         return this.currentLeadProblem;
     }
@@ -166,7 +248,44 @@ public abstract class ValidationItem {
      * @return true if this ValidationGroup is currently suspended, false otherwise
      */
     final boolean isSuspended() {
-        return suspendCount > 0 || (getParentValidationGroup() != null && ((ValidationItem)getParentValidationGroup()).isSuspended());
+        return suspended;
+    }
+
+    final void suspend() {
+        if (suspendCount++ == 0) {
+            updateSuspended();
+        }
+    }
+
+    /**
+     * End one suspension.
+     * @return true if this item is no longer suspended
+     */
+    final boolean resume() {
+        if (suspendCount <= 0) {
+            throw new IllegalStateException("Not suspended"); //NOI18N
+        }
+        if (--suspendCount == 0) {
+            updateSuspended();
+        }
+        return !suspended;
+    }
+
+    final void updateSuspended() {
+        ValidationItem parent = getParentValidationGroup();
+        boolean nue = suspendCount > 0 || (parent != null && parent.suspended);
+        if (nue != suspended) {
+            suspended = nue;
+            suspendedChanged();
+        }
+    }
+
+    /**
+     * Called when whether this item is suspended changes, so that a group
+     * can update its children.
+     */
+    void suspendedChanged() {
+        // do nothing
     }
 
     /**
@@ -187,9 +306,8 @@ public abstract class ValidationItem {
      * The runnable is run synchronously, but no changes made to components
      * while the runnable is running will trigger validation.
      * <p>
-     * When the last runnable exits,
-     * validateAll(null) will be called to run validation
-     * against the entire newly updated UI.
+     * When the last runnable exits, the items which were changed while
+     * it ran are revalidated, and the lead problems of the rest are reused.
      * <p>
      * This method is reentrant - a call to updateComponents can trigger
      * another call to updateComponents without triggering multiple
@@ -199,15 +317,51 @@ public abstract class ValidationItem {
      * or more components in the UI which should not trigger validation
      */
     public final void runWithValidationSuspended(Runnable run) {
-        suspendCount++;
+        suspend();
         try {
             run.run();
         } finally {
-            suspendCount--;
-            if (!isSuspended()) {
-                performValidation();
+            if (resume()) {
+                revalidate(false);
+            }
+        }
+    }
+
+    /**
+     * Set the number of milliseconds without further changes that a
+     * component validated using {@link ValidationStrategy#COALESCED} waits
+     * before validating.  Zero means validate once per event queue cycle.
+     * Set on a group, the delay applies to every item in it which does not
+     * set its own.  The new delay applies to the next burst of changes.
+     *
+     * @param millis The delay, which may not be negative
+     * @since 1.15
+     */
+    public final void setCoalescingDelay(int millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Negative delay " + millis); //NOI18N
+        }
+        coalescingDelay = millis;
+    }
+
+    /**
+     * Get the number of milliseconds without further changes that a
+     * component validated using {@link ValidationStrategy#COALESCED} waits
+     * before validating.  This is the delay set on this item, or else on
+     * its nearest ancestor group which has one;  if none has, it is taken
+     * from the system property <code>simplevalidation.coalescing.delay</code>,
+     * and is zero if that is unset.
+     *
+     * @return The delay in milliseconds
+     * @since 1.15
+     */
+    public final int getCoalescingDelay() {
+        for (ValidationItem item = this; item != null; item = item.getParentValidationGroup()) {
+            if (item.coalescingDelay >= 0) {
+                return item.coalescingDelay;
             }
         }
+        return DEFAULT_COALESCING_DELAY;
     }
 
     /**
@@ -223,5 +377,6 @@ public abstract class ValidationItem {
     final void setParentValidationGroup(ValidationGroup parentGroup, boolean setUIEnabled) {
         this.parentValidationGroup = parentGroup;
         this.uiEnabled = setUIEnabled;
+        updateSuspended();
     }
 }
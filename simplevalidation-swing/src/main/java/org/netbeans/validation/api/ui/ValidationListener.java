@@ -15,8 +15,11 @@
  */
 package org.netbeans.validation.api.ui;
 
+import java.util.List;
+import java.util.concurrent.CompletionStage;
 import org.netbeans.validation.api.Problem;
 import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.ui.swing.AbstractValidationListener;
 
 /**
  * Abstract base class for UI component listeners that can trigger validation when an interesting
@@ -35,6 +38,13 @@ import org.netbeans.validation.api.Problems;
  * <p>
  * Note that one validation listener may not belong to more than one ValidationGroup.
  * <p>
+ * The {@code Problems} passed to {@link #performValidation(org.netbeans.validation.api.Problems)}
+ * {@linkplain Problems#acceptsDeferred() accepts deferred results}, so an
+ * {@link org.netbeans.validation.api.AsyncValidator} runs in the background.
+ * The component's problem is updated on the event thread when it finishes,
+ * unless the component has been validated again in the meantime, in which
+ * case the stale run is cancelled.
+ * <p>
  *
  * @author Tim Boudreau
  * @author Hugo Heden
@@ -42,6 +52,8 @@ import org.netbeans.validation.api.Problems;
 public abstract class ValidationListener<TargetType> extends ValidationItem implements java.util.EventListener {
     private TargetType target;
     private final Class<TargetType> targetType;
+    // The asynchronous part of the most recent validation, if unfinished
+    private PendingValidation pending;
     protected ValidationListener(Class<TargetType> targetType, ValidationUI ui, TargetType component){
         super(ui);
         this.targetType = targetType;
@@ -72,15 +84,62 @@ public abstract class ValidationListener<TargetType> extends ValidationItem impl
 //    }
 
 
+    // The library's own listeners do not keep the Problems they are passed,
+    // and only hand it to validators, which per Validator.validate() must
+    // not keep it either.  AbstractValidationListener's performValidation()
+    // is final and does the same.  Other subclasses may have been written
+    // before that was documented, so they get a fresh instance each time
+    @Override
+    boolean reusesProblems() {
+        return this instanceof AbstractValidationListener<?, ?>;
+    }
+
     @Override
-    final void subtreeRevalidation(){ // Intended to be called by parent ValidationGroup
+    final void subtreeRevalidation(boolean all){ // Intended to be called by parent ValidationGroup
+        if (isSuspended() || (!all && !isDirty())) {
+            return;
+        }
+        clearDirty();
+        Problems ps = takeScratchProblems();
+        try {
+            ps.acceptDeferred(true);
+            this.performValidation(ps);
+            List<CompletionStage<Problems>> deferred = ps.takeDeferred();
+            if (pending != null) {
+                pending.cancel();
+                pending = null;
+            }
+            if (!deferred.isEmpty()) {
+                pending = new PendingValidation(this, ps, deferred);
+                pending.start();
+            }
+            Problem lead = ps.getLeadProblem();
+            super.setCurrentLeadProblem(lead);
+        } finally {
+            ps.acceptDeferred(false);
+            returnScratchProblems(ps);
+        }
+    }
+
+    // Called on the event thread once all of the background work of a
+    // validation has finished;  shows the result as performValidation()
+    // would, if it is the newest
+    final void deferredValidationFinished(PendingValidation finished, Problems problems) {
+        if (finished != pending) {
+            return;
+        }
+        pending = null;
         if (isSuspended()) {
+            // Revalidate when validation resumes
+            markDirty();
             return;
         }
-        Problems ps = new Problems();
-        this.performValidation(ps);
-        Problem lead = ps.getLeadProblem();
-        super.setCurrentLeadProblem(lead);
+        super.setCurrentLeadProblem(problems.getLeadProblem());
+        if (getParentValidationGroup() != null) {
+            getParentValidationGroup().validationTriggered(this);
+        } else {
+            showIfUIEnabled(getCurrentLeadProblem());
+        }
     }
     
     /**
@@ -91,6 +150,10 @@ public abstract class ValidationListener<TargetType> extends ValidationItem impl
      * <p>
      * If the component to be validated is disabled (it is greyed out and can't
      * be interacted with) it is usually considered to have no problems.
+     * <p>
+     * As with {@link org.netbeans.validation.api.Validator#validate(Problems, String, Object)},
+     * the passed {@code Problems} may be cleared and reused once this method
+     * returns, and should not be kept.
      */
     protected abstract void performValidation(Problems problems);
 
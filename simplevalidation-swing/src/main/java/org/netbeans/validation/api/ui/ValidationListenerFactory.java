@@ -29,6 +29,7 @@ import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
 import org.netbeans.validation.api.Validator;
 import org.netbeans.validation.api.ValidatorUtils;
+import org.netbeans.validation.api.builtin.indexvalidation.IndexSelection;
 import org.openide.util.Lookup;
 
 /**
@@ -70,9 +71,11 @@ public abstract class ValidationListenerFactory<CompType, ModelType> {
      * supported:
      * <ul>
      * <li><code>JList + Integer[]</code></li>
+     * <li><code>JList + IndexSelection</code></li>
      * <li><code>JList[] + ListSelectionModel</code></li>
      * <li><code>JTextComponent + Document</code></li>
      * <li><code>JTextComponent + String</code></li>
+     * <li><code>JTextComponent + CharSequence</code></li>
      * <li><code>JComboBox + ComboBoxModel</code></li>
      * <li><code>JComboBox + String</code></li>
      * <li><code>AbstractButton[] + ButtonModel[]</code></li>
@@ -168,10 +171,14 @@ public class ColorChooserValidationListenerFactory extends SwingValidationListen
         Class<MType> modelType = validator.modelType();
         if (component instanceof JList && Integer[].class.equals(modelType)) {
             return (ValidationListener<CType>) SwingValidationListenerFactories.createJListValidationListenerConverted((JList) component, strategy, validationUI, ValidatorUtils.cast(Integer[].class, validator));
+        } else if (component instanceof JList && IndexSelection.class.equals(modelType)) {
+            return (ValidationListener<CType>) SwingValidationListenerFactories.createJListValidationListenerForSelection((JList<?>) component, strategy, validationUI, (Validator<IndexSelection>) validator);
         } else if (component instanceof JList && ListSelectionModel.class.isAssignableFrom(modelType)) {
             return SwingValidationListenerFactories.createJListValidationListener(JList.class.cast(component), strategy, validationUI, (Validator<ListSelectionModel>) validator);
         } else if (component instanceof JTextComponent && String.class.equals(modelType)) {
             return SwingValidationListenerFactories.createJTextComponentValidationListener(JTextComponent.class.cast(component), strategy, validationUI, (Validator<String>) validator);
+        } else if (component instanceof JTextComponent && CharSequence.class.equals(modelType)) {
+            return (ValidationListener<CType>) SwingValidationListenerFactories.createJTextComponentValidationListenerForText(JTextComponent.class.cast(component), strategy, validationUI, (Validator<CharSequence>) validator);
         } else if (component instanceof JTextComponent && Document.class.isAssignableFrom(modelType)) {
             return SwingValidationListenerFactories.createJTextComponentValidationListener(JTextComponent.class.cast(component), strategy, validationUI, (Validator<Document>) validator);
         } else if (component instanceof JComboBox && String.class.equals(modelType)) {
@@ -179,9 +186,9 @@ public class ColorChooserValidationListenerFactory extends SwingValidationListen
         } else if (component instanceof JComboBox && ComboBoxModel.class.isAssignableFrom(modelType)) {
             return SwingValidationListenerFactories.createJComboBoxValidationListener(JComboBox.class.cast(component), strategy, validationUI, (Validator<ComboBoxModel>) validator);
         } else if (ButtonModel[].class.equals(modelType) && component.getClass().isArray() && component.getClass().getComponentType().isAssignableFrom(AbstractButton.class)) {
-            return SwingValidationListenerFactories.createButtonsValidationListener(AbstractButton[].class.cast(component), validationUI, (Validator<ButtonModel[]>) validator);
+            return (ValidationListener<CType>) SwingValidationListenerFactories.createButtonsValidationListener(AbstractButton[].class.cast(component), strategy, validationUI, (Validator<ButtonModel[]>) validator);
         } else if (Integer[].class.equals(modelType) && component.getClass().isArray() && component.getClass().getComponentType().isAssignableFrom(AbstractButton.class)) {
-            return SwingValidationListenerFactories.createButtonsValidationListener(AbstractButton[].class.cast(component), validationUI, (Validator<Integer[]>) validator);
+            return (ValidationListener<CType>) SwingValidationListenerFactories.createButtonsValidationListener(AbstractButton[].class.cast(component), strategy, validationUI, (Validator<Integer[]>) validator);
         }
         return null;
     }
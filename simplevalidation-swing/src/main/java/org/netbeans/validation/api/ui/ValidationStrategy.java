@@ -33,4 +33,16 @@ public enum ValidationStrategy {
     ON_CHANGE_OR_ACTION,
     /** Validate using JComponent.setInputVerifier */
     INPUT_VERIFIER,
+    /**
+     * Validate on the same events as ON_CHANGE_OR_ACTION, but collapse a
+     * burst of them - such as a paste, a held-down key, or a model being
+     * repopulated - into a single validation pass.  With a
+     * {@linkplain ValidationItem#setCoalescingDelay coalescing delay} of
+     * zero, validation runs once per event queue cycle in which the
+     * component changed;  otherwise it runs once the component has been
+     * quiet for that many milliseconds.
+     *
+     * @since 1.15
+     */
+    COALESCED
 }
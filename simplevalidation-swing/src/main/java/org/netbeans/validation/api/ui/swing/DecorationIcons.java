@@ -0,0 +1,243 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui.swing;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import org.netbeans.validation.api.Severity;
+
+/**
+ * Decoration icons, scaled and made partly transparent once and shared.
+ * Each icon holds a rendering of its image for each of the common display
+ * scales, and paints the one matching the scale of the graphics it is
+ * painted into, so that HiDPI screens get an image drawn at their
+ * resolution rather than one stretched by the graphics pipeline on every
+ * paint.
+ * <p/>
+ * Icons for the images of {@link Severity} are cached for the life of the
+ * process, since there are only a few of them;  an icon for any other
+ * image is only reused if the caller passes it back.
+ *
+ * @author Tim Boudreau
+ */
+final class DecorationIcons {
+
+    /**
+     * The display scales for which an icon is rendered in advance.
+     */
+    static final float[] SCALES = {1f, 1.5f, 2f};
+    private static final ConcurrentMap<Key, ScaledIcon> CACHE
+            = new ConcurrentHashMap<Key, ScaledIcon>();
+    private static final AtomicBoolean prefetched = new AtomicBoolean();
+
+    private DecorationIcons() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Start loading and rendering the default decoration icon for each
+     * severity on a background thread, so the first component to show a
+     * problem does not wait for it on the event thread.
+     */
+    static void prefetch() {
+        if (prefetched.compareAndSet(false, true)) {
+            ForkJoinPool.commonPool().execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (Severity severity : Severity.values()) {
+                        icon(severity, severity.badge(), null, null, null, null);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Get an icon for an image.
+     *
+     * @param severity The severity the image is shown for
+     * @param image The image
+     * @param scaling The factor to scale it by, or null
+     * @param alpha The alpha to mask the part of the image which overlaps
+     * the decorated component with, or null
+     * @param overlap The part of the icon which overlaps the decorated
+     * component, in the icon's coordinates, or null if alpha is null
+     * @param previous An icon previously returned for the severity, which
+     * is returned again if it was made from the same image and parameters
+     * @return An icon
+     */
+    static ScaledIcon icon(Severity severity, Image image, Double scaling, Integer alpha, Rectangle overlap, ScaledIcon previous) {
+        Key key = new Key(image, scaling == null ? 1D : scaling,
+                alpha == null ? -1 : alpha, alpha == null ? null : overlap);
+        if (image != severity.badge() && image != severity.image()) {
+            return previous != null && previous.key.equals(key) ? previous : new ScaledIcon(key);
+        }
+        ScaledIcon result = CACHE.get(key);
+        if (result == null) {
+            // Rendering twice in a race is harmless;  one result is kept
+            ScaledIcon created = new ScaledIcon(key);
+            result = CACHE.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    private static final class Key {
+        private final Image image;
+        private final double scaling;
+        private final int alpha;
+        private final Rectangle overlap;
+
+        Key(Image image, double scaling, int alpha, Rectangle overlap) {
+            this.image = image;
+            this.scaling = scaling;
+            this.alpha = alpha;
+            this.overlap = overlap;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return image == other.image && scaling == other.scaling
+                    && alpha == other.alpha
+                    && (overlap == null ? other.overlap == null : overlap.equals(other.overlap));
+        }
+
+        @Override
+        public int hashCode() {
+            long bits = Double.doubleToLongBits(scaling);
+            int result = System.identityHashCode(image);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+            result = 31 * result + alpha;
+            return 31 * result + (overlap == null ? 0 : overlap.hashCode());
+        }
+    }
+
+    /**
+     * Get the size of the icon for an image.
+     */
+    static Dimension size(Image image, Double scaling) {
+        if (!(image instanceof BufferedImage)) {
+            // Make sure a toolkit image is loaded before measuring it
+            image = new ImageIcon(image).getImage();
+        }
+        double factor = scaling == null ? 1D : scaling;
+        return new Dimension(Math.max(1, (int) (factor * image.getWidth(null))),
+                Math.max(1, (int) (factor * image.getHeight(null))));
+    }
+
+    static final class ScaledIcon implements Icon {
+        private final Key key;
+        private final int width;
+        private final int height;
+        private final BufferedImage[] renderings = new BufferedImage[SCALES.length];
+
+        private ScaledIcon(Key key) {
+            this.key = key;
+            Dimension size = size(key.image, key.scaling);
+            width = size.width;
+            height = size.height;
+            for (int i = 0; i < SCALES.length; i++) {
+                renderings[i] = render(key.image, SCALES[i], key.alpha, key.overlap);
+            }
+        }
+
+        private BufferedImage render(Image image, float scale, int alpha, Rectangle overlap) {
+            int w = (int) Math.ceil(width * scale);
+            int h = (int) Math.ceil(height * scale);
+            BufferedImage result = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = result.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING,
+                        RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(image, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            if (alpha >= 0 && overlap != null) {
+                // Mask the alpha of the overlapping pixels, as an
+                // RGBImageFilter would, but in one pass over the raster
+                int x0 = Math.max(0, (int) Math.ceil(overlap.x * scale));
+                int y0 = Math.max(0, (int) Math.ceil(overlap.y * scale));
+                int x1 = Math.min(w, (int) Math.ceil((overlap.x + overlap.width) * scale));
+                int y1 = Math.min(h, (int) Math.ceil((overlap.y + overlap.height) * scale));
+                if (x1 > x0 && y1 > y0) {
+                    int[] pixels = result.getRGB(x0, y0, x1 - x0, y1 - y0, null, 0, x1 - x0);
+                    int mask = alpha << 24 | 0xFFFFFF;
+                    for (int i = 0; i < pixels.length; i++) {
+                        pixels[i] &= mask;
+                    }
+                    result.setRGB(x0, y0, x1 - x0, y1 - y0, pixels, 0, x1 - x0);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Get the rendering used for a display scale - the first at least
+         * as large, or the largest.
+         */
+        BufferedImage rendering(double scale) {
+            for (int i = 0; i < SCALES.length; i++) {
+                if (SCALES[i] >= scale - 0.01) {
+                    return renderings[i];
+                }
+            }
+            return renderings[SCALES.length - 1];
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            double scale = g instanceof Graphics2D
+                    ? ((Graphics2D) g).getTransform().getScaleX() : 1D;
+            BufferedImage img = rendering(scale);
+            if (img == renderings[0]) {
+                g.drawImage(img, x, y, null);
+            } else {
+                g.drawImage(img, x, y, width, height, null);
+            }
+        }
+
+        @Override
+        public int getIconWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return height;
+        }
+    }
+}
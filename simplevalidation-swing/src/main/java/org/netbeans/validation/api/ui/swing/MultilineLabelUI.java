@@ -19,12 +19,12 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Component.BaselineResizeBehavior;
 import java.awt.Dimension;
+import java.awt.EventQueue;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
-import java.awt.GraphicsEnvironment;
 import java.awt.Insets;
 import java.awt.Point;
 import java.awt.RenderingHints;
@@ -34,8 +34,11 @@ import java.awt.event.HierarchyEvent;
 import java.awt.event.HierarchyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.font.FontRenderContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.Icon;
@@ -52,6 +55,7 @@ import javax.swing.border.Border;
 import javax.swing.plaf.LabelUI;
 import org.netbeans.validation.api.Problem;
 import org.netbeans.validation.api.Severity;
+import org.netbeans.validation.api.ui.ValidationUI;
 
 /**
  * Label UI which renders multiline text
@@ -60,16 +64,13 @@ import org.netbeans.validation.api.Severity;
  */
 final class MultilineLabelUI extends LabelUI {
 
-    private static Graphics2D createOffscreenGraphics(JComponent c) {
-        if (c == null || c.getGraphicsConfiguration() == null) {
-            return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration().createCompatibleImage(1, 1).createGraphics();
-        }
-        return c.getGraphicsConfiguration().createCompatibleImage(1, 1).createGraphics();
-    }
+    // The last layouts computed for this label - normally one measured for
+    // its preferred size and one for painting, whose font metrics differ
+    private final Layout[] layouts = new Layout[2];
 
     @Override
     public int getBaseline(JComponent c, int width, int height) {
-        return c.getInsets().top + createOffscreenGraphics(null).getFontMetrics(c.getFont()).getMaxAscent();
+        return c.getInsets().top + fontMetrics(c).getMaxAscent();
     }
 
     @Override
@@ -102,15 +103,15 @@ final class MultilineLabelUI extends LabelUI {
         int maxw = gc.getDevice().getDisplayMode().getWidth();
         String s = ((JLabel) c).getText();
         Insets ins = c.getInsets();
-        Graphics2D g = createOffscreenGraphics(c);
-        int txtWidth = ins.left + g.getFontMetrics(c.getFont()).stringWidth(s);
+        FontMetrics fm = fontMetrics(c);
+        int txtWidth = ins.left + fm.stringWidth(s);
         int parentWidth = (c.getParent() == null ? maxw - (maxw / 4) : c.getParent().getWidth() - (c.getParent().getWidth() / 4)) - ins.right;
         Dimension result;
         if (txtWidth > parentWidth) {
-            int ht = renderPlainString(c, s, g, ins.left, ins.top, parentWidth, c.getFont(), Color.BLACK, false).requiredHeight;
+            int ht = renderPlainString(c, s, null, ins.left, ins.top, parentWidth, c.getFont(), Color.BLACK, false).requiredHeight;
             result = new Dimension (parentWidth, ht);
         } else {
-            result = new Dimension (txtWidth, g.getFontMetrics(c.getFont()).getHeight());
+            result = new Dimension (txtWidth, fm.getHeight());
         }
         Icon icon = ((JLabel) c).getIcon();
         if (icon != null) {
@@ -127,8 +128,8 @@ final class MultilineLabelUI extends LabelUI {
         JLabel lbl = (JLabel) c;
         char[] dummy = new char[80];
         Arrays.fill(dummy, 'X');
-        Graphics2D g = createOffscreenGraphics(c);
-        int testWidth = g.getFontMetrics(c.getFont()).stringWidth(new String(dummy));
+        FontMetrics fm = fontMetrics(c);
+        int testWidth = fm.stringWidth(new String(dummy));
         GraphicsConfiguration gc = c.getGraphicsConfiguration();
         if (gc == null) {
             return super.getMinimumSize(c);
@@ -156,12 +157,12 @@ final class MultilineLabelUI extends LabelUI {
         }
         parentWidth -= ins.left + ins.right;
         boolean needWrap = parentWidth < testWidth;
-        int ht = Math.max(16, g.getFontMetrics(c.getFont()).getHeight());
+        int ht = Math.max(16, fm.getHeight());
         if (!needWrap) {
             //Always provide for 2 lines
             ht *= 2;
         }
-        int w = g.getFontMetrics(c.getFont()).stringWidth(lbl.getText());
+        int w = fm.stringWidth(lbl.getText());
         Dimension result = new Dimension (ins.left + ins.right + w, ins.bottom + ins.top + ht);
         return result;
     }
@@ -204,9 +205,8 @@ final class MultilineLabelUI extends LabelUI {
         }
         Insets ins = lbl.getInsets();
         int iconW = icon == null ? 0 : icon.getIconWidth() + lbl.getIconTextGap();
-        Graphics2D g = createOffscreenGraphics(lbl);
         Metrics metrics = renderPlainString(lbl, lbl.getText(),
-                g, ins.left, ins.top, parentWidth, lbl.getFont(), Color.BLACK, false, iconW);
+                null, ins.left, ins.top, parentWidth, lbl.getFont(), Color.BLACK, false, iconW);
         int ht = metrics.requiredHeight;
         Dimension result = new Dimension();
         if (icon != null) {
@@ -247,9 +247,31 @@ final class MultilineLabelUI extends LabelUI {
     }
 
     private static Metrics renderPlainString (JComponent comp, String s, Graphics2D g, int x, int y, int w, Font f, Color foreground, boolean paint, int startX) {
-        if (g == null) {
-            g = createOffscreenGraphics(comp);
+        f = fontOrDefault(f);
+        FontMetrics fm;
+        if (paint) {
+            g.setRenderingHints(getHints());
+            g.setFont(f);
+            g.setColor(foreground);
+            fm = g.getFontMetrics(f);
+        } else {
+            fm = g == null ? comp.getFontMetrics(f) : g.getFontMetrics(f);
         }
+        Layout layout = layout(comp, s, fm, x, w, startX);
+        int baseline = y + fm.getMaxAscent();
+        if (paint) {
+            for (int i = 0; i < layout.count; i++) {
+                g.drawString(layout.pieces[i], layout.xs[i], baseline + layout.lines[i] * layout.metrics.lineheight);
+            }
+        }
+        Metrics result = new Metrics(layout.metrics);
+        int lastBaseline = baseline + (result.linecount - 1) * result.lineheight;
+//        result.finished(lastBaseline + fm.getMaxDescent() + y);
+        result.finished(lastBaseline + y);
+        return result;
+    }
+
+    private static Font fontOrDefault(Font f) {
         if (f == null) {
             f = UIManager.getFont("controlFont");
             if (f == null) {
@@ -261,62 +283,155 @@ final class MultilineLabelUI extends LabelUI {
                 f = new Font("Dialog", Font.PLAIN, fs); //NOI18N
             }
         }
-        if (paint) {
-            g.setRenderingHints(getHints());
-            g.setFont(f);
-            g.setColor(foreground);
-        }
-        FontMetrics fm = g.getFontMetrics(f);
-        int baseline = y + fm.getMaxAscent();
-        int ht = fm.getHeight();
-        Metrics result = new Metrics(ht);
-        int dx = x + startX;
-        result.lineLength(dx);
-        String[] words = s.split(" ");
-        int spaceWidth = fm.stringWidth(" ");
-wordloop: for (int i=0; i < words.length; i++) {
-            String word = words[i];
-            int wordWidth = fm.stringWidth(word);
-            boolean wrap = dx + wordWidth > w && i > 0;
-            boolean brutalWrap = wordWidth > w;
-            if (brutalWrap) {
-                char[] chars = word.toCharArray();
-                for (int j = 0; j < chars.length; j++) {
-                    char c = chars[j];
-                    int cwidth = fm.charWidth(c);
-                    if (dx + cwidth > w) {
-                        result.lineLength(dx);
-                        dx = x;
-                        baseline += ht;
-                        result.wrap();
-                    }
-                    if (paint) {
-                        g.drawChars(chars, j, 1, dx, baseline);
+        return f;
+    }
+
+    /**
+     * Get the metrics of a component's font, without creating a graphics
+     * context to ask.
+     */
+    private static FontMetrics fontMetrics(JComponent c) {
+        return c.getFontMetrics(fontOrDefault(c.getFont()));
+    }
+
+    /**
+     * Get the layout of a string, reusing the last one computed for the
+     * component if the text, font metrics and width are unchanged.
+     */
+    static Layout layout(JComponent comp, String s, FontMetrics fm, int x, int w, int startX) {
+        Layout[] cache = comp instanceof JLabel && ((JLabel) comp).getUI() instanceof MultilineLabelUI
+                ? ((MultilineLabelUI) ((JLabel) comp).getUI()).layouts : null;
+        if (cache != null) {
+            for (int i = 0; i < cache.length; i++) {
+                Layout layout = cache[i];
+                if (layout != null && layout.isFor(s, fm, x, w, startX)) {
+                    if (i > 0) {
+                        cache[i] = cache[0];
+                        cache[0] = layout;
                     }
-                    dx += cwidth;
-                    result.lineLength(dx);
-                    if (j == chars.length - 1) {
-                        dx += spaceWidth;
-                        result.lineLength(dx);
-                        continue wordloop;
+                    return layout;
+                }
+            }
+        }
+        Layout result = new Layout(s, fm, x, w, startX);
+        if (cache != null) {
+            System.arraycopy(cache, 0, cache, 1, cache.length - 1);
+            cache[0] = result;
+        }
+        return result;
+    }
+
+    /**
+     * The positions of the words of a string wrapped to a width, which can
+     * be painted repeatedly without splitting and measuring it again.
+     */
+    static final class Layout {
+        private final String text;
+        private final Font font;
+        private final FontRenderContext frc;
+        private final int x;
+        private final int w;
+        private final int startX;
+        final Metrics metrics;
+        // The runs of text to draw, their x positions, and the lines they
+        // are on
+        private String[] pieces = new String[8];
+        private int[] xs = new int[8];
+        private int[] lines = new int[8];
+        private int count;
+
+        Layout(String s, FontMetrics fm, int x, int w, int startX) {
+            this.text = s;
+            this.font = fm.getFont();
+            this.frc = fm.getFontRenderContext();
+            this.x = x;
+            this.w = w;
+            this.startX = startX;
+            metrics = new Metrics(fm.getHeight());
+            int line = 0;
+            int dx = x + startX;
+            metrics.lineLength(dx);
+            List<String> words = words(s);
+            int spaceWidth = fm.stringWidth(" ");
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                int wordWidth = fm.stringWidth(word);
+                boolean wrap = dx + wordWidth > w && i > 0;
+                boolean brutalWrap = wordWidth > w && word.length() > 0;
+                if (brutalWrap) {
+                    // Break the word wherever it reaches the edge
+                    int pieceStart = 0;
+                    int pieceX = dx;
+                    for (int j = 0; j < word.length(); j++) {
+                        int cwidth = fm.charWidth(word.charAt(j));
+                        if (dx + cwidth > w) {
+                            metrics.lineLength(dx);
+                            add(word.substring(pieceStart, j), pieceX, line);
+                            dx = x;
+                            line++;
+                            metrics.wrap();
+                            pieceStart = j;
+                            pieceX = dx;
+                        }
+                        dx += cwidth;
+                        metrics.lineLength(dx);
                     }
+                    add(word.substring(pieceStart), pieceX, line);
+                    dx += spaceWidth;
+                    metrics.lineLength(dx);
+                    continue;
+                }
+                if (wrap) {
+                    metrics.lineLength(dx);
+                    metrics.wrap();
+                    dx = x;
+                    line++;
                 }
+                add(word, dx, line);
+                dx += spaceWidth + wordWidth;
+                metrics.lineLength(dx);
             }
-            if (wrap) {
-                result.lineLength(dx);
-                result.wrap();
-                dx = x;
-                baseline += ht;
+        }
+
+        /**
+         * Split a string at spaces with the same result as
+         * <code>split(" ")</code>, which drops trailing empty strings.
+         */
+        static List<String> words(String s) {
+            List<String> result = new ArrayList<String>();
+            int start = 0;
+            for (int space = s.indexOf(' '); space >= 0; space = s.indexOf(' ', start)) { //NOI18N
+                result.add(s.substring(start, space));
+                start = space + 1;
             }
-            if (paint) {
-                g.drawString(word, dx, baseline);
+            result.add(s.substring(start));
+            if (s.length() > 0) {
+                while (!result.isEmpty() && result.get(result.size() - 1).length() == 0) {
+                    result.remove(result.size() - 1);
+                }
             }
-            dx += spaceWidth + wordWidth;
-            result.lineLength(dx);
+            return result;
+        }
+
+        private void add(String piece, int px, int line) {
+            if (piece.length() == 0) {
+                return;
+            }
+            if (count == pieces.length) {
+                pieces = Arrays.copyOf(pieces, count * 2);
+                xs = Arrays.copyOf(xs, count * 2);
+                lines = Arrays.copyOf(lines, count * 2);
+            }
+            pieces[count] = piece;
+            xs[count] = px;
+            lines[count++] = line;
+        }
+
+        boolean isFor(String s, FontMetrics fm, int x, int w, int startX) {
+            return this.x == x && this.w == w && this.startX == startX
+                    && text.equals(s) && font.equals(fm.getFont())
+                    && frc.equals(fm.getFontRenderContext());
         }
-//        result.finished(baseline + fm.getMaxDescent() + y);
-        result.finished(baseline + y);
-        return result;
     }
 
     private static final boolean antialias = Boolean.getBoolean("nb.cellrenderer.antialiasing") // NOI18N
@@ -365,13 +480,29 @@ wordloop: for (int i=0; i < words.length; i++) {
         return gtkAA.booleanValue();
     }
 
+    // The label shown by the last popup, reused once that popup is hidden;
+    // the owning popup clears it on hide so no stale message is retained
+    private static MultilineLabel popupLabel;
+    private static ValidationUI popupLabelUI;
+    private static WrapPopup popupLabelOwner;
+
     static Popup showPopup(Problem problem, Component parent, int x, int y) {
+        assert EventQueue.isDispatchThread() : "Must be called on event thread";
         Severity severity = problem.severity();
         Color bg = UIManager.getColor("white") == null ? Color.WHITE : UIManager.getColor("white");
         Border b = BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(severity.color(), 1),
                 BorderFactory.createEmptyBorder(3, 3, 3, 3));
-        final MultilineLabel lbl = new MultilineLabel(true);
-        lbl.createUI().showProblem(problem);
+        MultilineLabel lbl = popupLabel;
+        if (lbl == null || lbl.isShowing()) {
+            // The previous popup is still up, so its label cannot be shared
+            lbl = popupLabel = new MultilineLabel(true);
+            popupLabelUI = lbl.createUI();
+        } else if (lbl.getParent() != null) {
+            // Left in the container of a popup which was hidden
+            lbl.getParent().remove(lbl);
+        }
+        lbl.setPreferredSize(null);
+        popupLabelUI.showProblem(problem);
         lbl.setBorder(b);
         lbl.setForeground(severity.color());
         lbl.setBackground(bg);
@@ -383,16 +514,18 @@ wordloop: for (int i=0; i < words.length; i++) {
         Popup popup = PopupFactory.getSharedInstance().getPopup(parent, lbl, screenX, screenY);
         Insets ins = b.getBorderInsets(lbl);
         Metrics mm = getPreferredSize(lbl, availWidth);
-        System.err.println("METRICS:\n" + mm);
         Dimension d = mm.dim;
         d.width = mm.widestLine + ins.left + ins.right + severity.icon().getIconWidth() + lbl.getIconTextGap();
         lbl.setPreferredSize(d);
-        return new WrapPopup(parent, popup);
+        WrapPopup result = new WrapPopup(parent, popup);
+        popupLabelOwner = result;
+        return result;
     }
 
     private static final class WrapPopup extends Popup implements HierarchyListener, HierarchyBoundsListener {
         private final Popup realPopup;
         private final Component target;
+        private boolean hidden;
         WrapPopup(Component target, Popup realPopup) {
             this.realPopup = realPopup;
             this.target = target;
@@ -402,6 +535,13 @@ wordloop: for (int i=0; i < words.length; i++) {
         public void hide() {
             realPopup.hide();
             detach();
+            if (!hidden) {
+                hidden = true;
+                if (popupLabelOwner == this) {
+                    popupLabelOwner = null;
+                    popupLabelUI.clearProblem();
+                }
+            }
         }
 
         @Override
@@ -469,7 +609,7 @@ wordloop: for (int i=0; i < words.length; i++) {
         jf.setVisible(true);
     }
 
-    private static final class Metrics {
+    static final class Metrics {
         int linecount = 1;
         int widestLine;
         int requiredHeight;
@@ -479,6 +619,13 @@ wordloop: for (int i=0; i < words.length; i++) {
             this.lineheight = lineheight;
         }
 
+        Metrics(Metrics other) {
+            this.lineheight = other.lineheight;
+            this.linecount = other.linecount;
+            this.widestLine = other.widestLine;
+            this.requiredHeight = other.requiredHeight;
+        }
+
         void wrap() {
             linecount++;
         }
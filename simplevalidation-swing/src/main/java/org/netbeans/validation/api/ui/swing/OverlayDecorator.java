@@ -0,0 +1,411 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui.swing;
+
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.HierarchyBoundsListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.JLayeredPane;
+import javax.swing.JToolTip;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.ToolTipManager;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Severity;
+import org.netbeans.validation.api.ui.ValidationUI;
+
+/**
+ * A decorator which looks like {@link SimpleDefaultDecorator}, but paints the
+ * decorations of all the components in a window from a single overlay
+ * component, rather than adding a label, tooltip and border to each one.
+ * <p/>
+ * Each decorated component only gets a hierarchy listener, so that its
+ * decoration can join the overlay of the window it is showing in, and while
+ * it has a problem, listeners for its own and its ancestors' geometry.  The
+ * overlay sits in the window's layered pane;  it recomputes the bounds of a
+ * decoration when it is added or its component moves or is resized, and
+ * repaints only the rectangles of those which moved or changed, so painting
+ * does nothing but paint.  Mouse events only reach it
+ * over a badge, which it finds with a grid index of badge bounds, so that
+ * it can show the problem as a tooltip without intercepting events meant
+ * for the components beneath it.
+ *
+ * @author Tim Boudreau
+ */
+final class OverlayDecorator extends SwingComponentDecorationFactory {
+
+    static final OverlayDecorator INSTANCE = new OverlayDecorator();
+
+    private OverlayDecorator() {
+        DecorationIcons.prefetch();
+    }
+
+    @Override
+    public ValidationUI decorationFor(JComponent c) {
+        return new Decoration(c);
+    }
+
+    static final class Decoration implements ValidationUI, HierarchyListener,
+            HierarchyBoundsListener, ComponentListener {
+        final JComponent component;
+        private Problem problem;
+        private Icon icon;
+        private Color tint;
+        private Overlay overlay;
+        // Where this was last laid out, in the overlay's coordinates, or
+        // null if it is not visible
+        private Rectangle badge;
+        private Rectangle tinted;
+
+        Decoration(JComponent component) {
+            this.component = component;
+            component.addHierarchyListener(this);
+        }
+
+        @Override
+        public void showProblem(Problem problem) {
+            assert SwingUtilities.isEventDispatchThread() : "Not on EventDispatchThread";
+            if (problem == null ? this.problem == null : problem.equals(this.problem)) {
+                return;
+            }
+            this.problem = problem;
+            if (problem == null) {
+                icon = null;
+                tint = null;
+            } else {
+                Severity severity = problem.severity();
+                icon = DecorationIcons.icon(severity, severity.badge(), null, null, null, null);
+                Color c = severity.color();
+                // The same as SimpleDefaultDecorator's default overlay color
+                tint = c == null ? null : new Color(c.getRed(), c.getGreen(), c.getBlue(), 13);
+            }
+            if (!attach() && overlay != null) {
+                overlay.changed(this);
+            }
+        }
+
+        @Override
+        public void clearProblem() {
+            showProblem(null);
+        }
+
+        Problem problem() {
+            return problem;
+        }
+
+        @Override
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0) {
+                attach();
+            }
+        }
+
+        @Override
+        public void ancestorMoved(HierarchyEvent e) {
+            geometryChanged();
+        }
+
+        @Override
+        public void ancestorResized(HierarchyEvent e) {
+            geometryChanged();
+        }
+
+        @Override
+        public void componentMoved(ComponentEvent e) {
+            geometryChanged();
+        }
+
+        @Override
+        public void componentResized(ComponentEvent e) {
+            geometryChanged();
+        }
+
+        @Override
+        public void componentShown(ComponentEvent e) {
+            // handled by hierarchyChanged()
+        }
+
+        @Override
+        public void componentHidden(ComponentEvent e) {
+            // handled by hierarchyChanged()
+        }
+
+        private void geometryChanged() {
+            if (overlay != null) {
+                overlay.moved(this);
+            }
+        }
+
+        /**
+         * Join the overlay of the window the component is showing in, if it
+         * has a problem, or leave the current one.
+         *
+         * @return true if the overlay changed
+         */
+        private boolean attach() {
+            Overlay target = problem != null && component.isShowing()
+                    ? Overlay.forPane(JLayeredPane.getLayeredPaneAbove(component)) : null;
+            if (target == overlay) {
+                return false;
+            }
+            if (overlay != null) {
+                overlay.remove(this);
+            }
+            if (target != null) {
+                target.add(this);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Paints the decorations of one window.
+     */
+    static final class Overlay extends JComponent {
+        private static final long serialVersionUID = 1L;
+        private static final int CELL = 32;
+        private final Set<Decoration> decorations = new LinkedHashSet<Decoration>();
+        // Grid cell -> decorations whose badge intersects it
+        private final Map<Long, List<Decoration>> index = new HashMap<Long, List<Decoration>>();
+        private boolean indexValid = true;
+        private Decoration hovered;
+
+        Overlay() {
+            setOpaque(false);
+            ToolTipManager.sharedInstance().registerComponent(this);
+        }
+
+        static Overlay forPane(final JLayeredPane pane) {
+            if (pane == null) {
+                return null;
+            }
+            Overlay result = (Overlay) pane.getClientProperty(Overlay.class);
+            if (result == null) {
+                final Overlay overlay = result = new Overlay();
+                overlay.setBounds(0, 0, pane.getWidth(), pane.getHeight());
+                pane.add(overlay, JLayeredPane.PALETTE_LAYER);
+                pane.addComponentListener(new ComponentAdapter() {
+                    @Override
+                    public void componentResized(ComponentEvent e) {
+                        overlay.setSize(pane.getSize());
+                    }
+                });
+                pane.putClientProperty(Overlay.class, overlay);
+            }
+            return result;
+        }
+
+        void add(Decoration d) {
+            d.overlay = this;
+            if (decorations.add(d)) {
+                d.component.addComponentListener(d);
+                d.component.addHierarchyBoundsListener(d);
+            }
+            changed(d);
+        }
+
+        void remove(Decoration d) {
+            d.overlay = null;
+            if (decorations.remove(d)) {
+                d.component.removeComponentListener(d);
+                d.component.removeHierarchyBoundsListener(d);
+            }
+            repaintIfAny(d.badge);
+            repaintIfAny(d.tinted);
+            d.badge = null;
+            d.tinted = null;
+            if (hovered == d) {
+                hovered = null;
+            }
+            indexValid = false;
+        }
+
+        void changed(Decoration d) {
+            repaintIfAny(d.badge);
+            repaintIfAny(d.tinted);
+            layout(d);
+            repaintIfAny(d.badge);
+            repaintIfAny(d.tinted);
+            indexValid = false;
+        }
+
+        /**
+         * Called when the component of a decoration, or one of its
+         * ancestors, moved or was resized.
+         */
+        void moved(Decoration d) {
+            Rectangle oldBadge = d.badge;
+            Rectangle oldTinted = d.tinted;
+            if (layout(d)) {
+                repaintIfAny(oldBadge);
+                repaintIfAny(oldTinted);
+                repaintIfAny(d.badge);
+                repaintIfAny(d.tinted);
+                indexValid = false;
+            }
+        }
+
+        private void repaintIfAny(Rectangle r) {
+            if (r != null) {
+                repaint(r.x, r.y, r.width, r.height);
+            }
+        }
+
+        /**
+         * Compute where a decoration is painted.
+         *
+         * @return true if that changed
+         */
+        private boolean layout(Decoration d) {
+            Rectangle oldBadge = d.badge;
+            Rectangle oldTinted = d.tinted;
+            JComponent c = d.component;
+            Rectangle visible = c.getVisibleRect();
+            if (d.icon == null || visible.isEmpty() || !SwingUtilities.isDescendingFrom(c, getParent())) {
+                d.badge = null;
+                d.tinted = null;
+            } else {
+                d.tinted = SwingUtilities.convertRectangle(c, visible, this);
+                int w = d.icon.getIconWidth();
+                int h = d.icon.getIconHeight();
+                // The same location as SimpleDefaultDecorator's default
+                Point at = SwingUtilities.convertPoint(c, c.getWidth() - w + 2, -2, this);
+                d.badge = new Rectangle(at.x, at.y, w, h);
+                JViewport viewport = viewportOf(c);
+                if (viewport != null && !SwingUtilities.convertRectangle(viewport.getParent(),
+                        viewport.getBounds(), this).contains(d.badge)) {
+                    // Scrolled partly out of view
+                    d.badge = null;
+                }
+            }
+            return !equal(oldBadge, d.badge) || !equal(oldTinted, d.tinted);
+        }
+
+        private static JViewport viewportOf(JComponent c) {
+            for (Container p = c.getParent(); p != null; p = p.getParent()) {
+                if (p instanceof JViewport) {
+                    return (JViewport) p;
+                }
+            }
+            return null;
+        }
+
+        private static boolean equal(Rectangle a, Rectangle b) {
+            return a == null ? b == null : a.equals(b);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            for (Decoration d : decorations) {
+                if (d.tinted != null && d.tint != null && (clip == null || clip.intersects(d.tinted))) {
+                    g.setColor(d.tint);
+                    g.fillRect(d.tinted.x, d.tinted.y, d.tinted.width, d.tinted.height);
+                }
+            }
+            // Badges go over every tint, as they may overlap neighbours
+            for (Decoration d : decorations) {
+                if (d.badge != null && (clip == null || clip.intersects(d.badge))) {
+                    d.icon.paintIcon(this, g, d.badge.x, d.badge.y);
+                }
+            }
+        }
+
+        private static long cell(int x, int y) {
+            return ((long) Math.floorDiv(x, CELL) << 32) | (Math.floorDiv(y, CELL) & 0xFFFFFFFFL);
+        }
+
+        private void rebuildIndex() {
+            index.clear();
+            for (Decoration d : decorations) {
+                Rectangle b = d.badge;
+                if (b == null) {
+                    continue;
+                }
+                for (int x = Math.floorDiv(b.x, CELL); x <= Math.floorDiv(b.x + b.width - 1, CELL); x++) {
+                    for (int y = Math.floorDiv(b.y, CELL); y <= Math.floorDiv(b.y + b.height - 1, CELL); y++) {
+                        Long key = cell(x * CELL, y * CELL);
+                        List<Decoration> list = index.get(key);
+                        if (list == null) {
+                            list = new ArrayList<Decoration>(2);
+                            index.put(key, list);
+                        }
+                        list.add(d);
+                    }
+                }
+            }
+            indexValid = true;
+        }
+
+        /**
+         * Find the decoration whose badge is at a point.
+         */
+        Decoration decorationAt(int x, int y) {
+            if (!indexValid) {
+                rebuildIndex();
+            }
+            List<Decoration> candidates = index.get(cell(x, y));
+            if (candidates != null) {
+                // The last painted is on top
+                for (int i = candidates.size() - 1; i >= 0; i--) {
+                    Decoration d = candidates.get(i);
+                    if (d.badge != null && d.badge.contains(x, y)) {
+                        return d;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean contains(int x, int y) {
+            // Anywhere but over a badge, events go to the components beneath
+            return decorationAt(x, y) != null;
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            hovered = decorationAt(event.getX(), event.getY());
+            return hovered == null ? null : hovered.problem.getMessage();
+        }
+
+        @Override
+        public JToolTip createToolTip() {
+            JToolTip tip = super.createToolTip();
+            if (hovered != null) {
+                tip.setForeground(hovered.problem.severity().color());
+            }
+            return tip;
+        }
+    }
+}
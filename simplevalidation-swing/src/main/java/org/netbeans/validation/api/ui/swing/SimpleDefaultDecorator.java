@@ -21,13 +21,10 @@ import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
-import java.awt.Toolkit;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.HierarchyEvent;
@@ -35,13 +32,10 @@ import java.awt.event.HierarchyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
-import java.awt.image.BufferedImage;
-import java.awt.image.FilteredImageSource;
-import java.awt.image.ImageFilter;
-import java.awt.image.RGBImageFilter;
+import java.util.EnumMap;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.Icon;
-import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
@@ -132,9 +126,12 @@ import org.netbeans.validation.api.ui.ValidationUI;
  */
 final class SimpleDefaultDecorator extends SwingComponentDecorationFactory {
 
-    private Icon fatalIconTransp = null;
-    private Icon warningIconTransp = null;
-    private Icon infoIconTransp = null;
+    private final Map<Severity, DecorationIcons.ScaledIcon> icons =
+            new EnumMap<Severity, DecorationIcons.ScaledIcon>(Severity.class);
+
+    SimpleDefaultDecorator() {
+        DecorationIcons.prefetch();
+    }
 
     @Override
     public ValidationUI decorationFor(JComponent c) {
@@ -302,71 +299,30 @@ final class SimpleDefaultDecorator extends SwingComponentDecorationFactory {
      * @return
      */
     Icon getDecorationIcon(Severity severity, final JComponent decoratedComponent) {
-        // "singletons", only created once.
-        if (severity.equals(Severity.FATAL) && fatalIconTransp != null) {
-            return fatalIconTransp;
-        }
-        if (severity.equals(Severity.WARNING) && warningIconTransp != null) {
-            return warningIconTransp;
-        }
-        if (severity.equals(Severity.INFO) && infoIconTransp != null) {
-            return infoIconTransp;
-        }
         Image image = getDecorationImage(severity, decoratedComponent);
         if (image == null) {
             return null;
         }
-        ImageIcon icon = new ImageIcon(image);
         Double scaling = getDecorationImageScaling(severity, decoratedComponent);
-        if (scaling != null) {
-            int scaledWidth = (int) (scaling * icon.getIconWidth());
-            int scaledHeight = (int) (scaling * icon.getIconHeight());
-            BufferedImage scaledImg =
-                    new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = scaledImg.createGraphics();
-            // TODO: Better rescaling if downscaling? See code example on
-            // http://today.java.net/pub/a/today/2007/04/03/perils-of-image-getscaledinstance.html
-            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                                RenderingHints.VALUE_INTERPOLATION_BICUBIC); // Slowest but with highest quality
-            g2.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
-            g2.dispose();
-            image = scaledImg;
-            icon = new ImageIcon(image);
-        }
-
-        final Integer alpha = getDecorationOverlapTransparency(severity, decoratedComponent);
+        Integer alpha = getDecorationOverlapTransparency(severity, decoratedComponent);
+        Rectangle overlap = null;
         if (alpha != null) {
-            final Point translate =
-                    this.getDecorationLocation(null, decoratedComponent,
-                                               new Dimension(icon.getIconWidth(), icon.getIconWidth()));
-            final int dcW = decoratedComponent.getWidth();
-            final int dcH = decoratedComponent.getHeight();
-            ImageFilter filter = new RGBImageFilter() {
-
-                @Override
-                public int filterRGB(int x, int y, int rgb) {
-                    // If this x,y-coordinate covers the decorated component, make some transparency.
-                    // The trailing FFFFFF means to keep all *colors* as is.
-                    x += translate.x;
-                    y += translate.y;
-                    if (x > 0 && x < dcW && y > 0 && y < dcH) {
-                        return (alpha << 24 | 0xFFFFFF) & rgb;
-                    }
-                    return rgb;
-
-                }
-            };
-            image = Toolkit.getDefaultToolkit().createImage(new FilteredImageSource(image.getSource(), filter));
-            icon = new ImageIcon(image);
-        }
-        if (severity.equals(Severity.FATAL)) {
-            return fatalIconTransp = icon;
-        }
-        if (severity.equals(Severity.WARNING)) {
-            return warningIconTransp = icon;
+            // The part of the icon over the component, in the icon's
+            // coordinates - the same for any component larger than the
+            // icon, so components share an icon
+            Dimension size = DecorationIcons.size(image, scaling);
+            Point translate = getDecorationLocation(null, decoratedComponent, size);
+            overlap = new Rectangle(1 - translate.x, 1 - translate.y,
+                    decoratedComponent.getWidth() - 1, decoratedComponent.getHeight() - 1)
+                    .intersection(new Rectangle(size));
+            if (overlap.isEmpty()) {
+                overlap = null;
+            }
         }
-        assert severity.equals(Severity.INFO);
-        return infoIconTransp = icon;
+        DecorationIcons.ScaledIcon icon = DecorationIcons.icon(severity, image,
+                scaling, alpha, overlap, icons.get(severity));
+        icons.put(severity, icon);
+        return icon;
     }
 
 /**
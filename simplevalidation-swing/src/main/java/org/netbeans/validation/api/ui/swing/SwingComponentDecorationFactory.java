@@ -104,6 +104,23 @@ public abstract class SwingComponentDecorationFactory {
     }
 
 
+    /**
+     * Get a decoration factory which marks problems the same way as the
+     * default one, but paints the marks for all the components in a window
+     * from a single overlay, rather than adding a label, tooltip and border
+     * to each component.  It is intended for forms with a very large number
+     * of validated components.  For example:
+     * <blockquote><pre>{@code
+     * SwingValidationGroup group = SwingValidationGroup.create(SwingComponentDecorationFactory.getOverlayDecorationFactory());
+     * }</pre></blockquote>
+     *
+     * @return A decoration factory
+     * @since 1.15
+     */
+    public static final SwingComponentDecorationFactory getOverlayDecorationFactory() {
+        return OverlayDecorator.INSTANCE;
+    }
+
     /**
      * Factory method that creates a {@code ValidationUI} visually attached to
      * the Swing GUI-component when there is a {@code Problem}.  When a
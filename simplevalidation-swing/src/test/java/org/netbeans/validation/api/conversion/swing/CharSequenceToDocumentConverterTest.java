@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.conversion.swing;
+
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import org.junit.Test;
+import org.netbeans.validation.api.AbstractValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import org.netbeans.validation.api.builtin.stringvalidation.CharSequenceValidators;
+import static org.junit.Assert.*;
+
+public class CharSequenceToDocumentConverterTest {
+
+    @Test
+    public void testTextSplitAroundGap() throws Exception {
+        PlainDocument doc = new PlainDocument();
+        doc.insertString(0, "hello world", null);
+        // Leaves the gap in the middle of the content
+        doc.insertString(5, ",", null);
+        doc.remove(0, 1);
+        doc.insertString(0, "H", null);
+        String expected = doc.getText(0, doc.getLength());
+        DocumentText text = new DocumentText(doc);
+        assertEquals(expected.length(), text.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.charAt(i), text.charAt(i));
+        }
+        assertEquals(expected, text.toString());
+        assertEquals(expected.substring(3, 9), text.subSequence(3, 9).toString());
+        assertEquals("", new DocumentText(new PlainDocument()).toString());
+    }
+
+    @Test
+    public void testConvertedValidator() throws Exception {
+        final StringBuilder seen = new StringBuilder();
+        Validator<CharSequence> recording = new AbstractValidator<CharSequence>(CharSequence.class) {
+            @Override
+            public void validate(Problems problems, String compName, CharSequence model) {
+                seen.append(model);
+                CharSequenceValidators.HOST_NAME.validate(problems, compName, model);
+            }
+        };
+        Validator<Document> v = new CharSequenceToDocumentConverter().convert(recording);
+        assertEquals(Document.class, v.modelType());
+        PlainDocument doc = new PlainDocument();
+        doc.insertString(0, "foocom", null);
+        doc.insertString(3, ".", null);
+        Problems p = new Problems();
+        v.validate(p, "host", doc);
+        assertEquals("foo.com", seen.toString());
+        assertTrue(p.isEmpty());
+        doc.insertString(3, "_", null);
+        v.validate(p, "host", doc);
+        assertTrue(p.hasFatal());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.conversion.swing;
+
+import java.util.Random;
+import javax.swing.DefaultListSelectionModel;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+import org.junit.Test;
+import org.netbeans.validation.api.builtin.indexvalidation.IndexSelection;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Tim Boudreau
+ */
+public class ListSelectionIntervalsTest {
+
+    @Test
+    public void testSnapshot() {
+        DefaultListSelectionModel model = new DefaultListSelectionModel();
+        assertEquals(0, ListSelectionIntervals.of(model).intervalCount());
+        model.addSelectionInterval(3, 200000);
+        model.addSelectionInterval(200002, 200002);
+        model.removeSelectionInterval(10, 10);
+        ListSelectionIntervals intervals = ListSelectionIntervals.of(model);
+        assertEquals("[3-9, 11-200000, 200002-200002]", intervals.toString());
+        assertEquals(11, intervals.intervalStart(1));
+        assertEquals(200000, intervals.intervalEnd(1));
+
+        // A copy is unaffected by later updates
+        IndexSelection copy = intervals.snapshot();
+        model.clearSelection();
+        intervals.update(model, 0, 200002);
+        assertEquals("[]", intervals.toString());
+        assertEquals("[3-9, 11-200000, 200002-200002]", copy.toString());
+        assertEquals(3, copy.intervalCount());
+        assertEquals(200002, copy.intervalStart(2));
+    }
+
+    @Test
+    public void testUpdatesMatchSnapshots() {
+        Random random = new Random(22);
+        for (int round = 0; round < 20; round++) {
+            final DefaultListSelectionModel model = new DefaultListSelectionModel();
+            final ListSelectionIntervals tracked = new ListSelectionIntervals();
+            model.addListSelectionListener(new ListSelectionListener() {
+                @Override
+                public void valueChanged(ListSelectionEvent e) {
+                    tracked.update(model, e.getFirstIndex(), e.getLastIndex());
+                }
+            });
+            for (int step = 0; step < 300; step++) {
+                int a = random.nextInt(100);
+                int b = a + random.nextInt(10);
+                switch (random.nextInt(7)) {
+                    case 0 :
+                        model.setSelectionInterval(a, b);
+                        break;
+                    case 1 :
+                    case 2 :
+                        model.addSelectionInterval(a, b);
+                        break;
+                    case 3 :
+                        model.removeSelectionInterval(a, b);
+                        break;
+                    case 4 :
+                        model.insertIndexInterval(a, b - a + 1, random.nextBoolean());
+                        break;
+                    case 5 :
+                        model.removeIndexInterval(a, b);
+                        break;
+                    case 6 :
+                        model.setValueIsAdjusting(!model.getValueIsAdjusting());
+                        break;
+                    default :
+                        throw new AssertionError();
+                }
+                if (!model.getValueIsAdjusting()) {
+                    assertEquals("Step " + step + " of round " + round,
+                            ListSelectionIntervals.of(model).toString(), tracked.toString());
+                    assertCanonical(tracked, model);
+                }
+            }
+        }
+    }
+
+    private static void assertCanonical(ListSelectionIntervals intervals, ListSelectionModel model) {
+        for (int i = 0; i < intervals.intervalCount(); i++) {
+            assertTrue(intervals.intervalStart(i) <= intervals.intervalEnd(i));
+            if (i > 0) {
+                // Disjoint and not adjacent
+                assertTrue(intervals.intervalStart(i) > intervals.intervalEnd(i - 1) + 1);
+            }
+            assertTrue(model.isSelectedIndex(intervals.intervalStart(i)));
+            assertTrue(model.isSelectedIndex(intervals.intervalEnd(i)));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.swing.JTextField;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import org.junit.Test;
+import org.netbeans.validation.api.AsyncValidator;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Problems;
+import static org.junit.Assert.*;
+
+public class AsyncValidationTest {
+
+    @Test
+    public void testOnlyNewestResultIsShownOnEventThread() throws Exception {
+        final ControlledValidator v = new ControlledValidator();
+        final RecordingUI ui = new RecordingUI();
+        final JTextField[] field = new JTextField[1];
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                field[0] = new JTextField();
+                new JTextComponentValidationListenerImpl(field[0],
+                        ValidationStrategy.DEFAULT, ui, v);
+                try {
+                    field[0].getDocument().insertString(0, "a", null);
+                } catch (BadLocationException ex) {
+                    throw new AssertionError(ex);
+                }
+            }
+        });
+        assertEquals(2, v.runs.size());
+        assertEquals("", v.texts.get(0));
+        assertEquals("a", v.texts.get(1));
+        // The change cancelled the run for the initial text
+        assertTrue(v.runs.get(0).isCancelled());
+        assertTrue(ui.shown.isEmpty());
+
+        v.runs.get(1).complete(Problems.create("newest"));
+        v.runs.get(0).complete(Problems.create("stale"));
+        flush();
+        assertEquals(1, ui.shown.size());
+        assertEquals("newest", ui.shown.get(0).getMessage());
+        assertTrue(ui.onEventThread);
+    }
+
+    private static void flush() throws Exception {
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    private static final class ControlledValidator implements AsyncValidator<Document> {
+
+        final List<CompletableFuture<Problems>> runs = new ArrayList<CompletableFuture<Problems>>();
+        final List<String> texts = new ArrayList<String>();
+
+        @Override
+        public CompletionStage<Problems> validateAsync(String compName, Document model) {
+            try {
+                texts.add(model.getText(0, model.getLength()));
+            } catch (BadLocationException ex) {
+                throw new AssertionError(ex);
+            }
+            CompletableFuture<Problems> result = new CompletableFuture<Problems>();
+            runs.add(result);
+            return result;
+        }
+
+        @Override
+        public Class<Document> modelType() {
+            return Document.class;
+        }
+    }
+
+    private static final class RecordingUI implements ValidationUI {
+
+        final List<Problem> shown = new ArrayList<Problem>();
+        volatile boolean onEventThread = true;
+
+        @Override
+        public void showProblem(Problem problem) {
+            onEventThread &= EventQueue.isDispatchThread();
+            shown.add(problem);
+        }
+
+        @Override
+        public void clearProblem() {
+            onEventThread &= EventQueue.isDispatchThread();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.AbstractButton;
+import javax.swing.ButtonModel;
+import javax.swing.JCheckBox;
+import javax.swing.JToggleButton;
+import org.junit.Test;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import static org.junit.Assert.*;
+
+public class ButtonsValidationListenerImplTest {
+
+    @Test
+    public void testOnlySelectionAndEnablementTriggerValidation() {
+        AbstractButton[] buttons = new AbstractButton[50];
+        for (int i = 0; i < buttons.length; i++) {
+            buttons[i] = new JCheckBox("b" + i);
+        }
+        buttons[3].setSelected(true);
+        RecordingValidator v = new RecordingValidator();
+        ButtonsValidationListenerImpl listener = new ButtonsValidationListenerImpl(buttons, ValidationUI.NO_OP, v);
+        assertEquals(1, v.seen.size());
+        assertArrayEquals(new ButtonModel[]{buttons[3].getModel()}, v.seen.get(0));
+
+        for (AbstractButton b : buttons) {
+            ButtonModel m = b.getModel();
+            m.setRollover(true);
+            m.setArmed(true);
+            m.setPressed(true);
+            // Disarmed before release, so not a click
+            m.setArmed(false);
+            m.setPressed(false);
+            m.setRollover(false);
+        }
+        assertEquals(1, v.seen.size());
+
+        buttons[7].setSelected(true);
+        assertEquals(2, v.seen.size());
+        assertArrayEquals(new ButtonModel[]{buttons[3].getModel(), buttons[7].getModel()}, v.seen.get(1));
+
+        // Disabling an unselected button revalidates, but the selection is
+        // unchanged so the same array is passed
+        buttons[10].setEnabled(false);
+        assertEquals(3, v.seen.size());
+        assertSame(v.seen.get(1), v.seen.get(2));
+        listener.performValidation();
+        assertSame(v.seen.get(1), v.seen.get(3));
+
+        // A disabled button is not part of the selection
+        buttons[3].setEnabled(false);
+        assertArrayEquals(new ButtonModel[]{buttons[7].getModel()}, v.seen.get(4));
+        buttons[3].setSelected(false);
+        assertEquals(6, v.seen.size());
+        assertSame(v.seen.get(4), v.seen.get(5));
+    }
+
+    @Test
+    public void testReplacedModelIsListenedTo() {
+        AbstractButton[] buttons = new AbstractButton[] {new JCheckBox("a"), new JCheckBox("b")};
+        RecordingValidator v = new RecordingValidator();
+        new ButtonsValidationListenerImpl(buttons, ValidationUI.NO_OP, v);
+        assertEquals(1, v.seen.size());
+
+        ButtonModel old = buttons[1].getModel();
+        JToggleButton.ToggleButtonModel model = new JToggleButton.ToggleButtonModel();
+        model.setSelected(true);
+        buttons[1].setModel(model);
+        assertEquals(2, v.seen.size());
+        assertArrayEquals(new ButtonModel[]{model}, v.seen.get(1));
+
+        // The old model is no longer listened to
+        old.setSelected(true);
+        assertEquals(2, v.seen.size());
+
+        model.setSelected(false);
+        assertEquals(3, v.seen.size());
+        assertEquals(0, v.seen.get(2).length);
+    }
+
+    private static final class RecordingValidator implements Validator<ButtonModel[]> {
+
+        final List<ButtonModel[]> seen = new ArrayList<ButtonModel[]>();
+
+        @Override
+        public void validate(Problems problems, String compName, ButtonModel[] model) {
+            seen.add(model);
+        }
+
+        @Override
+        public Class<ButtonModel[]> modelType() {
+            return ButtonModel[].class;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Severity;
+import static org.junit.Assert.*;
+
+public class ChildItemsTest {
+
+    @Test
+    public void testMatchesListOfItems() {
+        Random random = new Random(1234);
+        ChildItems items = new ChildItems();
+        // The reference: most recent first, as ValidationGroup used to keep
+        List<Item> expected = new ArrayList<Item>();
+        int created = 0;
+        for (int round = 0; round < 5000; round++) {
+            int op = random.nextInt(10);
+            if (op < 2 || expected.isEmpty()) {
+                Item item = new Item("item" + created++);
+                item.setLead(random);
+                items.addFirst(item);
+                expected.add(0, item);
+            } else if (op < 3) {
+                Item item = expected.remove(random.nextInt(expected.size()));
+                items.remove(item);
+            } else if (op < 8) {
+                // A child was triggered
+                Item item = expected.remove(random.nextInt(expected.size()));
+                item.setLead(random);
+                items.moveToFront(item);
+                expected.add(0, item);
+            } else {
+                // Children were revalidated in place
+                for (Item item : expected) {
+                    if (random.nextBoolean()) {
+                        item.setLead(random);
+                    }
+                }
+                items.reindexAll();
+            }
+            Problems ps = new Problems();
+            for (Item item : expected) {
+                ps.append(item.getCurrentLeadProblem());
+            }
+            assertSame(ps.getLeadProblem(), items.leadProblem());
+            List<ValidationItem> order = new ArrayList<ValidationItem>();
+            for (ValidationItem item : items) {
+                order.add(item);
+            }
+            assertEquals(expected, order);
+            assertEquals(expected.isEmpty(), items.isEmpty());
+        }
+    }
+
+    private static final class Item extends ValidationItem {
+
+        private final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        void setLead(Random random) {
+            int severity = random.nextInt(Severity.values().length + 1);
+            setCurrentLeadProblem(severity == Severity.values().length ? null
+                    : new Problem(name, Severity.values()[severity]));
+        }
+
+        @Override
+        void subtreeRevalidation(boolean all) {
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.awt.EventQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.JTextField;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import org.junit.Test;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.Validator;
+import static org.junit.Assert.*;
+
+public class CoalescingTriggerTest {
+
+    @Test
+    public void testBurstIsValidatedOnce() throws Exception {
+        final CountingValidator v = new CountingValidator();
+        final JTextField[] field = new JTextField[1];
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                field[0] = new JTextField();
+                new JTextComponentValidationListenerImpl(field[0],
+                        ValidationStrategy.COALESCED, ValidationUI.NO_OP, v);
+                type(field[0], "hello world");
+            }
+        });
+        // Flush the pending pass
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        // Once on creation, once for the whole burst
+        assertEquals(2, v.count.get());
+        assertEquals("hello world", v.last);
+    }
+
+    @Test
+    public void testDelayWaitsForQuiet() throws Exception {
+        final CountingValidator v = new CountingValidator();
+        final ManualCountdown countdown = new ManualCountdown();
+        final JTextField field = new JTextField();
+        final ValidationListener<JTextField> listener = new ValidationListener<JTextField>(
+                JTextField.class, ValidationUI.NO_OP, field) {
+            @Override
+            protected void performValidation(Problems problems) {
+                v.validate(problems, "field", field.getDocument()); //NOI18N
+            }
+        };
+        listener.setCoalescingDelay(100);
+        final CoalescingTrigger trigger = new CoalescingTrigger(listener, countdown);
+        for (int i = 0; i < 5; i++) {
+            EventQueue.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    type(field, "x");
+                    trigger.trigger();
+                }
+            });
+            // Flush the pending pass, which restarts the countdown
+            EventQueue.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            assertEquals(i + 1, countdown.restarts);
+            assertEquals(100, countdown.millis);
+            assertEquals(0, v.count.get());
+        }
+        EventQueue.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                trigger.actionPerformed(null);
+            }
+        });
+        assertEquals(1, v.count.get());
+        assertEquals("xxxxx", v.last);
+    }
+
+    @Test
+    public void testDelayIsInherited() {
+        ValidationGroup group = ValidationGroup.create();
+        ValidationGroup inner = ValidationGroup.create();
+        group.addItem(inner, false);
+        ValidationListener<JTextField> listener = new ValidationListener<JTextField>(
+                JTextField.class, ValidationUI.NO_OP, new JTextField()) {
+            @Override
+            protected void performValidation(Problems problems) {
+            }
+        };
+        inner.addItem(listener, false);
+        assertEquals(0, listener.getCoalescingDelay());
+        group.setCoalescingDelay(250);
+        assertEquals(250, listener.getCoalescingDelay());
+        inner.setCoalescingDelay(50);
+        assertEquals(50, listener.getCoalescingDelay());
+        listener.setCoalescingDelay(0);
+        assertEquals(0, listener.getCoalescingDelay());
+        assertEquals(250, group.getCoalescingDelay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDelay() {
+        ValidationGroup.create().setCoalescingDelay(-1);
+    }
+
+    private static void type(JTextField field, String text) {
+        try {
+            for (int i = 0; i < text.length(); i++) {
+                field.getDocument().insertString(field.getDocument().getLength(),
+                        text.substring(i, i + 1), null);
+            }
+        } catch (BadLocationException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static final class CountingValidator implements Validator<Document> {
+
+        final AtomicInteger count = new AtomicInteger();
+        volatile String last;
+
+        @Override
+        public void validate(Problems problems, String compName, Document model) {
+            count.incrementAndGet();
+            try {
+                last = model.getText(0, model.getLength());
+            } catch (BadLocationException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+
+        @Override
+        public Class<Document> modelType() {
+            return Document.class;
+        }
+    }
+
+    private static final class ManualCountdown implements CoalescingTrigger.Countdown {
+
+        int restarts;
+        int millis;
+
+        @Override
+        public void restart(int millis) {
+            restarts++;
+            this.millis = millis;
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.JTextField;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.JTextComponent;
+import javax.swing.text.PlainDocument;
+import org.junit.Test;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.builtin.stringvalidation.CharSequenceValidators;
+import static org.junit.Assert.*;
+
+public class JTextComponentValidationListenerImplTest {
+
+    @Test
+    public void testReplacedDocumentIsTracked() throws Throwable {
+        try {
+            EventQueue.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        replacedDocumentIsTracked();
+                    } catch (BadLocationException ex) {
+                        throw new AssertionError(ex);
+                    }
+                }
+            });
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void replacedDocumentIsTracked() throws BadLocationException {
+        JTextField field = new JTextField("ok");
+        ValidationGroup group = ValidationGroup.create();
+        ValidationListener<JTextComponent> listener = SwingValidationListenerFactories
+                .createJTextComponentValidationListenerForText(field, ValidationStrategy.DEFAULT,
+                ValidationUI.NO_OP, CharSequenceValidators.NO_WHITESPACE);
+        group.addItem(listener, false);
+        assertNull(group.performValidation());
+
+        PlainDocument doc = new PlainDocument();
+        doc.insertString(0, "a b", null);
+        field.setDocument(doc);
+        Problem p = group.performValidation();
+        assertNotNull(p);
+        assertTrue(p.isFatal());
+
+        doc.remove(1, 1);
+        assertEquals("ab", field.getText());
+        assertNull(group.getCurrentLeadProblem());
+        assertNull(group.performValidation());
+        doc.insertString(2, " ", null);
+        assertNotNull(group.getCurrentLeadProblem());
+    }
+}
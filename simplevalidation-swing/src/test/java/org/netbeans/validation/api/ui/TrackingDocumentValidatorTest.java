@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.PlainDocument;
+import org.junit.Test;
+import org.netbeans.validation.api.IncrementalTextValidator;
+import org.netbeans.validation.api.Problems;
+import org.netbeans.validation.api.ValidatorUtils;
+import org.netbeans.validation.api.builtin.stringvalidation.CharSequenceValidators;
+import static org.junit.Assert.*;
+
+public class TrackingDocumentValidatorTest {
+
+    @Test
+    public void testTracksDocumentEdits() throws Exception {
+        IncrementalTextValidator v = ValidatorUtils.mergeIncremental(
+                CharSequenceValidators.NO_WHITESPACE,
+                CharSequenceValidators.disallowChars(new char[]{'#'}));
+        final TrackingDocumentValidator tracking = new TrackingDocumentValidator(v);
+        PlainDocument doc = new PlainDocument();
+        doc.insertString(0, "some text", null);
+        tracking.listeningTo(doc);
+        doc.addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                tracking.inserted(e);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                tracking.removed(e);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        assertEquals(1, validate(tracking, doc).allProblems().size());
+        doc.remove(4, 1);
+        assertTrue(validate(tracking, doc).isEmpty());
+        doc.insertString(4, "#", null);
+        doc.insertString(0, "a b", null);
+        Problems expected = new Problems();
+        v.validate(expected, "x", doc.getText(0, doc.getLength()));
+        assertEquals(expected.allProblems().toString(), validate(tracking, doc).allProblems().toString());
+        // A document whose events are not passed on is checked in full
+        // each time
+        PlainDocument other = new PlainDocument();
+        other.insertString(0, "clean", null);
+        assertTrue(validate(tracking, other).isEmpty());
+        other.insertString(0, " ", null);
+        assertEquals(1, validate(tracking, other).allProblems().size());
+        other.remove(0, 1);
+        assertTrue(validate(tracking, other).isEmpty());
+    }
+
+    private static Problems validate(TrackingDocumentValidator v, PlainDocument doc) {
+        Problems result = new Problems();
+        v.validate(result, "x", doc);
+        return result;
+    }
+}
@@ -566,7 +566,7 @@ public class ValidationGroupTest {
                     groupUI.assertShowProblemHasNotBeenCalled();
                 }});
             vl1.assertValidated();
-            vl2.assertValidated();
+            vl2.assertNotValidated(); // Not changed while suspended, so its cached problem is reused
             gval.assertValidated();
             if(showGroupProblemInChildrenUIs){
                 vl1UI.assertShowProblemHasNotBeenCalled();
@@ -725,7 +725,7 @@ public class ValidationGroupTest {
                     vl2UI.assertShowProblemHasNotBeenCalled();
                     groupUI.assertShowProblemHasNotBeenCalled();
                 }});
-            vl1.assertValidated();
+            vl1.assertNotValidated(); // Not changed while suspended
             vl2.assertValidated();
             gval.assertNotValidated(); // vl2 has a fatal problem so it's no point revalidating the group validator
             if(showGroupProblemInChildrenUIs){
@@ -744,6 +744,141 @@ public class ValidationGroupTest {
     }
 
     
+    @Test public void testResumingRevalidatesOnlyChangedItems() {
+        final ValidationGroup outer = ValidationGroup.create();
+        final ValidationGroup inner = ValidationGroup.create();
+        final ValidationGroup clean = ValidationGroup.create();
+        final VL changed = VL.create(1);
+        final VL sibling = VL.create(2);
+        final VL other = VL.create(3);
+        VL[] all = {changed, sibling, other};
+        inner.addItem(changed, false);
+        inner.addItem(sibling, false);
+        clean.addItem(other, false);
+        outer.addItem(inner, false);
+        outer.addItem(clean, false);
+
+        outer.runWithValidationSuspended(new Runnable() {
+            public void run() {
+                changed.simulateProblem("fatal");
+            }});
+        changed.assertValidated();
+        changed.assertFatal();
+        sibling.assertNotValidated();
+        other.assertNotValidated();
+        assertEquals("fatal", outer.getCurrentLeadProblem().getMessage());
+
+        // Nothing changed, so nothing is revalidated
+        outer.runWithValidationSuspended(new Runnable() {
+            public void run() {
+            }});
+        for (VL vl : all) {
+            vl.assertNotValidated();
+        }
+        assertEquals("fatal", outer.getCurrentLeadProblem().getMessage());
+
+        // Explicitly requesting validation is still a full pass
+        outer.performValidation();
+        for (VL vl : all) {
+            vl.assertValidated();
+        }
+    }
+
+    @Test public void testAddingAndRemovingWhileSuspendedUpdatesLeadProblem() {
+        UI groupUI = new UI(0);
+        final ValidationGroup g = ValidationGroup.create(groupUI);
+        final VL passing = VL.create(1);
+        g.addItem(passing, false);
+        final VL failing = VL.create(2);
+        failing.simulateProblem("fatal");
+        failing.assertValidated();
+        assertNull(g.getCurrentLeadProblem());
+
+        g.runWithValidationSuspended(new Runnable() {
+            public void run() {
+                g.addItem(failing, false);
+            }});
+        assertEquals("fatal", g.getCurrentLeadProblem().getMessage());
+        groupUI.assertShowProblemHasBeenCalled();
+        groupUI.assertProblem("fatal");
+        passing.assertNotValidated();
+        failing.assertNotValidated();
+
+        g.runWithValidationSuspended(new Runnable() {
+            public void run() {
+                g.remove(failing);
+            }});
+        assertNull(g.getCurrentLeadProblem());
+        groupUI.assertShowProblemHasBeenCalled();
+        groupUI.assertNotProblem();
+        passing.assertNotValidated();
+    }
+
+    @Test public void testBatchValidatesOnceOnCommit() {
+        UI outerUI = new UI(0);
+        ValidationGroup outer = ValidationGroup.create(outerUI);
+        ValidationGroup inner = ValidationGroup.create();
+        VL a = VL.create(1);
+        VL b = VL.create(2);
+        VL c = VL.create(3);
+        inner.addItem(a, false);
+        inner.addItem(b, false);
+        outer.addItem(inner, false);
+        outer.addItem(c, false);
+
+        try (ValidationGroup.Batch batch = outer.beginBatch()) {
+            assertTrue(a.isSuspended());
+            try (ValidationGroup.Batch nested = inner.beginBatch()) {
+                a.simulateProblem("warning");
+                b.simulateProblem("fatal");
+            }
+            // The outer batch is still open
+            a.assertNotValidated();
+            b.assertNotValidated();
+            outerUI.assertShowProblemHasNotBeenCalled();
+            a.simulateProblem("info");
+        }
+        assertFalse(a.isSuspended());
+        // Each changed item once, the unchanged one not at all, and the UI
+        // once (UI fails if it is shown two different problems)
+        a.assertValidated();
+        b.assertValidated();
+        c.assertNotValidated();
+        outerUI.assertShowProblemHasBeenCalled();
+        outerUI.assertProblem("fatal");
+
+        // Removal from a group in a batch ends the item's suspension
+        ValidationGroup.Batch batch = outer.beginBatch();
+        assertTrue(c.isSuspended());
+        outer.remove(c);
+        assertFalse(c.isSuspended());
+        c.simulateProblem("info");
+        c.assertValidated();
+        batch.commit();
+        batch.commit();
+        assertFalse(outer.isSuspended());
+        a.assertNotValidated();
+        outerUI.assertShowProblemHasNotBeenCalled();
+
+        // Items added to and removed from a group in a batch decide the
+        // lead problem once it is committed
+        VL d = VL.create(4);
+        d.simulateProblem("fatal 2");
+        d.assertValidated();
+        try (ValidationGroup.Batch batch2 = outer.beginBatch()) {
+            inner.remove(b);
+            inner.addItem(d, false);
+            assertTrue(d.isSuspended());
+            assertEquals("fatal", outer.getCurrentLeadProblem().getMessage());
+        }
+        assertEquals("fatal 2", inner.getCurrentLeadProblem().getMessage());
+        assertEquals("fatal 2", outer.getCurrentLeadProblem().getMessage());
+        outerUI.assertShowProblemHasBeenCalled();
+        outerUI.assertProblem("fatal 2");
+        a.assertNotValidated();
+        d.assertNotValidated();
+    }
+
     @Test public void testAddToSelfGeneratesException() {
         final String errorMessageToLookFor = "Ancestry to self";
         VL vl1 = VL.create(1);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui.swing;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import org.junit.Test;
+import org.netbeans.validation.api.Severity;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Tim Boudreau
+ */
+public class DecorationIconsTest {
+
+    @Test
+    public void testSeverityIconsAreShared() {
+        for (Severity s : Severity.values()) {
+            Icon a = DecorationIcons.icon(s, s.badge(), null, null, null, null);
+            assertSame(a, DecorationIcons.icon(s, s.badge(), null, null, null, null));
+            assertSame(a, DecorationIcons.icon(s, s.badge(), 1D, null, new Rectangle(0, 0, 3, 3), null));
+            assertEquals(s.badge().getWidth(), a.getIconWidth());
+            assertEquals(s.badge().getHeight(), a.getIconHeight());
+            Icon scaled = DecorationIcons.icon(s, s.badge(), 2D, 0x77, new Rectangle(0, 2, 4, 4), null);
+            assertNotSame(a, scaled);
+            assertSame(scaled, DecorationIcons.icon(s, s.badge(), 2D, 0x77, new Rectangle(0, 2, 4, 4), null));
+            assertEquals(s.badge().getWidth() * 2, scaled.getIconWidth());
+            assertSame(s.icon(), s.icon());
+            assertFalse(s.icon() instanceof ImageIcon);
+            assertEquals(s.image().getWidth(), s.icon().getIconWidth());
+            assertEquals(s.image().getHeight(), s.icon().getIconHeight());
+        }
+    }
+
+    @Test
+    public void testOtherImagesAreOnlyReusedWhenPassedBack() {
+        BufferedImage img = opaque(10, 10);
+        DecorationIcons.ScaledIcon a = DecorationIcons.icon(Severity.FATAL, img, null, null, null, null);
+        assertNotSame(a, DecorationIcons.icon(Severity.FATAL, img, null, null, null, null));
+        assertSame(a, DecorationIcons.icon(Severity.FATAL, img, null, null, null, a));
+        assertNotSame(a, DecorationIcons.icon(Severity.FATAL, img, 1.5, null, null, a));
+    }
+
+    @Test
+    public void testRenderingsPerScale() {
+        BufferedImage img = opaque(10, 6);
+        DecorationIcons.ScaledIcon icon = DecorationIcons.icon(Severity.FATAL, img, null, 0x40, new Rectangle(0, 3, 5, 3), null);
+        assertEquals(10, icon.rendering(1).getWidth());
+        assertEquals(15, icon.rendering(1.25).getWidth());
+        assertEquals(9, icon.rendering(1.5).getHeight());
+        assertEquals(20, icon.rendering(2).getWidth());
+        assertEquals(20, icon.rendering(3).getWidth());
+        BufferedImage twice = icon.rendering(2);
+        // Only the overlapping part has its alpha masked
+        assertEquals(0x40, twice.getRGB(0, 6) >>> 24);
+        assertEquals(0x40, twice.getRGB(9, 11) >>> 24);
+        assertEquals(0xFF, twice.getRGB(10, 6) >>> 24);
+        assertEquals(0xFF, twice.getRGB(0, 5) >>> 24);
+    }
+
+    private static BufferedImage opaque(int w, int h) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(java.awt.Color.RED);
+        g.fillRect(0, 0, w, h);
+        g.dispose();
+        return img;
+    }
+}
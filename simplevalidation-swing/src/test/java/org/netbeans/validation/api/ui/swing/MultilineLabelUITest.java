@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui.swing;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Tim Boudreau
+ */
+public class MultilineLabelUITest {
+
+    private static final String TEXT = "This is a long error message which will have to be " //NOI18N
+            + "wrapped onto several lines, with a Supercalifragilisticexpialidocious word"; //NOI18N
+
+    @Test
+    public void testWordsMatchSplit() {
+        for (String s : new String[] {"", " ", "   ", "a", "a b", "a  b", " a", "a ", "a b  ", "  a  b  c"}) { //NOI18N
+            assertEquals("'" + s + "'", Arrays.asList(s.split(" ")), //NOI18N
+                    MultilineLabelUI.Layout.words(s));
+        }
+    }
+
+    @Test
+    public void testLayoutIsCachedUntilTextOrWidthChanges() {
+        MultilineLabel lbl = new MultilineLabel();
+        lbl.setFont(new Font("Dialog", Font.PLAIN, 12)); //NOI18N
+        lbl.setText(TEXT);
+        FontMetrics fm = lbl.getFontMetrics(lbl.getFont());
+        MultilineLabelUI.Layout wide = MultilineLabelUI.layout(lbl, TEXT, fm, 0, 2000, 0);
+        assertSame(wide, MultilineLabelUI.layout(lbl, TEXT, fm, 0, 2000, 0));
+        assertEquals(1, wide.metrics.linecount);
+
+        MultilineLabelUI.Layout narrow = MultilineLabelUI.layout(lbl, TEXT, fm, 0, 100, 0);
+        assertNotSame(wide, narrow);
+        assertTrue(narrow.metrics.linecount > 3);
+        // Both are kept, as a label is measured and painted alternately
+        assertSame(wide, MultilineLabelUI.layout(lbl, TEXT, fm, 0, 2000, 0));
+        assertSame(narrow, MultilineLabelUI.layout(lbl, TEXT, fm, 0, 100, 0));
+
+        assertNotSame(narrow, MultilineLabelUI.layout(lbl, TEXT + "!", fm, 0, 100, 0)); //NOI18N
+        assertNotSame(wide, MultilineLabelUI.layout(lbl, TEXT, fm, 0, 2000, 16));
+    }
+
+    @Test
+    public void testLongWordsAreBrokenToFit() {
+        MultilineLabel lbl = new MultilineLabel();
+        lbl.setFont(new Font("Dialog", Font.PLAIN, 12)); //NOI18N
+        FontMetrics fm = lbl.getFontMetrics(lbl.getFont());
+        int width = fm.stringWidth("Supercali"); //NOI18N
+        MultilineLabelUI.Layout layout = MultilineLabelUI.layout(lbl,
+                "Supercalifragilisticexpialidocious", fm, 0, width, 0); //NOI18N
+        assertTrue(layout.metrics.linecount >= 4);
+        assertTrue(layout.metrics.widestLine <= width + fm.stringWidth(" ")); //NOI18N
+    }
+}
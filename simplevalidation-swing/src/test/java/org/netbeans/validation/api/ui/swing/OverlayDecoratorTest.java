@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010-2019 Tim Boudreau
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.netbeans.validation.api.ui.swing;
+
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.JLayeredPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import org.junit.Test;
+import org.netbeans.validation.api.Problem;
+import org.netbeans.validation.api.Severity;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Tim Boudreau
+ */
+public class OverlayDecoratorTest {
+
+    private OverlayDecorator.Overlay overlay;
+    private OverlayDecorator.Decoration db;
+    private JTextField b;
+    private int x;
+
+    @Test
+    public void testBadgesAreHitTestedAndPainted() throws Throwable {
+        onEventThread(new Runnable() {
+            @Override
+            public void run() {
+                checkBadges();
+            }
+        });
+        // Moving a component moves its badge once the move event arrives
+        onEventThread(new Runnable() {
+            @Override
+            public void run() {
+                b.setLocation(200, 200);
+            }
+        });
+        onEventThread(new Runnable() {
+            @Override
+            public void run() {
+                int w = Severity.FATAL.badge().getWidth();
+                assertNull(overlay.decorationAt(x + 1, 100));
+                assertSame(db, overlay.decorationAt(200 + 100 - w + 3, 200));
+            }
+        });
+    }
+
+    private static void onEventThread(Runnable run) throws Throwable {
+        try {
+            EventQueue.invokeAndWait(run);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void checkBadges() {
+        JLayeredPane pane = new JLayeredPane();
+        pane.setSize(400, 300);
+        JPanel content = new JPanel(null);
+        content.setBounds(0, 0, 400, 300);
+        pane.add(content, JLayeredPane.DEFAULT_LAYER);
+        JTextField a = new JTextField();
+        a.setBounds(20, 40, 100, 20);
+        b = new JTextField();
+        b.setBounds(20, 100, 100, 20);
+        content.add(a);
+        content.add(b);
+
+        OverlayDecorator.Decoration da = (OverlayDecorator.Decoration)
+                SwingComponentDecorationFactory.getOverlayDecorationFactory().decorationFor(a);
+        db = (OverlayDecorator.Decoration)
+                SwingComponentDecorationFactory.getOverlayDecorationFactory().decorationFor(b);
+        Problem problem = new Problem("Bad", Severity.FATAL); //NOI18N
+        da.showProblem(problem);
+        db.showProblem(new Problem("Worse", Severity.WARNING)); //NOI18N
+        // Not showing, so not attached to any overlay yet
+        assertNull(pane.getClientProperty(OverlayDecorator.Overlay.class));
+
+        overlay = OverlayDecorator.Overlay.forPane(pane);
+        assertSame(overlay, OverlayDecorator.Overlay.forPane(pane));
+        assertEquals(400, overlay.getWidth());
+        overlay.add(da);
+        overlay.add(db);
+
+        int w = Severity.FATAL.badge().getWidth();
+        // The badge sits over the top right corner of the component
+        x = 20 + 100 - w + 2;
+        assertSame(da, overlay.decorationAt(x + 1, 40 - 2 + 1));
+        assertTrue(overlay.contains(x + 1, 40));
+        assertSame(db, overlay.decorationAt(x + 1, 100));
+        // Elsewhere, events pass through to the components beneath
+        assertFalse(overlay.contains(30, 50));
+        assertFalse(overlay.contains(300, 250));
+        assertEquals("Bad", overlay.getToolTipText(new MouseEvent(overlay, //NOI18N
+                MouseEvent.MOUSE_MOVED, 0, 0, x + 1, 40, 0, false)));
+
+        BufferedImage img = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        overlay.paint(g);
+        g.dispose();
+        assertNotEquals(0, img.getRGB(30, 50) >>> 24);
+        assertEquals(0, img.getRGB(300, 250) >>> 24);
+
+        // Clearing the problem takes the badge away
+        da.showProblem(null);
+        overlay.remove(da);
+        assertNull(overlay.decorationAt(x + 1, 40));
+        assertSame(db, overlay.decorationAt(x + 1, 100));
+    }
+
+    private static void assertNotEquals(int unexpected, int actual) {
+        assertFalse("Expected something other than " + unexpected, unexpected == actual);
+    }
+}